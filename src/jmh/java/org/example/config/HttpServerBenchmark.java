@@ -0,0 +1,145 @@
+package org.example.config;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import org.example.handlers.CompressionThresholdHandler;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A burst of concurrent GET /items requests against a server built with
+ * {@link HttpServerConfig#createOptions}, over a single client connection:
+ * HTTP/1.1 has to answer them one after another, h2c multiplexes them. The
+ * list is streamed in chunks as {@code ItemHandler} does. The client does
+ * not decompress, so {@code bodyBytes} (per second, next to the request
+ * rate) is what crossed the wire, apart from headers and framing.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HttpServerBenchmark {
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    @Param({"off", "on"})
+    public String compression;
+
+    @Param({"http1", "h2c"})
+    public String protocol;
+
+    @Param({"1000"})
+    public int itemCount;
+
+    @Param({"16"})
+    public int concurrency;
+
+    private Vertx vertx;
+    private HttpServer server;
+    private HttpClient client;
+    private RequestOptions request;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Traffic {
+        public long bodyBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        JsonObject config = new JsonObject()
+                .put("http_server", new JsonObject()
+                        .put("compression", new JsonObject().put("enabled", "on".equals(compression))));
+
+        Buffer body = itemList(itemCount);
+        Router router = Router.router(vertx);
+        int compressionMinSizeBytes = HttpServerConfig.compressionMinSizeBytes(config);
+        if (compressionMinSizeBytes > 0) {
+            router.route().handler(new CompressionThresholdHandler(compressionMinSizeBytes));
+        }
+        router.get("/items").handler(ctx -> {
+            ctx.response().setChunked(true).putHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+            for (int i = 0; i < body.length(); i += CHUNK_SIZE) {
+                ctx.response().write(body.slice(i, Math.min(i + CHUNK_SIZE, body.length())));
+            }
+            ctx.response().end();
+        });
+
+        server = join(vertx.createHttpServer(HttpServerConfig.createOptions(config))
+                .requestHandler(router)
+                .listen(0));
+
+        boolean h2c = "h2c".equals(protocol);
+        client = vertx.createHttpClient(new HttpClientOptions()
+                .setProtocolVersion(h2c ? HttpVersion.HTTP_2 : HttpVersion.HTTP_1_1)
+                .setHttp2ClearTextUpgrade(false)
+                .setMaxPoolSize(1)
+                .setHttp2MaxPoolSize(1)
+                .setMaxWaitQueueSize(-1));
+        request = new RequestOptions()
+                .setMethod(HttpMethod.GET)
+                .setHost("localhost")
+                .setPort(server.actualPort())
+                .setURI("/items")
+                .putHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+    }
+
+    @TearDown
+    public void tearDown() {
+        join(vertx.close());
+    }
+
+    @Benchmark
+    public long getItems(Traffic traffic) {
+        List<Future<Buffer>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(client.request(request)
+                    .compose(req -> req.send())
+                    .compose(HttpClientResponse::body));
+        }
+        long bytes = 0;
+        for (Future<Buffer> response : responses) {
+            bytes += join(response).length();
+        }
+        traffic.bodyBytes += bytes;
+        return bytes;
+    }
+
+    private static Buffer itemList(int count) {
+        JsonArray items = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            items.add(new JsonObject()
+                    .put("id", UUID.randomUUID().toString())
+                    .put("title", "Benchmark item " + i));
+        }
+        return items.toBuffer();
+    }
+
+    private static <T> T join(Future<T> future) {
+        return future.toCompletionStage().toCompletableFuture().join();
+    }
+}
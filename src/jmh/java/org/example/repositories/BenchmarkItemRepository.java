@@ -0,0 +1,53 @@
+package org.example.repositories;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import org.example.models.Item;
+import org.example.streams.ListReadStream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stand-in for {@link MongoItemRepository} holding the projected listing
+ * documents of a single owner, so that listing benchmarks exercise the same
+ * document mapping and encoding as the Mongo-backed reads without a database.
+ */
+public class BenchmarkItemRepository extends MongoItemRepository {
+    private final UUID owner;
+    private final List<JsonObject> documents;
+
+    public BenchmarkItemRepository(UUID owner, int itemCount, UuidRepresentation uuids) {
+        super(null, uuids);
+        this.owner = owner;
+        this.documents = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            documents.add(new JsonObject()
+                    .put("_id", uuids.encode(UUID.randomUUID()))
+                    .put("title", "Item number " + i));
+        }
+    }
+
+    public List<JsonObject> getDocuments() {
+        return documents;
+    }
+
+    @Override
+    public Future<List<Item>> findByOwner(UUID ownerId) {
+        if (!owner.equals(ownerId)) {
+            return Future.succeededFuture(List.of());
+        }
+        List<Item> items = new ArrayList<>(documents.size());
+        for (JsonObject document : documents) {
+            items.add(mapToItem(document, ownerId));
+        }
+        return Future.succeededFuture(items);
+    }
+
+    @Override
+    ReadStream<JsonObject> streamListingDocuments(UUID ownerId) {
+        return new ListReadStream<>(owner.equals(ownerId) ? documents : List.of());
+    }
+}
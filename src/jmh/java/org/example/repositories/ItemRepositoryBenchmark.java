@@ -0,0 +1,45 @@
+package org.example.repositories;
+
+import io.vertx.core.json.JsonObject;
+import org.example.models.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+
+/**
+ * Mapping a stored listing document to an {@link Item}, with ids in either
+ * stored form.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItemRepositoryBenchmark {
+    @Param({"STRING", "BINARY"})
+    private UuidRepresentation representation;
+
+    private MongoItemRepository repository;
+    private JsonObject document;
+    private UUID owner;
+
+    @Setup
+    public void setUp() {
+        repository = new MongoItemRepository(null, representation);
+        owner = UUID.randomUUID();
+        document = new JsonObject()
+                .put("_id", representation.encode(UUID.randomUUID()))
+                .put("title", "Benchmark item");
+    }
+
+    @Benchmark
+    public Item mapToItem() {
+        return repository.mapToItem(document, owner);
+    }
+}
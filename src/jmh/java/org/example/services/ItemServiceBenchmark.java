@@ -0,0 +1,78 @@
+package org.example.services;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.example.models.Item;
+import org.example.repositories.BenchmarkItemRepository;
+import org.example.repositories.InMemoryItemRepository;
+import org.example.repositories.ItemRepository;
+import org.example.repositories.UuidRepresentation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Encoding a user's full item list the way {@code GET /items} does: streamed
+ * chunk by chunk ({@link ItemService#streamUserItems}) and collected into one
+ * shared buffer ({@link ItemService#loadUserItems}), for stored MongoDB
+ * documents and for the in-memory backend. With {@code -prof gc},
+ * {@code gc.alloc.rate.norm} divided by {@code itemCount} gives the
+ * allocation per item.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItemServiceBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int itemCount;
+
+    @Param({"mongodb", "memory"})
+    private String backend;
+
+    private ItemService itemService;
+    private UUID owner;
+
+    @Setup
+    public void setUp() {
+        owner = UUID.randomUUID();
+        itemService = ItemService.builder(backend.equals("memory")
+                        ? inMemoryRepository()
+                        : new BenchmarkItemRepository(owner, itemCount, UuidRepresentation.STRING))
+                .itemReadCoalescer(new ItemReadCoalescer(Long.MAX_VALUE))
+                .build();
+    }
+
+    private ItemRepository inMemoryRepository() {
+        InMemoryItemRepository repository = new InMemoryItemRepository();
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Item(owner, "Item number " + i));
+        }
+        repository.saveAll(items, itemCount);
+        return repository;
+    }
+
+    @Benchmark
+    public Buffer loadUserItems() {
+        return itemService.loadUserItems(owner).result();
+    }
+
+    @Benchmark
+    public void streamUserItems(Blackhole blackhole) {
+        ReadStream<Buffer> stream = itemService.streamUserItems(owner);
+        stream.handler(blackhole::consume);
+        stream.endHandler(blackhole::consume);
+        stream.resume();
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single BCrypt hash and verification, as run on the password hashing
+ * pool. Pick other costs with {@code -p cost=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class PasswordHasherBenchmark {
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10", "12"})
+    private int cost;
+
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        hash = PasswordHasher.hashPassword(PASSWORD, cost);
+    }
+
+    @Benchmark
+    public String hash() {
+        return PasswordHasher.hashPassword(PASSWORD, cost);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return PasswordHasher.verifyPassword(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.services;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.jwt.JWTAuth;
+import org.example.config.CacheConfig;
+import org.example.config.JWTConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+
+/**
+ * Per-request authentication cost of an {@code /items} call: verifying the
+ * bearer token with the provider stack built by {@code MainVerticle} and
+ * resolving the user id, as {@code ItemHandler} does, with the verified-token
+ * cache on and off.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TokenAuthenticationBenchmark {
+    @Param({"off", "on"})
+    public String tokenCache;
+
+    private Vertx vertx;
+    private JWTAuth jwtAuth;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        JsonObject config = new JsonObject()
+                .put("jwt", new JsonObject().put("secret", "benchmark-secret-key-that-is-at-least-32-chars"))
+                .put("cache", new JsonObject()
+                        .put("tokens", new JsonObject().put("enabled", "on".equals(tokenCache))));
+
+        JWTAuth auth = JWTConfig.create(vertx, config);
+        CachingJWTAuth cachingJwtAuth = CacheConfig.createTokenCache(auth, config);
+        jwtAuth = new RevocationAwareJWTAuth(cachingJwtAuth != null ? cachingJwtAuth : auth,
+                new TokenRevocationList());
+        token = new UserService(null, jwtAuth, null, null)
+                .generateToken(new org.example.models.User("benchmark@example.com", null));
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public UUID authenticate() {
+        User user = jwtAuth.authenticate(new TokenCredentials(token)).result();
+        if (user instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.getUserId();
+        }
+        return UUID.fromString(user.principal().getString("userId"));
+    }
+}
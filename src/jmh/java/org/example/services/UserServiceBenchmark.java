@@ -0,0 +1,68 @@
+package org.example.services;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.jwt.JWTAuth;
+import org.example.config.JWTConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Login validation and JWT handling as done by {@link UserService}, with the
+ * JWT provider built by {@link JWTConfig#create}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserServiceBenchmark {
+    private Vertx vertx;
+    private JWTAuth jwtAuth;
+    private UserService userService;
+    private org.example.models.User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        JsonObject config = new JsonObject()
+                .put("jwt", new JsonObject().put("secret", "benchmark-secret-key-that-is-at-least-32-chars"));
+        jwtAuth = JWTConfig.create(vertx, config);
+        userService = new UserService(null, jwtAuth, null, null);
+        user = new org.example.models.User("benchmark@example.com", null);
+        token = userService.generateToken(user);
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return userService.isValidEmail("first.last+tag@mail.example.com");
+    }
+
+    @Benchmark
+    public boolean isValidEmailRejected() {
+        return userService.isValidEmail("first.last.name.with.many.parts.but.no.domain");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return userService.generateToken(user);
+    }
+
+    @Benchmark
+    public User verifyToken() {
+        return jwtAuth.authenticate(new TokenCredentials(token)).result();
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.streams;
+
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.List;
+
+/**
+ * Synchronous stream over a list for benchmarks. Nothing is emitted until
+ * {@link #resume()} is called; elements are then delivered on the calling
+ * thread for as long as the stream is not paused.
+ */
+public class ListReadStream<T> implements ReadStream<T> {
+    private final List<T> elements;
+    private Handler<T> handler;
+    private Handler<Void> endHandler;
+    private int position;
+    private boolean paused = true;
+
+    public ListReadStream(List<T> elements) {
+        this.elements = elements;
+    }
+
+    @Override
+    public ReadStream<T> exceptionHandler(Handler<Throwable> handler) {
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> handler(Handler<T> handler) {
+        this.handler = handler;
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> pause() {
+        paused = true;
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> resume() {
+        paused = false;
+        while (!paused && position < elements.size()) {
+            handler.handle(elements.get(position++));
+        }
+        if (!paused && endHandler != null) {
+            Handler<Void> end = endHandler;
+            endHandler = null;
+            end.handle(null);
+        }
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> fetch(long amount) {
+        return resume();
+    }
+
+    @Override
+    public ReadStream<T> endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+}
@@ -2,7 +2,10 @@ package org.example;
 
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.json.JsonObject;
+import org.example.config.HttpServerConfig;
+import org.example.config.MetricsConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,8 +13,6 @@ public class Main {
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
 
     public static void main(String[] args) {
-        Vertx vertx = Vertx.vertx();
-
         JsonObject config = new JsonObject()
                 .put("http.port", 3000)
                 .put("mongodb", new JsonObject()
@@ -21,11 +22,19 @@ public class Main {
                         .put("secret", "your-256-bit-secret-key-change-this-in-production")
                         .put("expiration", 86400));
 
+        Vertx vertx = Vertx.vertx(new VertxOptions()
+                .setPreferNativeTransport(HttpServerConfig.preferNativeTransport(config))
+                .setMetricsOptions(MetricsConfig.createOptions(config)));
+        logger.info("Native transport {}", vertx.isNativeTransportEnabled() ? "enabled" : "not available, using NIO");
+
+        int instances = config.getInteger("instances", Runtime.getRuntime().availableProcessors());
+
         DeploymentOptions options = new DeploymentOptions()
-                .setConfig(config);
+                .setConfig(config)
+                .setInstances(instances);
 
-        vertx.deployVerticle(new MainVerticle(), options)
-                .onSuccess(id -> logger.info("Application started successfully"))
+        vertx.deployVerticle(MainVerticle::new, options)
+                .onSuccess(id -> logger.info("Application started successfully with {} instances", instances))
                 .onFailure(err -> {
                     logger.error("Failed to start application", err);
                     System.exit(1);
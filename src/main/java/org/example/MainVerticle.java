@@ -1,5 +1,7 @@
 package org.example;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
@@ -9,57 +11,236 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.ext.mongo.MongoClient;
 import io.vertx.ext.web.Router;
-import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.CorsHandler;
+import io.vertx.micrometer.backends.BackendRegistries;
+import org.example.config.CacheConfig;
 import org.example.config.DatabaseConfig;
+import org.example.config.HttpServerConfig;
+import org.example.config.ItemChangeFeedConfig;
 import org.example.config.JWTConfig;
+import org.example.config.LoginRateLimitConfig;
+import org.example.config.MetricsConfig;
+import org.example.config.PasswordHashingConfig;
+import org.example.config.SharedResources;
 import org.example.controllers.AuthController;
 import org.example.controllers.ItemController;
 import org.example.handlers.AuthHandler;
+import org.example.handlers.CompressionThresholdHandler;
 import org.example.handlers.ItemHandler;
+import org.example.handlers.ItemStreamHandler;
+import org.example.handlers.LoginRateLimitHandler;
+import org.example.handlers.RequestBodyHandler;
+import org.example.metrics.EventLoopLagMonitor;
+import org.example.metrics.ItemChangeFeedMetrics;
+import org.example.metrics.ItemListCacheMetrics;
+import org.example.metrics.ItemReadCoalescerMetrics;
+import org.example.metrics.ItemWriteCoalescerMetrics;
+import org.example.metrics.LoginRateLimiterMetrics;
+import org.example.metrics.MeteredItemRepository;
+import org.example.metrics.MeteredJWTAuth;
+import org.example.metrics.MeteredUserRepository;
+import org.example.metrics.PasswordHasherMetrics;
+import org.example.metrics.TokenCacheMetrics;
+import org.example.repositories.CachingItemVersionRepository;
+import org.example.repositories.InMemoryItemRepository;
+import org.example.repositories.InMemoryItemVersionRepository;
+import org.example.repositories.InMemoryRevokedTokenRepository;
+import org.example.repositories.InMemoryUserRepository;
+import org.example.repositories.IndexManager;
 import org.example.repositories.ItemRepository;
+import org.example.repositories.ItemVersionRepository;
+import org.example.repositories.MongoItemRepository;
+import org.example.repositories.MongoItemVersionRepository;
+import org.example.repositories.MongoRevokedTokenRepository;
+import org.example.repositories.MongoUserRepository;
+import org.example.repositories.RevokedTokenRepository;
 import org.example.repositories.UserRepository;
+import org.example.repositories.UuidRepresentation;
+import org.example.services.CachingJWTAuth;
+import org.example.services.ItemChangeFeed;
+import org.example.services.ItemChangeHistory;
+import org.example.services.ItemListCache;
+import org.example.services.ItemReadCoalescer;
+import org.example.services.ItemSequenceTracker;
 import org.example.services.ItemService;
+import org.example.services.LoginRateLimiter;
+import org.example.services.PasswordHasher;
+import org.example.services.RevocationAwareJWTAuth;
+import org.example.services.TokenRevocationList;
+import org.example.services.TokenRevocationService;
 import org.example.services.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.UUID;
+
 public class MainVerticle extends AbstractVerticle {
     private static final Logger logger = LoggerFactory.getLogger(MainVerticle.class);
     private MongoClient mongoClient;
     private HttpServer httpServer;
+    private EventLoopLagMonitor eventLoopLagMonitor;
+    private ItemChangeFeed itemChangeFeed;
 
     @Override
     public void start(Promise<Void> startPromise) {
         try {
             validateConfig(config());
 
-            mongoClient = DatabaseConfig.createMongoClient(vertx, config());
+            // Null when Vert.x runs without metrics, as in the tests.
+            MeterRegistry registry = BackendRegistries.getDefaultNow();
 
-            JWTAuth jwtAuth = JWTConfig.create(vertx, config());
+            TokenRevocationList revocationList = SharedResources.getOrCreate(vertx, "token-revocation-list",
+                    TokenRevocationList::new);
+            JWTAuth jwtAuth = SharedResources.getOrCreate(vertx, "jwt-auth", () -> {
+                JWTAuth auth = JWTConfig.create(vertx, config());
+                if (registry != null) {
+                    auth = new MeteredJWTAuth(auth, registry);
+                }
+                CachingJWTAuth tokenCache = CacheConfig.createTokenCache(auth, config());
+                if (tokenCache != null) {
+                    if (registry != null) {
+                        new TokenCacheMetrics(tokenCache).bindTo(registry);
+                    }
+                    auth = tokenCache;
+                }
+                return new RevocationAwareJWTAuth(auth, revocationList);
+            });
+            PasswordHasher passwordHasher = SharedResources.getOrCreate(vertx, "password-hasher", () -> {
+                PasswordHasher hasher = PasswordHashingConfig.create(vertx, config());
+                if (registry != null) {
+                    new PasswordHasherMetrics(hasher).bindTo(registry);
+                }
+                return hasher;
+            });
 
             Router router = Router.router(vertx);
-            router.route().handler(BodyHandler.create());
+            int compressionMinSizeBytes = HttpServerConfig.compressionMinSizeBytes(config());
+            if (compressionMinSizeBytes > 0) {
+                router.route().handler(new CompressionThresholdHandler(compressionMinSizeBytes));
+            }
+            router.route().failureHandler(RequestBodyHandler::handleFailure);
 
             setupCors(router);
 
-            UserRepository userRepository = new UserRepository(mongoClient);
-            ItemRepository itemRepository = new ItemRepository(mongoClient);
+            boolean inMemoryStorage = isInMemoryStorage(config());
+            UserRepository userRepository;
+            ItemRepository itemRepository;
+            RevokedTokenRepository revokedTokenRepository;
+            ItemVersionRepository itemVersionRepository;
+            ItemListCache itemListCache = null;
+            if (inMemoryStorage) {
+                // Shared by all instances; the list cache would only duplicate the stored listings.
+                userRepository = SharedResources.getOrCreate(vertx, "in-memory-users", InMemoryUserRepository::new);
+                itemRepository = SharedResources.getOrCreate(vertx, "in-memory-items", InMemoryItemRepository::new);
+                revokedTokenRepository = SharedResources.getOrCreate(vertx, "in-memory-revoked-tokens",
+                        InMemoryRevokedTokenRepository::new);
+                itemVersionRepository = SharedResources.getOrCreate(vertx, "in-memory-item-versions",
+                        InMemoryItemVersionRepository::new);
+            } else {
+                mongoClient = createMongoClient();
+                UuidRepresentation uuids = UuidRepresentation.fromConfig(config());
+                userRepository = new MongoUserRepository(mongoClient, uuids);
+                revokedTokenRepository = new MongoRevokedTokenRepository(mongoClient);
+                itemVersionRepository = new MongoItemVersionRepository(mongoClient);
+                Cache<UUID, Long> itemVersionCache = SharedResources.getOrCreate(vertx, "item-version-cache",
+                        () -> CacheConfig.createItemVersionCache(config()));
+                if (itemVersionCache != null) {
+                    itemVersionRepository = new CachingItemVersionRepository(itemVersionRepository, itemVersionCache);
+                }
+                itemRepository = createItemRepository(uuids, registry);
+                itemListCache = SharedResources.getOrCreate(vertx, "item-list-cache", () -> {
+                    ItemListCache cache = CacheConfig.createItemListCache(config());
+                    if (cache != null && registry != null) {
+                        new ItemListCacheMetrics(cache).bindTo(registry);
+                    }
+                    return cache;
+                });
+            }
 
-            UserService userService = new UserService(userRepository, jwtAuth);
-            ItemService itemService = new ItemService(itemRepository);
+            if (registry != null) {
+                userRepository = new MeteredUserRepository(userRepository, registry);
+                itemRepository = new MeteredItemRepository(itemRepository, registry);
+                eventLoopLagMonitor = new EventLoopLagMonitor(vertx, registry,
+                        MetricsConfig.eventLoopLagIntervalMillis(config()));
+                eventLoopLagMonitor.start();
+            }
+
+            TokenRevocationService tokenRevocationService = new TokenRevocationService(vertx,
+                    revokedTokenRepository, revocationList);
+            UserService userService = new UserService(userRepository, jwtAuth, passwordHasher,
+                    tokenRevocationService);
+            JsonObject batchConfig = config().getJsonObject("items", new JsonObject())
+                    .getJsonObject("batch", new JsonObject());
+            JsonObject readCoalescingConfig = config().getJsonObject("items", new JsonObject())
+                    .getJsonObject("read_coalescing", new JsonObject());
+            ItemReadCoalescer itemReadCoalescer = null;
+            // In memory every read already shares the stored listing.
+            if (!inMemoryStorage && readCoalescingConfig.getBoolean("enabled", true)) {
+                itemReadCoalescer = SharedResources.getOrCreate(vertx, "item-read-coalescer", () -> {
+                    ItemReadCoalescer coalescer = new ItemReadCoalescer(
+                            readCoalescingConfig.getLong("max_body_bytes", 8L * 1024 * 1024));
+                    if (registry != null) {
+                        new ItemReadCoalescerMetrics(coalescer).bindTo(registry);
+                    }
+                    return coalescer;
+                });
+            }
+            ItemChangeHistory itemChangeHistory = SharedResources.getOrCreate(vertx, "item-change-history",
+                    () -> ItemChangeFeedConfig.createHistory(config()));
+            itemChangeFeed = ItemChangeFeedConfig.create(vertx, itemChangeHistory, config());
+            if (itemChangeFeed != null && registry != null) {
+                new ItemChangeFeedMetrics(itemChangeFeed).bindTo(registry);
+            }
+            ItemSequenceTracker itemSequenceTracker = SharedResources.getOrCreate(vertx, "item-sequence-tracker",
+                    ItemSequenceTracker::new);
+            ItemService itemService = ItemService.builder(itemRepository)
+                    .itemListCache(itemListCache)
+                    .itemVersionRepository(itemVersionRepository)
+                    .itemSequenceTracker(itemSequenceTracker)
+                    .itemReadCoalescer(itemReadCoalescer)
+                    .itemChangeFeed(itemChangeFeed)
+                    .maxBatchSize(batchConfig.getInteger("max_items", 10000))
+                    .batchChunkSize(batchConfig.getInteger("chunk_size", 1000))
+                    .build();
 
             AuthHandler authHandler = new AuthHandler(userService);
-            ItemHandler itemHandler = new ItemHandler(itemService);
+            long maxBatchBodyBytes = HttpServerConfig.maxBodyBytes(config(), "items_batch", 16L * 1024 * 1024);
+            ItemHandler itemHandler = new ItemHandler(itemService, maxBatchBodyBytes);
+            ItemStreamHandler itemStreamHandler = itemChangeFeed != null
+                    ? new ItemStreamHandler(itemService, itemChangeFeed,
+                            ItemChangeFeedConfig.writeQueueMaxBytes(config()))
+                    : null;
+
+            LoginRateLimiter loginRateLimiter = SharedResources.getOrCreate(vertx, "login-rate-limiter", () -> {
+                LoginRateLimiter limiter = LoginRateLimitConfig.create(config());
+                if (limiter != null && registry != null) {
+                    new LoginRateLimiterMetrics(limiter).bindTo(registry);
+                }
+                return limiter;
+            });
+            LoginRateLimitHandler loginRateLimitHandler = loginRateLimiter != null
+                    ? new LoginRateLimitHandler(loginRateLimiter) : null;
 
-            new AuthController(router, authHandler, jwtAuth).setupRoutes();
-            new ItemController(router, itemHandler, jwtAuth).setupRoutes();
+            RequestBodyHandler authBodyHandler = new RequestBodyHandler(
+                    HttpServerConfig.maxBodyBytes(config(), "auth", 4096));
+            RequestBodyHandler itemBodyHandler = new RequestBodyHandler(
+                    HttpServerConfig.maxBodyBytes(config(), "items", 64 * 1024));
+            RequestBodyHandler batchBodyHandler = batchConfig.getBoolean("streaming", true)
+                    ? null : new RequestBodyHandler(maxBatchBodyBytes);
+
+            new AuthController(router, authHandler, jwtAuth, loginRateLimitHandler, authBodyHandler).setupRoutes();
+            new ItemController(router, itemHandler, jwtAuth, itemBodyHandler, batchBodyHandler,
+                    itemStreamHandler).setupRoutes();
 
             int port = config().getInteger("http.port", 3000);
-            httpServer = vertx.createHttpServer()
+            httpServer = vertx.createHttpServer(HttpServerConfig.createOptions(config()))
                     .requestHandler(router);
 
-            httpServer.listen(port)
+            Future<Void> storageReady = inMemoryStorage ? Future.succeededFuture() : ensureIndexes();
+            storageReady
+                    .compose(v -> tokenRevocationService.start())
+                    .compose(v -> itemChangeFeed != null ? itemChangeFeed.start() : Future.succeededFuture())
+                    .compose(v -> httpServer.listen(port))
                     .onSuccess(server -> {
                         logger.info("HTTP server started on port {}", server.actualPort());
                         startPromise.complete();
@@ -74,6 +255,49 @@ public class MainVerticle extends AbstractVerticle {
         }
     }
 
+    private Future<Void> ensureIndexes() {
+        boolean failOnIndexDrift = config().getJsonObject("mongodb")
+                .getBoolean("fail_on_index_drift", false);
+        return new IndexManager(mongoClient, failOnIndexDrift).ensureIndexes();
+    }
+
+    /**
+     * Creates the MongoDB client the repositories use. Overridden by the load
+     * tests to run against an in-process stand-in.
+     */
+    protected MongoClient createMongoClient() {
+        return DatabaseConfig.createMongoClient(vertx, config());
+    }
+
+    private ItemRepository createItemRepository(UuidRepresentation uuids, MeterRegistry registry) {
+        JsonObject coalescingConfig = config().getJsonObject("items", new JsonObject())
+                .getJsonObject("write_coalescing", new JsonObject());
+
+        if (!coalescingConfig.getBoolean("enabled", false)) {
+            return new MongoItemRepository(mongoClient, uuids);
+        }
+        MongoItemRepository repository = new MongoItemRepository(mongoClient, uuids, context,
+                coalescingConfig.getInteger("max_batch_size", 64),
+                coalescingConfig.getLong("max_delay_micros", 500L));
+        if (registry != null) {
+            new ItemWriteCoalescerMetrics(repository.getWriteCoalescer()).bindTo(registry);
+        }
+        return repository;
+    }
+
+    /**
+     * Whether {@code storage.backend} selects the in-memory repositories
+     * ({@code memory}) instead of MongoDB ({@code mongodb}, the default).
+     */
+    private static boolean isInMemoryStorage(JsonObject config) {
+        String backend = config.getJsonObject("storage", new JsonObject()).getString("backend", "mongodb");
+        return switch (backend) {
+            case "memory" -> true;
+            case "mongodb" -> false;
+            default -> throw new IllegalStateException("Unknown storage backend: " + backend);
+        };
+    }
+
     private void validateConfig(JsonObject config) {
         if (config == null) {
             throw new IllegalStateException("Configuration is missing");
@@ -85,9 +309,9 @@ public class MainVerticle extends AbstractVerticle {
         }
 
         JsonObject mongoConfig = config.getJsonObject("mongodb");
-        if (mongoConfig == null ||
+        if (!isInMemoryStorage(config) && (mongoConfig == null ||
                 mongoConfig.getString("connection_string") == null ||
-                mongoConfig.getString("db_name") == null) {
+                mongoConfig.getString("db_name") == null)) {
             throw new IllegalStateException("MongoDB configuration is incomplete");
         }
 
@@ -102,18 +326,27 @@ public class MainVerticle extends AbstractVerticle {
         router.route().handler(CorsHandler.create("*")
                 .allowedMethod(io.vertx.core.http.HttpMethod.GET)
                 .allowedMethod(io.vertx.core.http.HttpMethod.POST)
+                .allowedMethod(io.vertx.core.http.HttpMethod.PATCH)
+                .allowedMethod(io.vertx.core.http.HttpMethod.DELETE)
                 .allowedMethod(io.vertx.core.http.HttpMethod.OPTIONS)
                 .allowedHeader("Access-Control-Request-Method")
                 .allowedHeader("Access-Control-Allow-Credentials")
                 .allowedHeader("Access-Control-Allow-Origin")
                 .allowedHeader("Access-Control-Allow-Headers")
                 .allowedHeader("Content-Type")
-                .allowedHeader("Authorization"));
+                .allowedHeader("Authorization")
+                .allowedHeader("Last-Event-ID")
+                .allowedHeader("If-Match")
+                .allowedHeader("If-None-Match"));
     }
 
     @Override
     public void stop(Promise<Void> stopPromise) {
+        if (eventLoopLagMonitor != null) {
+            eventLoopLagMonitor.stop();
+        }
         CompositeFuture.all(
+                itemChangeFeed != null ? itemChangeFeed.stop() : Future.succeededFuture(),
                 mongoClient != null ? mongoClient.close() : Future.succeededFuture(),
                 httpServer != null ? httpServer.close() : Future.succeededFuture()
         ).onComplete(ar -> {
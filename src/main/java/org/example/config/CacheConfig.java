@@ -0,0 +1,79 @@
+package org.example.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.jwt.JWTAuth;
+import org.example.services.CachingJWTAuth;
+import org.example.services.ItemListCache;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public class CacheConfig {
+    public static ItemListCache createItemListCache(JsonObject config) {
+        JsonObject cacheConfig = config.getJsonObject("cache", new JsonObject())
+                .getJsonObject("items", new JsonObject());
+
+        if (!cacheConfig.getBoolean("enabled", true)) {
+            return null;
+        }
+
+        long maxWeightBytes = cacheConfig.getLong("max_weight_bytes", 64L * 1024 * 1024);
+        long maxEntryBytes = cacheConfig.getLong("max_entry_bytes", 1024L * 1024);
+        long ttlSeconds = cacheConfig.getLong("ttl_seconds", 30L);
+
+        if (maxWeightBytes <= 0 || maxEntryBytes <= 0 || ttlSeconds <= 0) {
+            throw new IllegalStateException("Item cache limits and TTL must be positive");
+        }
+
+        return new ItemListCache(maxWeightBytes, maxEntryBytes, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * Wraps {@code jwtAuth} in a cache of verified tokens, or returns null
+     * when {@code cache.tokens.enabled} is false.
+     */
+    public static CachingJWTAuth createTokenCache(JWTAuth jwtAuth, JsonObject config) {
+        JsonObject cacheConfig = config.getJsonObject("cache", new JsonObject())
+                .getJsonObject("tokens", new JsonObject());
+
+        if (!cacheConfig.getBoolean("enabled", true)) {
+            return null;
+        }
+
+        long maxEntries = cacheConfig.getLong("max_entries", 100_000L);
+        long maxTtlSeconds = cacheConfig.getLong("max_ttl_seconds", 300L);
+
+        if (maxEntries <= 0 || maxTtlSeconds <= 0) {
+            throw new IllegalStateException("Token cache size and TTL must be positive");
+        }
+
+        return new CachingJWTAuth(jwtAuth, maxEntries, Duration.ofSeconds(maxTtlSeconds));
+    }
+
+    /**
+     * Creates the in-memory map of item versions kept in front of MongoDB, or
+     * returns null when {@code cache.versions.enabled} is false.
+     */
+    public static Cache<UUID, Long> createItemVersionCache(JsonObject config) {
+        JsonObject cacheConfig = config.getJsonObject("cache", new JsonObject())
+                .getJsonObject("versions", new JsonObject());
+
+        if (!cacheConfig.getBoolean("enabled", true)) {
+            return null;
+        }
+
+        long maxEntries = cacheConfig.getLong("max_entries", 100_000L);
+        long ttlSeconds = cacheConfig.getLong("ttl_seconds", 60L);
+
+        if (maxEntries <= 0 || ttlSeconds <= 0) {
+            throw new IllegalStateException("Item version cache size and TTL must be positive");
+        }
+
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+}
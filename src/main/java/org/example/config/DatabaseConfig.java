@@ -5,6 +5,8 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.mongo.MongoClient;
 
 public class DatabaseConfig {
+    private static final String DATA_SOURCE_NAME = "items-service";
+
     public static MongoClient createMongoClient(Vertx vertx, JsonObject config) {
         JsonObject mongoConfig = config.getJsonObject("mongodb", new JsonObject());
         String connectionString = mongoConfig.getString("connection_string", "mongodb://localhost:27017");
@@ -14,8 +16,8 @@ public class DatabaseConfig {
             throw new IllegalStateException("MongoDB configuration is incomplete");
         }
 
-        return MongoClient.create(vertx, new JsonObject()
+        return MongoClient.createShared(vertx, new JsonObject()
                 .put("connection_string", connectionString)
-                .put("db_name", dbName));
+                .put("db_name", dbName), DATA_SOURCE_NAME);
     }
 }
\ No newline at end of file
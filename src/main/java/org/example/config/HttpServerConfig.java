@@ -0,0 +1,94 @@
+package org.example.config;
+
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+import io.vertx.core.http.Http2Settings;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
+
+public class HttpServerConfig {
+    private static final int WINDOW_BITS = 15;
+    private static final int MEM_LEVEL = 8;
+
+    /**
+     * Builds the API server options from the {@code http_server} section:
+     * gzip/deflate compression, cleartext HTTP/2 (h2c, by upgrade or prior
+     * knowledge) next to HTTP/1.1, and TCP tuning. Fast open, quick ack and
+     * port reuse only take effect with the native transport.
+     */
+    public static HttpServerOptions createOptions(JsonObject config) {
+        JsonObject serverConfig = config.getJsonObject("http_server", new JsonObject());
+        JsonObject compressionConfig = serverConfig.getJsonObject("compression", new JsonObject());
+        JsonObject http2Config = serverConfig.getJsonObject("http2", new JsonObject());
+        JsonObject tcpConfig = serverConfig.getJsonObject("tcp", new JsonObject());
+
+        HttpServerOptions options = new HttpServerOptions()
+                .setTcpNoDelay(tcpConfig.getBoolean("no_delay", true))
+                .setTcpFastOpen(tcpConfig.getBoolean("fast_open", false))
+                .setTcpQuickAck(tcpConfig.getBoolean("quick_ack", false))
+                .setReusePort(tcpConfig.getBoolean("reuse_port", false));
+
+        if (compressionConfig.getBoolean("enabled", true)) {
+            int level = compressionConfig.getInteger("level", 6);
+            if (level < 1 || level > 9) {
+                throw new IllegalStateException("Compression level must be between 1 and 9");
+            }
+            options.setCompressionSupported(true)
+                    .setCompressionLevel(level)
+                    .addCompressor(StandardCompressionOptions.gzip(level, WINDOW_BITS, MEM_LEVEL))
+                    .addCompressor(StandardCompressionOptions.deflate(level, WINDOW_BITS, MEM_LEVEL));
+        }
+
+        boolean http2 = http2Config.getBoolean("enabled", true);
+        options.setHttp2ClearTextEnabled(http2);
+        if (http2) {
+            long maxConcurrentStreams = http2Config.getLong("max_concurrent_streams", 100L);
+            int connectionWindowSize = http2Config.getInteger("connection_window_size", 1024 * 1024);
+            if (maxConcurrentStreams < 1 || connectionWindowSize < 1) {
+                throw new IllegalStateException("HTTP/2 stream limit and window size must be positive");
+            }
+            options.setInitialSettings(new Http2Settings().setMaxConcurrentStreams(maxConcurrentStreams))
+                    .setHttp2ConnectionWindowSize(connectionWindowSize);
+        }
+
+        return options;
+    }
+
+    /**
+     * Responses with a known length below this many bytes are sent
+     * uncompressed; 0 when compression is disabled.
+     */
+    public static int compressionMinSizeBytes(JsonObject config) {
+        JsonObject compressionConfig = config.getJsonObject("http_server", new JsonObject())
+                .getJsonObject("compression", new JsonObject());
+        if (!compressionConfig.getBoolean("enabled", true)) {
+            return 0;
+        }
+        int minSize = compressionConfig.getInteger("min_size_bytes", 1024);
+        if (minSize < 0) {
+            throw new IllegalStateException("Compression threshold must not be negative");
+        }
+        return minSize;
+    }
+
+    /**
+     * Whether Vert.x should use the native (epoll) transport; it falls back to
+     * NIO when the platform has none.
+     */
+    public static boolean preferNativeTransport(JsonObject config) {
+        return config.getJsonObject("http_server", new JsonObject()).getBoolean("native_transport", true);
+    }
+
+    /**
+     * The largest request body accepted on a group of routes, from
+     * {@code http_server.max_body_bytes.<routes>}.
+     */
+    public static long maxBodyBytes(JsonObject config, String routes, long defaultBytes) {
+        long maxBytes = config.getJsonObject("http_server", new JsonObject())
+                .getJsonObject("max_body_bytes", new JsonObject())
+                .getLong(routes, defaultBytes);
+        if (maxBytes < 1) {
+            throw new IllegalStateException("Body size limit for " + routes + " must be positive");
+        }
+        return maxBytes;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.config;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.example.services.ItemChangeFeed;
+import org.example.services.ItemChangeHistory;
+
+import java.time.Duration;
+
+public class ItemChangeFeedConfig {
+    /**
+     * Builds the event history shared by all verticle instances from
+     * {@code items.change_feed}, or returns null when the feed is disabled.
+     */
+    public static ItemChangeHistory createHistory(JsonObject config) {
+        JsonObject feedConfig = feedConfig(config);
+
+        if (!feedConfig.getBoolean("enabled", true)) {
+            return null;
+        }
+
+        int historySize = feedConfig.getInteger("history_size", 64);
+        long historyOwners = feedConfig.getLong("history_owners", 100_000L);
+        long historyTtlSeconds = feedConfig.getLong("history_ttl_seconds", 3600L);
+
+        if (historySize < 1 || historyOwners < 1 || historyTtlSeconds < 1) {
+            throw new IllegalStateException("Change feed history size, owners and TTL must be positive");
+        }
+
+        return new ItemChangeHistory(historyOwners, historySize, Duration.ofSeconds(historyTtlSeconds));
+    }
+
+    /**
+     * Builds one verticle instance's feed over the shared {@code history}, or
+     * returns null when there is none.
+     */
+    public static ItemChangeFeed create(Vertx vertx, ItemChangeHistory history, JsonObject config) {
+        if (history == null) {
+            return null;
+        }
+
+        JsonObject feedConfig = feedConfig(config);
+        int maxEventItems = feedConfig.getInteger("max_event_items", 100);
+        long heartbeatSeconds = feedConfig.getLong("heartbeat_seconds", 30L);
+
+        if (maxEventItems < 0 || heartbeatSeconds < 1) {
+            throw new IllegalStateException("Change feed event size must not be negative and heartbeat must be positive");
+        }
+
+        return new ItemChangeFeed(vertx, history, maxEventItems, heartbeatSeconds * 1000);
+    }
+
+    /**
+     * How many bytes may wait to be written to one feed connection before
+     * its events are dropped in favour of a reset.
+     */
+    public static int writeQueueMaxBytes(JsonObject config) {
+        int maxBytes = feedConfig(config).getInteger("write_queue_max_bytes", 64 * 1024);
+        if (maxBytes < 1) {
+            throw new IllegalStateException("Change feed write queue size must be positive");
+        }
+        return maxBytes;
+    }
+
+    private static JsonObject feedConfig(JsonObject config) {
+        return config.getJsonObject("items", new JsonObject())
+                .getJsonObject("change_feed", new JsonObject());
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.config;
+
+import io.vertx.core.json.JsonObject;
+import org.example.services.LoginRateLimiter;
+
+public class LoginRateLimitConfig {
+    /**
+     * Builds the login limiter from {@code login_rate_limit}, or returns null
+     * when it is disabled.
+     */
+    public static LoginRateLimiter create(JsonObject config) {
+        JsonObject limitConfig = config.getJsonObject("login_rate_limit", new JsonObject());
+
+        if (!limitConfig.getBoolean("enabled", true)) {
+            return null;
+        }
+
+        int stripes = limitConfig.getInteger("stripes", 65536);
+        int maxPerLogin = limitConfig.getInteger("max_attempts_per_login", 10);
+        int maxPerAddress = limitConfig.getInteger("max_attempts_per_address", 100);
+        long windowSeconds = limitConfig.getLong("window_seconds", 60L);
+
+        if (stripes < 1 || maxPerLogin < 1 || maxPerAddress < 1 || windowSeconds < 1) {
+            throw new IllegalStateException("Login rate limit stripes, limits and window must be positive");
+        }
+
+        return new LoginRateLimiter(stripes, maxPerLogin, maxPerAddress, windowSeconds * 1000);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.config;
+
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.micrometer.Label;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
+
+import java.util.EnumSet;
+
+public class MetricsConfig {
+    /**
+     * Builds the Vert.x metrics options from the {@code metrics} section.
+     * Scrapes are served by an embedded server on its own port, so the
+     * public API port never exposes them.
+     */
+    public static MicrometerMetricsOptions createOptions(JsonObject config) {
+        JsonObject metricsConfig = config.getJsonObject("metrics", new JsonObject());
+        int port = metricsConfig.getInteger("port", 9090);
+        String endpoint = metricsConfig.getString("endpoint", "/metrics");
+
+        if (port < 1 || port > 65535) {
+            throw new IllegalStateException("Metrics port must be between 1 and 65535");
+        }
+
+        return new MicrometerMetricsOptions()
+                .setEnabled(metricsConfig.getBoolean("enabled", true))
+                .setJvmMetricsEnabled(true)
+                .setLabels(EnumSet.of(Label.HTTP_ROUTE, Label.HTTP_METHOD, Label.HTTP_CODE, Label.POOL_NAME))
+                .setPrometheusOptions(new VertxPrometheusOptions()
+                        .setEnabled(true)
+                        .setPublishQuantiles(true)
+                        .setStartEmbeddedServer(true)
+                        .setEmbeddedServerOptions(new HttpServerOptions().setPort(port))
+                        .setEmbeddedServerEndpoint(endpoint));
+    }
+
+    public static long eventLoopLagIntervalMillis(JsonObject config) {
+        long interval = config.getJsonObject("metrics", new JsonObject())
+                .getLong("event_loop_lag_interval_ms", 100L);
+        if (interval < 1) {
+            throw new IllegalStateException("Event loop lag interval must be positive");
+        }
+        return interval;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.config;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.json.JsonObject;
+import org.example.services.PasswordHasher;
+
+public class PasswordHashingConfig {
+    private static final String POOL_NAME = "password-hashing";
+
+    public static PasswordHasher create(Vertx vertx, JsonObject config) {
+        JsonObject hashingConfig = config.getJsonObject("password_hashing", new JsonObject());
+        int poolSize = hashingConfig.getInteger("pool_size", Runtime.getRuntime().availableProcessors());
+        int maxQueue = hashingConfig.getInteger("max_queue", 64);
+        int cost = hashingConfig.getInteger("cost", PasswordHasher.DEFAULT_COST);
+
+        if (poolSize < 1 || maxQueue < 1) {
+            throw new IllegalStateException("Password hashing pool size and queue limit must be positive");
+        }
+        if (cost < PasswordHasher.MIN_COST || cost > PasswordHasher.MAX_COST) {
+            throw new IllegalStateException("Password hashing cost must be between "
+                    + PasswordHasher.MIN_COST + " and " + PasswordHasher.MAX_COST);
+        }
+
+        WorkerExecutor executor = vertx.createSharedWorkerExecutor(POOL_NAME, poolSize);
+        return new PasswordHasher(executor, maxQueue, cost);
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.config;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds objects that are created once per {@link Vertx} instance and shared by
+ * every deployed verticle instance. Shared objects must be thread-safe, since
+ * they are used concurrently from several event loops, and they live as long
+ * as the {@link Vertx} instance itself.
+ */
+public class SharedResources {
+    private static final String MAP_NAME = "org.example.shared-resources";
+
+    @SuppressWarnings("unchecked")
+    public static <T> T getOrCreate(Vertx vertx, String name, Supplier<T> factory) {
+        LocalMap<String, Holder> resources = vertx.sharedData().getLocalMap(MAP_NAME);
+        return (T) resources.computeIfAbsent(name, key -> new Holder(factory.get())).value();
+    }
+
+    private record Holder(Object value) implements Shareable {
+    }
+}
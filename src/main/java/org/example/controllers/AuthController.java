@@ -4,23 +4,40 @@ import io.vertx.ext.web.Router;
 import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.ext.web.handler.JWTAuthHandler;
 import org.example.handlers.AuthHandler;
+import org.example.handlers.LoginRateLimitHandler;
+import org.example.handlers.RequestBodyHandler;
 
 public class AuthController {
     private final Router router;
     private final AuthHandler authHandler;
     private final JWTAuth jwtAuth;
+    private final LoginRateLimitHandler loginRateLimitHandler;
+    private final RequestBodyHandler bodyHandler;
 
-    public AuthController(Router router, AuthHandler authHandler, JWTAuth jwtAuth) {
+    /**
+     * {@code loginRateLimitHandler} may be null when login attempts are not
+     * limited.
+     */
+    public AuthController(Router router, AuthHandler authHandler, JWTAuth jwtAuth,
+                          LoginRateLimitHandler loginRateLimitHandler, RequestBodyHandler bodyHandler) {
         this.router = router;
         this.authHandler = authHandler;
         this.jwtAuth = jwtAuth;
+        this.loginRateLimitHandler = loginRateLimitHandler;
+        this.bodyHandler = bodyHandler;
     }
 
     public void setupRoutes() {
-        router.post("/register").handler(authHandler::register);
+        router.post("/register")
+                .handler(bodyHandler)
+                .handler(authHandler::register);
+        router.post("/login").handler(bodyHandler);
+        if (loginRateLimitHandler != null) {
+            router.post("/login").handler(loginRateLimitHandler);
+        }
         router.post("/login").handler(authHandler::login);
         router.post("/logout")
                 .handler(JWTAuthHandler.create(jwtAuth))
                 .handler(authHandler::logout);
     }
-}
\ No newline at end of file
+}
@@ -4,21 +4,54 @@ import io.vertx.ext.web.Router;
 import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.ext.web.handler.JWTAuthHandler;
 import org.example.handlers.ItemHandler;
+import org.example.handlers.ItemStreamHandler;
+import org.example.handlers.RequestBodyHandler;
 
 public class ItemController {
     private final Router router;
     private final ItemHandler itemHandler;
     private final JWTAuth jwtAuth;
+    private final RequestBodyHandler itemBodyHandler;
+    private final RequestBodyHandler batchBodyHandler;
+    private final ItemStreamHandler itemStreamHandler;
 
-    public ItemController(Router router, ItemHandler itemHandler, JWTAuth jwtAuth) {
+    /**
+     * {@code batchBodyHandler} may be null, in which case batch bodies are
+     * parsed while they stream in instead of being buffered.
+     * {@code itemStreamHandler} may be null when the change feed is
+     * disabled, and {@code /items/stream} is then not served.
+     */
+    public ItemController(Router router, ItemHandler itemHandler, JWTAuth jwtAuth,
+                          RequestBodyHandler itemBodyHandler, RequestBodyHandler batchBodyHandler,
+                          ItemStreamHandler itemStreamHandler) {
         this.router = router;
         this.itemHandler = itemHandler;
         this.jwtAuth = jwtAuth;
+        this.itemBodyHandler = itemBodyHandler;
+        this.batchBodyHandler = batchBodyHandler;
+        this.itemStreamHandler = itemStreamHandler;
     }
 
     public void setupRoutes() {
         router.route("/items*").handler(JWTAuthHandler.create(jwtAuth));
-        router.post("/items").handler(itemHandler::createItem);
+        router.post("/items")
+                .handler(itemBodyHandler)
+                .handler(itemHandler::createItem);
+        if (batchBodyHandler != null) {
+            router.post("/items/batch")
+                    .handler(batchBodyHandler)
+                    .handler(itemHandler::createItems);
+        } else {
+            router.post("/items/batch").handler(itemHandler::createItemsStreaming);
+        }
         router.get("/items").handler(itemHandler::getItems);
+        if (itemStreamHandler != null) {
+            router.get("/items/stream").handler(itemStreamHandler::streamItems);
+        }
+        router.get("/items/:id").handler(itemHandler::getItem);
+        router.patch("/items/:id")
+                .handler(itemBodyHandler)
+                .handler(itemHandler::updateItem);
+        router.delete("/items/:id").handler(itemHandler::deleteItem);
     }
-}
\ No newline at end of file
+}
@@ -7,10 +7,16 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public enum ErrorReason {
     USER_ALREADY_EXISTS(409, "User already exists"),
+    ITEM_ALREADY_EXISTS(409, "Item already exists"),
     INVALID_CREDENTIALS(401, "Invalid login or password"),
     UNAUTHORIZED(401, "Unauthorized access"),
     INVALID_REQUEST(400, "Invalid request"),
-    INTERNAL_SERVER_ERROR(500, "Internal server error");
+    NOT_FOUND(404, "Not found"),
+    VERSION_CONFLICT(409, "Item was modified by another request"),
+    PAYLOAD_TOO_LARGE(413, "Request body too large"),
+    TOO_MANY_REQUESTS(429, "Too many requests"),
+    INTERNAL_SERVER_ERROR(500, "Internal server error"),
+    SERVICE_UNAVAILABLE(503, "Service temporarily unavailable");
 
     private final int statusCode;
     private final String message;
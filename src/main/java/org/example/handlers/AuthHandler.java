@@ -2,6 +2,7 @@ package org.example.handlers;
 
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.json.DecodeException;
+import io.vertx.ext.auth.User;
 import io.vertx.ext.web.RoutingContext;
 import org.example.exceptions.ApiException;
 import org.example.exceptions.ErrorReason;
@@ -11,6 +12,7 @@ import org.slf4j.LoggerFactory;
 
 public class AuthHandler {
     private static final Logger logger = LoggerFactory.getLogger(AuthHandler.class);
+    private static final String BEARER_PREFIX = "Bearer ";
     private final UserService userService;
 
     public AuthHandler(UserService userService) {
@@ -64,13 +66,14 @@ public class AuthHandler {
 
     public void logout(RoutingContext ctx) {
         try {
-            JsonObject principal = ctx.user().principal();
-            if (principal == null || principal.getString("access_token") == null) {
+            User user = ctx.user();
+            if (user == null) {
                 throw new ApiException(ErrorReason.UNAUTHORIZED);
             }
-            String token = principal.getString("access_token");
+            String jti = user.get("jti");
+            Number expiresAt = user.get("exp");
 
-            userService.logout(token)
+            userService.logout(jti, bearerToken(ctx), expiresAt != null ? expiresAt.longValue() : null)
                     .onSuccess(v -> ctx.response()
                             .setStatusCode(204)
                             .end())
@@ -80,6 +83,14 @@ public class AuthHandler {
         }
     }
 
+    private static String bearerToken(RoutingContext ctx) {
+        String authorization = ctx.request().getHeader("Authorization");
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        return authorization.substring(BEARER_PREFIX.length()).trim();
+    }
+
     private void handleError(RoutingContext ctx, Throwable err) {
         if (err instanceof ApiException apiException) {
             ctx.response()
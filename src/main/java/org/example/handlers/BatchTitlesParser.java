@@ -0,0 +1,186 @@
+package org.example.handlers;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.parsetools.JsonEventType;
+import io.vertx.core.parsetools.JsonParser;
+import io.vertx.core.streams.ReadStream;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the titles of a batch request as the body arrives, either from a
+ * JSON array or, for NDJSON, from one JSON value per line, without holding
+ * the raw body. Parsing stops as soon as the body exceeds {@code maxBytes}
+ * ({@link ErrorReason#PAYLOAD_TOO_LARGE}), holds more than
+ * {@code maxItems} elements or is malformed
+ * ({@link ErrorReason#INVALID_REQUEST}).
+ */
+class BatchTitlesParser {
+    private static final byte NEWLINE = '\n';
+
+    private final boolean ndjson;
+    private final long maxBytes;
+    private final int maxItems;
+    private final Promise<List<String>> result = Promise.promise();
+    private final List<String> titles = new ArrayList<>();
+    private final JsonParser jsonParser;
+    private Buffer pendingLine;
+    private long bytes;
+    private boolean arrayStarted;
+    private boolean arrayEnded;
+    // Elements that are arrays are skipped as a whole and rejected like any other non-title.
+    private int nestedArrayDepth;
+
+    BatchTitlesParser(boolean ndjson, long maxBytes, int maxItems) {
+        this.ndjson = ndjson;
+        this.maxBytes = maxBytes;
+        this.maxItems = maxItems;
+        if (ndjson) {
+            this.jsonParser = null;
+            this.pendingLine = Buffer.buffer();
+        } else {
+            this.jsonParser = JsonParser.newParser()
+                    .objectValueMode()
+                    .handler(event -> {
+                        if (!arrayStarted) {
+                            if (event.type() == JsonEventType.START_ARRAY) {
+                                arrayStarted = true;
+                            } else {
+                                fail(ErrorReason.INVALID_REQUEST);
+                            }
+                        } else if (arrayEnded) {
+                            fail(ErrorReason.INVALID_REQUEST);
+                        } else if (event.type() == JsonEventType.START_ARRAY) {
+                            nestedArrayDepth++;
+                        } else if (event.type() == JsonEventType.END_ARRAY && nestedArrayDepth > 0) {
+                            if (--nestedArrayDepth == 0) {
+                                add(null);
+                            }
+                        } else if (event.type() == JsonEventType.END_ARRAY) {
+                            arrayEnded = true;
+                        } else if (nestedArrayDepth == 0) {
+                            add(toTitle(event.value()));
+                        }
+                    })
+                    .exceptionHandler(err -> fail(ErrorReason.INVALID_REQUEST));
+        }
+    }
+
+    /**
+     * Parses the whole stream; the stream is paused once parsing has failed.
+     */
+    static Future<List<String>> parse(ReadStream<Buffer> body, boolean ndjson, long maxBytes, int maxItems) {
+        BatchTitlesParser parser = new BatchTitlesParser(ndjson, maxBytes, maxItems);
+        body.exceptionHandler(parser::fail);
+        body.endHandler(v -> parser.end());
+        body.handler(chunk -> {
+            parser.handle(chunk);
+            if (parser.result.future().isComplete()) {
+                body.pause();
+            }
+        });
+        return parser.result();
+    }
+
+    void handle(Buffer chunk) {
+        if (result.future().isComplete()) {
+            return;
+        }
+        bytes += chunk.length();
+        if (bytes > maxBytes) {
+            fail(ErrorReason.PAYLOAD_TOO_LARGE);
+            return;
+        }
+        if (ndjson) {
+            handleLines(chunk);
+        } else {
+            jsonParser.handle(chunk);
+        }
+    }
+
+    void end() {
+        if (result.future().isComplete()) {
+            return;
+        }
+        if (ndjson) {
+            handleLine(pendingLine);
+        } else {
+            jsonParser.end();
+            if (!arrayEnded) {
+                fail(ErrorReason.INVALID_REQUEST);
+            }
+        }
+        result.tryComplete(titles);
+    }
+
+    Future<List<String>> result() {
+        return result.future();
+    }
+
+    private void handleLines(Buffer chunk) {
+        int start = 0;
+        for (int i = 0; i < chunk.length(); i++) {
+            if (chunk.getByte(i) == NEWLINE) {
+                pendingLine.appendBuffer(chunk, start, i - start);
+                handleLine(pendingLine);
+                pendingLine = Buffer.buffer();
+                start = i + 1;
+            }
+        }
+        pendingLine.appendBuffer(chunk, start, chunk.length() - start);
+    }
+
+    private void handleLine(Buffer line) {
+        if (result.future().isComplete()) {
+            return;
+        }
+        String text = line.toString();
+        if (text.isBlank()) {
+            return;
+        }
+        try {
+            add(toTitle(Json.decodeValue(text)));
+        } catch (DecodeException e) {
+            fail(ErrorReason.INVALID_REQUEST);
+        }
+    }
+
+    private void add(String title) {
+        if (titles.size() == maxItems) {
+            fail(ErrorReason.INVALID_REQUEST);
+            return;
+        }
+        titles.add(title);
+    }
+
+    private void fail(ErrorReason errorReason) {
+        fail(new ApiException(errorReason));
+    }
+
+    private void fail(Throwable err) {
+        result.tryFail(err);
+    }
+
+    /**
+     * Each element may be a title string or an object with a {@code title}
+     * field; elements of any other shape yield {@code null} and are rejected
+     * individually.
+     */
+    static String toTitle(Object element) {
+        if (element instanceof String title) {
+            return title;
+        }
+        if (element instanceof JsonObject object && object.getValue("title") instanceof String title) {
+            return title;
+        }
+        return null;
+    }
+}
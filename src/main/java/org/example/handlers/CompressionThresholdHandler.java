@@ -0,0 +1,37 @@
+package org.example.handlers;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Keeps small responses uncompressed: once the headers are about to be sent,
+ * a response whose {@code Content-Length} is below the threshold is marked
+ * {@code Content-Encoding: identity}, which the server's compressor leaves
+ * alone. Chunked responses, such as streamed item lists, have no length and
+ * are always compressed; bodiless 204 and 304 responses never are.
+ */
+public class CompressionThresholdHandler implements Handler<RoutingContext> {
+    private final int minSizeBytes;
+
+    public CompressionThresholdHandler(int minSizeBytes) {
+        this.minSizeBytes = minSizeBytes;
+    }
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        HttpServerResponse response = ctx.response();
+        ctx.addHeadersEndHandler(v -> {
+            String length = response.headers().get(HttpHeaders.CONTENT_LENGTH);
+            if (length == null || response.headers().contains(HttpHeaders.CONTENT_ENCODING)) {
+                return;
+            }
+            long bytes = Long.parseLong(length);
+            if (bytes > 0 && bytes < minSizeBytes) {
+                response.putHeader(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
+            }
+        });
+        ctx.next();
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.handlers;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.services.AuthenticatedUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+
+/**
+ * Request helpers shared by the item handlers.
+ */
+final class HandlerSupport {
+    private static final Logger logger = LoggerFactory.getLogger(HandlerSupport.class);
+
+    private HandlerSupport() {
+    }
+
+    static UUID getUserId(RoutingContext ctx) {
+        if (ctx.user() instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.getUserId();
+        }
+        try {
+            String userId = ctx.user().principal().getString("userId");
+            return UUID.fromString(userId);
+        } catch (Exception e) {
+            logger.error("Failed to get user ID from token", e);
+            throw new ApiException(ErrorReason.UNAUTHORIZED);
+        }
+    }
+
+    static void handleError(RoutingContext ctx, Throwable err) {
+        if (err instanceof ApiException apiException) {
+            ctx.response()
+                    .setStatusCode(apiException.getStatusCode())
+                    .putHeader("Content-Type", "application/json")
+                    .end(new JsonObject()
+                            .put("error", apiException.getMessage())
+                            .encode());
+        } else {
+            logger.error("Unexpected error", err);
+            ctx.response()
+                    .setStatusCode(ErrorReason.INTERNAL_SERVER_ERROR.getStatusCode())
+                    .putHeader("Content-Type", "application/json")
+                    .end(new JsonObject()
+                            .put("error", ErrorReason.INTERNAL_SERVER_ERROR.getMessage())
+                            .encode());
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package org.example.handlers;
 
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.json.DecodeException;
 import io.vertx.ext.web.RoutingContext;
@@ -9,14 +13,31 @@ import org.example.services.ItemService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 public class ItemHandler {
     private static final Logger logger = LoggerFactory.getLogger(ItemHandler.class);
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final long DEFAULT_MAX_BATCH_BODY_BYTES = 16L * 1024 * 1024;
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+    private static final String WEAK_PREFIX = "W/";
     private final ItemService itemService;
+    private final long maxBatchBodyBytes;
 
     public ItemHandler(ItemService itemService) {
+        this(itemService, DEFAULT_MAX_BATCH_BODY_BYTES);
+    }
+
+    /**
+     * {@code maxBatchBodyBytes} bounds the bodies read by
+     * {@link #createItemsStreaming}; buffered batches are bounded by the
+     * route's {@link RequestBodyHandler}.
+     */
+    public ItemHandler(ItemService itemService, long maxBatchBodyBytes) {
         this.itemService = itemService;
+        this.maxBatchBodyBytes = maxBatchBodyBytes;
     }
 
     public void createItem(RoutingContext ctx) {
@@ -39,45 +60,363 @@ public class ItemHandler {
         }
     }
 
-    public void getItems(RoutingContext ctx) {
+    public void createItems(RoutingContext ctx) {
         try {
             UUID userId = getUserId(ctx);
-            itemService.getUserItems(userId)
-                    .onSuccess(items -> ctx.response()
+            List<String> titles = parseBatchTitles(ctx);
+
+            itemService.createItems(userId, titles)
+                    .onSuccess(results -> ctx.response()
                             .putHeader("Content-Type", "application/json")
-                            .end(items.encode()))
+                            .end(new JsonObject().put("results", results).encode()))
                     .onFailure(err -> handleError(ctx, err));
+        } catch (DecodeException e) {
+            handleError(ctx, new ApiException(ErrorReason.INVALID_REQUEST));
         } catch (Exception e) {
             handleError(ctx, e);
         }
     }
 
-    private UUID getUserId(RoutingContext ctx) {
+    /**
+     * Same as {@link #createItems}, but parses the titles while the body
+     * arrives instead of buffering it first, so the route needs no body
+     * handler. Bodies over {@code maxBatchBodyBytes} are rejected with 413,
+     * up front when their {@code Content-Length} says so.
+     */
+    public void createItemsStreaming(RoutingContext ctx) {
         try {
-            String userId = ctx.user().principal().getString("userId");
-            return UUID.fromString(userId);
+            UUID userId = getUserId(ctx);
+            if (RequestBodyHandler.exceedsLimit(ctx, maxBatchBodyBytes)) {
+                RequestBodyHandler.reject(ctx);
+                return;
+            }
+
+            String contentType = ctx.request().getHeader("Content-Type");
+            boolean ndjson = contentType != null && contentType.startsWith(NDJSON_CONTENT_TYPE);
+            BatchTitlesParser.parse(ctx.request(), ndjson, maxBatchBodyBytes, itemService.getMaxBatchSize())
+                    .compose(titles -> itemService.createItems(userId, titles))
+                    .onSuccess(results -> ctx.response()
+                            .putHeader("Content-Type", "application/json")
+                            .end(new JsonObject().put("results", results).encode()))
+                    .onFailure(err -> {
+                        if (err instanceof ApiException apiException
+                                && apiException.getErrorReason() == ErrorReason.PAYLOAD_TOO_LARGE) {
+                            RequestBodyHandler.reject(ctx);
+                        } else {
+                            handleError(ctx, err);
+                        }
+                    });
         } catch (Exception e) {
-            logger.error("Failed to get user ID from token", e);
-            throw new ApiException(ErrorReason.UNAUTHORIZED);
+            handleError(ctx, e);
         }
     }
 
-    private void handleError(RoutingContext ctx, Throwable err) {
-        if (err instanceof ApiException apiException) {
-            ctx.response()
-                    .setStatusCode(apiException.getStatusCode())
-                    .putHeader("Content-Type", "application/json")
-                    .end(new JsonObject()
-                            .put("error", apiException.getMessage())
-                            .encode());
+    /**
+     * Reads the titles of a batch request, either from a JSON array or, for
+     * {@code application/x-ndjson}, from one JSON value per line; elements are
+     * read as by {@link BatchTitlesParser#toTitle}.
+     */
+    private List<String> parseBatchTitles(RoutingContext ctx) {
+        String contentType = ctx.request().getHeader("Content-Type");
+        List<String> titles = new ArrayList<>();
+
+        if (contentType != null && contentType.startsWith(NDJSON_CONTENT_TYPE)) {
+            String body = ctx.body().asString();
+            if (body != null) {
+                for (String line : body.split("\\r?\\n")) {
+                    if (!line.isBlank()) {
+                        titles.add(BatchTitlesParser.toTitle(Json.decodeValue(line)));
+                    }
+                }
+            }
         } else {
-            logger.error("Unexpected error", err);
-            ctx.response()
-                    .setStatusCode(ErrorReason.INTERNAL_SERVER_ERROR.getStatusCode())
-                    .putHeader("Content-Type", "application/json")
-                    .end(new JsonObject()
-                            .put("error", ErrorReason.INTERNAL_SERVER_ERROR.getMessage())
-                            .encode());
+            JsonArray body = ctx.body().asJsonArray();
+            if (body == null) {
+                throw new ApiException(ErrorReason.INVALID_REQUEST);
+            }
+            for (Object element : body) {
+                titles.add(BatchTitlesParser.toTitle(element));
+            }
         }
+        return titles;
+    }
+
+    public void getItems(RoutingContext ctx) {
+        try {
+            UUID userId = getUserId(ctx);
+            String limit = ctx.request().getParam("limit");
+            String after = ctx.request().getParam("after");
+            String since = ctx.request().getParam("since");
+
+            itemService.getItemsVersion(userId)
+                    .onSuccess(version -> {
+                        if (version != null) {
+                            String etag = etag(userId, version, listingForm(limit, after, since));
+                            ctx.response()
+                                    .putHeader("ETag", etag)
+                                    .putHeader("Cache-Control", "private, no-cache");
+                            if (matchesIfNoneMatch(ctx.request().getHeader("If-None-Match"), etag)) {
+                                ctx.response().setStatusCode(304).end();
+                                return;
+                            }
+                        }
+                        sendItems(ctx, userId, limit, after, since);
+                    })
+                    .onFailure(err -> handleError(ctx, err));
+        } catch (Exception e) {
+            handleError(ctx, e);
+        }
+    }
+
+    public void getItem(RoutingContext ctx) {
+        try {
+            UUID userId = getUserId(ctx);
+            UUID itemId = parseItemId(ctx);
+
+            itemService.getItem(userId, itemId)
+                    .onSuccess(item -> {
+                        String etag = itemEtag(itemId, item.getLong("version"));
+                        ctx.response()
+                                .putHeader("ETag", etag)
+                                .putHeader("Cache-Control", "private, no-cache");
+                        if (matchesIfNoneMatch(ctx.request().getHeader("If-None-Match"), etag)) {
+                            ctx.response().setStatusCode(304).end();
+                            return;
+                        }
+                        ctx.response()
+                                .putHeader("Content-Type", "application/json")
+                                .end(item.encode());
+                    })
+                    .onFailure(err -> handleError(ctx, err));
+        } catch (Exception e) {
+            handleError(ctx, e);
+        }
+    }
+
+    /**
+     * Changes the item's title. The version the client last saw can be given
+     * as {@code If-Match} or as {@code version} in the body; without either
+     * the change applies whatever the item's version.
+     */
+    public void updateItem(RoutingContext ctx) {
+        try {
+            UUID userId = getUserId(ctx);
+            UUID itemId = parseItemId(ctx);
+            JsonObject body = ctx.body().asJsonObject();
+            if (body == null) {
+                throw new ApiException(ErrorReason.INVALID_REQUEST);
+            }
+            String title = body.getString("title");
+            Long expectedVersion = parseIfMatch(ctx, itemId);
+            if (expectedVersion == null) {
+                expectedVersion = body.getLong("version");
+            }
+
+            itemService.updateItem(userId, itemId, title, expectedVersion)
+                    .onSuccess(item -> ctx.response()
+                            .putHeader("ETag", itemEtag(itemId, item.getLong("version")))
+                            .putHeader("Content-Type", "application/json")
+                            .end(item.encode()))
+                    .onFailure(err -> handleError(ctx, err));
+        } catch (DecodeException | ClassCastException e) {
+            handleError(ctx, new ApiException(ErrorReason.INVALID_REQUEST));
+        } catch (Exception e) {
+            handleError(ctx, e);
+        }
+    }
+
+    public void deleteItem(RoutingContext ctx) {
+        try {
+            UUID userId = getUserId(ctx);
+            UUID itemId = parseItemId(ctx);
+
+            itemService.deleteItem(userId, itemId, parseIfMatch(ctx, itemId))
+                    .onSuccess(v -> ctx.response().setStatusCode(204).end())
+                    .onFailure(err -> handleError(ctx, err));
+        } catch (Exception e) {
+            handleError(ctx, e);
+        }
+    }
+
+    private void sendItems(RoutingContext ctx, UUID userId, String limit, String after, String since) {
+        try {
+            if (since != null) {
+                if (after != null) {
+                    throw new ApiException(ErrorReason.INVALID_REQUEST);
+                }
+                itemService.getUserItemsSince(userId, parseSince(since), parseLimit(limit))
+                        .onSuccess(changes -> ctx.response()
+                                .putHeader("Content-Type", "application/json")
+                                .end(changes.encode()))
+                        .onFailure(err -> handleError(ctx, err));
+                return;
+            }
+
+            if (limit == null && after == null) {
+                Buffer cached = itemService.getCachedUserItems(userId);
+                if (cached != null) {
+                    ctx.response()
+                            .putHeader("Content-Type", "application/json")
+                            .end(cached);
+                } else {
+                    itemService.loadUserItems(userId)
+                            .onSuccess(body -> {
+                                if (body != null) {
+                                    ctx.response()
+                                            .putHeader("Content-Type", "application/json")
+                                            .end(body);
+                                } else {
+                                    streamItems(ctx, userId);
+                                }
+                            })
+                            .onFailure(err -> handleError(ctx, err));
+                }
+                return;
+            }
+
+            itemService.getUserItemsPage(userId, parseCursor(after), parseLimit(limit))
+                    .onSuccess(page -> ctx.response()
+                            .putHeader("Content-Type", "application/json")
+                            .end(page.encode()))
+                    .onFailure(err -> handleError(ctx, err));
+        } catch (Exception e) {
+            handleError(ctx, e);
+        }
+    }
+
+    /**
+     * The owner is part of the tag, so a client switching accounts never
+     * revalidates one user's listing against another's version, and so is
+     * the form of the listing, so a full list, a page and a delta sync of the
+     * same version never stand in for each other.
+     */
+    private static String etag(UUID userId, long version, String form) {
+        return "\"" + userId + "-" + version + "-" + form + "\"";
+    }
+
+    private static String listingForm(String limit, String after, String since) {
+        if (since != null) {
+            return "changes";
+        }
+        return limit == null && after == null ? "list" : "page";
+    }
+
+    private static String itemEtag(UUID itemId, long version) {
+        return "\"" + itemId + "-" + version + "\"";
+    }
+
+    /**
+     * Returns the item version named by {@code If-Match}, or {@code null}
+     * when the header is absent or {@code *}. A header naming no version of
+     * this item yields one that never matches, so the write fails with a
+     * conflict rather than applying unchecked.
+     */
+    private static Long parseIfMatch(RoutingContext ctx, UUID itemId) {
+        String header = ctx.request().getHeader("If-Match");
+        if (header == null || header.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + itemId + "-";
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+                } catch (NumberFormatException e) {
+                    // Not one of our tags
+                }
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * Weak comparison as required for {@code If-None-Match}: either form of
+     * the tag matches, as does {@code *}.
+     */
+    private static boolean matchesIfNoneMatch(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void streamItems(RoutingContext ctx, UUID userId) {
+        HttpServerResponse response = ctx.response()
+                .setChunked(true)
+                .putHeader("Content-Type", "application/json");
+
+        itemService.streamUserItems(userId)
+                .pipe()
+                .endOnFailure(false)
+                .to(response)
+                .onFailure(err -> {
+                    if (response.headWritten()) {
+                        logger.error("Failed to stream items", err);
+                        response.reset();
+                    } else {
+                        handleError(ctx, err);
+                    }
+                });
+    }
+
+    private int parseLimit(String limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        try {
+            return Integer.parseInt(limit);
+        } catch (NumberFormatException e) {
+            throw new ApiException(ErrorReason.INVALID_REQUEST);
+        }
+    }
+
+    private long parseSince(String since) {
+        try {
+            return Long.parseLong(since);
+        } catch (NumberFormatException e) {
+            throw new ApiException(ErrorReason.INVALID_REQUEST);
+        }
+    }
+
+    /**
+     * An id that is not a UUID names no item, so it is a 404 like any other
+     * unknown id.
+     */
+    private UUID parseItemId(RoutingContext ctx) {
+        try {
+            return UUID.fromString(ctx.pathParam("id"));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(ErrorReason.NOT_FOUND);
+        }
+    }
+
+    private UUID parseCursor(String after) {
+        if (after == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(after);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(ErrorReason.INVALID_REQUEST);
+        }
+    }
+
+    private UUID getUserId(RoutingContext ctx) {
+        return HandlerSupport.getUserId(ctx);
+    }
+
+    private void handleError(RoutingContext ctx, Throwable err) {
+        ctx.response().headers().remove("ETag");
+        HandlerSupport.handleError(ctx, err);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,328 @@
+package org.example.handlers;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.services.ItemChangeFeed;
+import org.example.services.ItemChangeSubscriber;
+import org.example.services.ItemService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams the changes of the caller's items, as server-sent events or, when
+ * the request asks for an upgrade, as WebSocket text messages of
+ * {@code {"event": ..., "id": ..., "data": ...}}. Events are
+ * <ul>
+ *   <li>{@code items}: items were created or updated, listed in
+ *   {@code data.items}, or deleted, with their ids in {@code data.deleted};</li>
+ *   <li>{@code reset}: changes were missed, list the items again;</li>
+ *   <li>{@code ready}: the client is up to date as of the event id.</li>
+ * </ul>
+ * The id of an event is the owner's item version, and versions are passed
+ * on in order without gaps: a change that arrives ahead of one still
+ * missing is sent as a {@code reset}. A client that reconnects
+ * with it, in {@code Last-Event-ID} or the {@code last_event_id} parameter,
+ * is sent the events it missed followed by {@code ready}, or a
+ * {@code reset} when they are no longer known.
+ *
+ * <p>A connection only holds its place in the feed and at most
+ * {@code writeQueueMaxBytes} of unsent events. When a slow client fills
+ * that, further events are dropped and a single {@code reset} is sent once
+ * it has drained.
+ */
+public class ItemStreamHandler {
+    private static final Logger logger = LoggerFactory.getLogger(ItemStreamHandler.class);
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    private static final String LAST_EVENT_ID_PARAM = "last_event_id";
+    private static final Buffer HEARTBEAT = Buffer.buffer(":\n\n");
+    private final ItemService itemService;
+    private final ItemChangeFeed itemChangeFeed;
+    private final int writeQueueMaxBytes;
+
+    public ItemStreamHandler(ItemService itemService, ItemChangeFeed itemChangeFeed, int writeQueueMaxBytes) {
+        this.itemService = itemService;
+        this.itemChangeFeed = itemChangeFeed;
+        this.writeQueueMaxBytes = writeQueueMaxBytes;
+    }
+
+    public void streamItems(RoutingContext ctx) {
+        try {
+            UUID userId = HandlerSupport.getUserId(ctx);
+            Long lastEventId = parseLastEventId(ctx);
+
+            if ("websocket".equalsIgnoreCase(ctx.request().getHeader("Upgrade"))) {
+                ctx.request().toWebSocket()
+                        .onSuccess(webSocket -> new WebSocketConnection(userId, webSocket).open(lastEventId))
+                        .onFailure(err -> logger.debug("WebSocket upgrade failed", err));
+                return;
+            }
+
+            HttpServerResponse response = ctx.response()
+                    .setChunked(true)
+                    .putHeader("Content-Type", "text/event-stream")
+                    .putHeader("Cache-Control", "no-cache")
+                    // Compressed events would wait in the compressor instead of reaching the client.
+                    .putHeader("Content-Encoding", "identity");
+            new EventStreamConnection(userId, response, ctx).open(lastEventId);
+        } catch (Exception e) {
+            HandlerSupport.handleError(ctx, e);
+        }
+    }
+
+    private Long parseLastEventId(RoutingContext ctx) {
+        String lastEventId = ctx.request().getHeader(LAST_EVENT_ID_HEADER);
+        if (lastEventId == null) {
+            lastEventId = ctx.request().getParam(LAST_EVENT_ID_PARAM);
+        }
+        if (lastEventId == null || lastEventId.isEmpty()) {
+            return null;
+        }
+        try {
+            long version = Long.parseLong(lastEventId);
+            if (version < 0) {
+                throw new ApiException(ErrorReason.INVALID_REQUEST);
+            }
+            return version;
+        } catch (NumberFormatException e) {
+            throw new ApiException(ErrorReason.INVALID_REQUEST);
+        }
+    }
+
+    /**
+     * One client's subscription. Only ever used on the event loop of the
+     * feed it is subscribed to.
+     */
+    private abstract class Connection implements ItemChangeSubscriber {
+        private final UUID owner;
+        private long lastVersion = -1;
+        private long latestVersion = -1;
+        private boolean lagging;
+        private boolean closed;
+
+        Connection(UUID owner) {
+            this.owner = owner;
+        }
+
+        abstract void write(String event, Long id, JsonObject data);
+
+        abstract boolean writeQueueFull();
+
+        abstract void fail(Throwable err);
+
+        @Override
+        public UUID getOwner() {
+            return owner;
+        }
+
+        /**
+         * Subscribes before reading the current version, so that no change
+         * falls between the two; whatever is delivered twice is dropped by
+         * its version.
+         */
+        void open(Long lastEventId) {
+            itemChangeFeed.subscribe(this);
+            List<JsonObject> missed = lastEventId != null ? itemChangeFeed.replay(owner, lastEventId) : null;
+            if (lastEventId != null) {
+                lastVersion = lastEventId;
+                if (missed != null) {
+                    missed.forEach(this::onChange);
+                }
+            }
+            itemService.getItemsVersion(owner)
+                    .onSuccess(version -> {
+                        if (closed) {
+                            return;
+                        }
+                        if (version == null && lastEventId != null && missed == null) {
+                            reset(null);
+                        } else if (version == null) {
+                            write("ready", lastVersion >= 0 ? lastVersion : null, new JsonObject());
+                        } else if (lastEventId != null && version < lastEventId) {
+                            // The client knows a version this server does not, so its id means nothing here.
+                            lastVersion = version;
+                            latestVersion = version;
+                            reset(version);
+                        } else if (lastEventId != null && version > lastVersion) {
+                            reset(version);
+                        } else {
+                            lastVersion = Math.max(lastVersion, version);
+                            latestVersion = Math.max(latestVersion, version);
+                            write("ready", lastVersion, new JsonObject());
+                        }
+                    })
+                    .onFailure(err -> {
+                        closed();
+                        fail(err);
+                    });
+        }
+
+        /**
+         * Passes on the next version in line. An event that skips versions,
+         * because one was lost or concurrent writes were published out of
+         * order, turns into a {@code reset}; the skipped events, should they
+         * still arrive, are then dropped as already covered.
+         */
+        @Override
+        public void onChange(JsonObject event) {
+            Long version = event.getLong("version");
+            if (closed || version != null && version <= lastVersion) {
+                return;
+            }
+            if (version != null) {
+                latestVersion = Math.max(latestVersion, version);
+            }
+            if (lagging) {
+                return;
+            }
+            if (writeQueueFull()) {
+                lagging = true;
+                return;
+            }
+            if (event.getBoolean("reset", false) || version != null && lastVersion >= 0 && version != lastVersion + 1) {
+                reset(version);
+                return;
+            }
+            if (version != null) {
+                lastVersion = version;
+            }
+            JsonArray items = event.getJsonArray("items");
+            JsonArray deleted = event.getJsonArray("deleted");
+            if (items.isEmpty() && deleted == null) {
+                // A write that changed nothing; its version only keeps the sequence gapless.
+                return;
+            }
+            JsonObject data = new JsonObject().put("items", items);
+            if (deleted != null) {
+                data.put("deleted", deleted);
+            }
+            write("items", version, data);
+        }
+
+        @Override
+        public void onHeartbeat() {
+            if (!closed && !lagging && !writeQueueFull()) {
+                heartbeat();
+            }
+        }
+
+        abstract void heartbeat();
+
+        void drained() {
+            if (lagging && !closed) {
+                lagging = false;
+                reset(latestVersion >= 0 ? latestVersion : null);
+            }
+        }
+
+        void closed() {
+            if (!closed) {
+                closed = true;
+                itemChangeFeed.unsubscribe(this);
+            }
+        }
+
+        private void reset(Long version) {
+            if (version != null) {
+                lastVersion = Math.max(lastVersion, version);
+                latestVersion = Math.max(latestVersion, version);
+            }
+            itemChangeFeed.recordReset();
+            write("reset", version, new JsonObject());
+        }
+    }
+
+    private class EventStreamConnection extends Connection {
+        private final HttpServerResponse response;
+        private final RoutingContext ctx;
+
+        EventStreamConnection(UUID owner, HttpServerResponse response, RoutingContext ctx) {
+            super(owner);
+            this.response = response;
+            this.ctx = ctx;
+            Handler<Void> closeHandler = v -> closed();
+            response.setWriteQueueMaxSize(writeQueueMaxBytes)
+                    .drainHandler(v -> drained())
+                    .closeHandler(closeHandler)
+                    .endHandler(closeHandler);
+        }
+
+        @Override
+        void write(String event, Long id, JsonObject data) {
+            StringBuilder frame = new StringBuilder();
+            if (id != null) {
+                frame.append("id: ").append(id).append('\n');
+            }
+            frame.append("event: ").append(event).append('\n')
+                    .append("data: ").append(data.encode()).append("\n\n");
+            response.write(frame.toString());
+        }
+
+        @Override
+        void heartbeat() {
+            response.write(HEARTBEAT);
+        }
+
+        @Override
+        boolean writeQueueFull() {
+            return response.writeQueueFull();
+        }
+
+        @Override
+        void fail(Throwable err) {
+            if (response.headWritten()) {
+                logger.error("Failed to open item stream", err);
+                response.reset();
+            } else {
+                response.headers().remove("Content-Encoding");
+                HandlerSupport.handleError(ctx, err);
+            }
+        }
+    }
+
+    private class WebSocketConnection extends Connection {
+        private final ServerWebSocket webSocket;
+
+        WebSocketConnection(UUID owner, ServerWebSocket webSocket) {
+            super(owner);
+            this.webSocket = webSocket;
+            webSocket.setWriteQueueMaxSize(writeQueueMaxBytes);
+            webSocket.drainHandler(v -> drained());
+            webSocket.closeHandler(v -> closed());
+        }
+
+        @Override
+        void write(String event, Long id, JsonObject data) {
+            webSocket.writeTextMessage(new JsonObject()
+                    .put("event", event)
+                    .put("id", id)
+                    .put("data", data)
+                    .encode());
+        }
+
+        @Override
+        void heartbeat() {
+            webSocket.writePing(Buffer.buffer());
+        }
+
+        @Override
+        boolean writeQueueFull() {
+            return webSocket.writeQueueFull();
+        }
+
+        @Override
+        void fail(Throwable err) {
+            logger.error("Failed to open item stream", err);
+            webSocket.close((short) 1011);
+        }
+    }
+}
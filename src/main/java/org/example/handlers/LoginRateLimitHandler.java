@@ -0,0 +1,50 @@
+package org.example.handlers;
+
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.RoutingContext;
+import org.example.exceptions.ErrorReason;
+import org.example.services.LoginRateLimiter;
+
+/**
+ * Runs before {@link AuthHandler#login} and answers 429 once the client
+ * address or the login in the body has used up its attempts, before the
+ * login handler looks anything up. Bodies that are not valid JSON are only
+ * limited by address and left for the login handler to reject.
+ */
+public class LoginRateLimitHandler implements Handler<RoutingContext> {
+    private final LoginRateLimiter limiter;
+
+    public LoginRateLimitHandler(LoginRateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        SocketAddress remoteAddress = ctx.request().remoteAddress();
+        String address = remoteAddress != null ? remoteAddress.hostAddress() : null;
+
+        if (limiter.tryAcquire(login(ctx), address)) {
+            ctx.next();
+            return;
+        }
+
+        ctx.response()
+                .setStatusCode(ErrorReason.TOO_MANY_REQUESTS.getStatusCode())
+                .putHeader("Content-Type", "application/json")
+                .putHeader("Retry-After", Long.toString(limiter.getRetryAfterSeconds()))
+                .end(new JsonObject()
+                        .put("error", ErrorReason.TOO_MANY_REQUESTS.getMessage())
+                        .encode());
+    }
+
+    private static String login(RoutingContext ctx) {
+        try {
+            JsonObject body = ctx.body().asJsonObject();
+            return body != null && body.getValue("login") instanceof String login ? login : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.handlers;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import org.example.exceptions.ErrorReason;
+
+/**
+ * Buffers the request body for the routes that read one, up to
+ * {@code maxBodyBytes}. A request that announces a larger
+ * {@code Content-Length} is answered with 413 before any of its body is
+ * read; a chunked body that grows past the limit is failed with 413 by the
+ * wrapped {@link BodyHandler}, which {@link #handleFailure} turns into the
+ * usual JSON error. File uploads are not accepted.
+ */
+public class RequestBodyHandler implements Handler<RoutingContext> {
+    private final long maxBodyBytes;
+    private final BodyHandler bodyHandler;
+
+    public RequestBodyHandler(long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+        this.bodyHandler = BodyHandler.create(false).setBodyLimit(maxBodyBytes);
+    }
+
+    @Override
+    public void handle(RoutingContext ctx) {
+        if (exceedsLimit(ctx, maxBodyBytes)) {
+            reject(ctx);
+            return;
+        }
+        bodyHandler.handle(ctx);
+    }
+
+    public long getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * Whether the announced {@code Content-Length} is above {@code maxBodyBytes};
+     * malformed lengths are left for the server to reject.
+     */
+    static boolean exceedsLimit(RoutingContext ctx, long maxBodyBytes) {
+        String contentLength = ctx.request().getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength == null) {
+            return false;
+        }
+        try {
+            return Long.parseLong(contentLength) > maxBodyBytes;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Answers 413. An HTTP/1.x connection is closed afterwards, so the rest of
+     * the body is never read.
+     */
+    static void reject(RoutingContext ctx) {
+        if (ctx.request().version() != HttpVersion.HTTP_2) {
+            ctx.response().putHeader(HttpHeaders.CONNECTION, HttpHeaders.CLOSE);
+        }
+        ctx.response()
+                .setStatusCode(ErrorReason.PAYLOAD_TOO_LARGE.getStatusCode())
+                .putHeader("Content-Type", "application/json")
+                .end(new JsonObject()
+                        .put("error", ErrorReason.PAYLOAD_TOO_LARGE.getMessage())
+                        .encode());
+    }
+
+    public static void handleFailure(RoutingContext ctx) {
+        if (ctx.statusCode() == ErrorReason.PAYLOAD_TOO_LARGE.getStatusCode() && !ctx.response().headWritten()) {
+            reject(ctx);
+        } else {
+            ctx.next();
+        }
+    }
+}
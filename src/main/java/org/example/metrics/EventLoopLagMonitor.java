@@ -0,0 +1,53 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Vertx;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how late timers fire on the event loop it is started on. A timer
+ * is scheduled every {@code intervalMillis}; the difference between when it
+ * was due and when it ran is time the loop spent busy with other work, and
+ * is recorded as {@code vertx.eventloop.lag}.
+ */
+public class EventLoopLagMonitor {
+    private final Vertx vertx;
+    private final long intervalMillis;
+    private final Timer lag;
+    private volatile boolean stopped;
+    private long timerId = -1;
+
+    /**
+     * Must be created on the event loop to monitor; the meter is tagged with
+     * that loop's thread name.
+     */
+    public EventLoopLagMonitor(Vertx vertx, MeterRegistry registry, long intervalMillis) {
+        this.vertx = vertx;
+        this.intervalMillis = intervalMillis;
+        this.lag = Timer.builder("vertx.eventloop.lag")
+                .tag("event_loop", Thread.currentThread().getName())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void start() {
+        schedule(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervalMillis));
+    }
+
+    public void stop() {
+        stopped = true;
+        vertx.cancelTimer(timerId);
+    }
+
+    private void schedule(long dueNanos) {
+        timerId = vertx.setTimer(intervalMillis, id -> {
+            long now = System.nanoTime();
+            lag.record(Math.max(0, now - dueNanos), TimeUnit.NANOSECONDS);
+            if (!stopped) {
+                schedule(now + TimeUnit.MILLISECONDS.toNanos(intervalMillis));
+            }
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.services.ItemChangeFeed;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exposes the open connections and delivered events of one verticle
+ * instance's {@link ItemChangeFeed}. Every instance has its own feed, so the
+ * meters are tagged with an instance number.
+ */
+public class ItemChangeFeedMetrics implements MeterBinder {
+    private static final AtomicInteger instances = new AtomicInteger();
+
+    private final ItemChangeFeed feed;
+    private final Tags tags;
+
+    public ItemChangeFeedMetrics(ItemChangeFeed feed) {
+        this.feed = feed;
+        this.tags = Tags.of(Tag.of("instance", Integer.toString(instances.getAndIncrement())));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("item_change_feed.subscribers", feed, ItemChangeFeed::getSubscriberCount)
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("item_change_feed.delivered", feed, ItemChangeFeed::getDeliveredCount)
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("item_change_feed.resets", feed, ItemChangeFeed::getResetCount)
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.services.ItemListCache;
+
+/**
+ * Exposes the hit, miss and eviction statistics of the {@link ItemListCache}.
+ */
+public class ItemListCacheMetrics implements MeterBinder {
+    private final ItemListCache cache;
+
+    public ItemListCacheMetrics(ItemListCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("item_list_cache.requests", cache, c -> c.getStats().hitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("item_list_cache.requests", cache, c -> c.getStats().missCount())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("item_list_cache.evictions", cache, c -> c.getStats().evictionCount())
+                .register(registry);
+        Gauge.builder("item_list_cache.size", cache, ItemListCache::getEstimatedSize)
+                .register(registry);
+    }
+}
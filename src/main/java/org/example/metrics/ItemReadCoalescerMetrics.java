@@ -0,0 +1,32 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.services.ItemReadCoalescer;
+
+/**
+ * Exposes how many item list loads were run and how many requests joined a
+ * load already in flight, for the {@link ItemReadCoalescer} shared by all
+ * verticle instances.
+ */
+public class ItemReadCoalescerMetrics implements MeterBinder {
+    private final ItemReadCoalescer coalescer;
+
+    public ItemReadCoalescerMetrics(ItemReadCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("item_read_coalescer.leaders", coalescer, ItemReadCoalescer::getLeaderCount)
+                .register(registry);
+        FunctionCounter.builder("item_read_coalescer.coalesced", coalescer, ItemReadCoalescer::getCoalescedCount)
+                .register(registry);
+        FunctionCounter.builder("item_read_coalescer.oversized", coalescer, ItemReadCoalescer::getOversizedCount)
+                .register(registry);
+        Gauge.builder("item_read_coalescer.in_flight", coalescer, ItemReadCoalescer::getInFlightCount)
+                .register(registry);
+    }
+}
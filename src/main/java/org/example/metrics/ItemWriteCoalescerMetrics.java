@@ -0,0 +1,53 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.repositories.ItemWriteCoalescer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exposes the flush and wait statistics and the batch size distribution of
+ * one verticle instance's {@link ItemWriteCoalescer}. Every instance has its own coalescer, so the
+ * meters are tagged with an instance number.
+ */
+public class ItemWriteCoalescerMetrics implements MeterBinder {
+    private static final AtomicInteger instances = new AtomicInteger();
+
+    private final ItemWriteCoalescer coalescer;
+    private final Tags tags;
+
+    public ItemWriteCoalescerMetrics(ItemWriteCoalescer coalescer) {
+        this.coalescer = coalescer;
+        this.tags = Tags.of(Tag.of("instance", Integer.toString(instances.getAndIncrement())));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("item_write_coalescer.flushes", coalescer, ItemWriteCoalescer::getFlushCount)
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("item_write_coalescer.writes", coalescer, ItemWriteCoalescer::getWriteCount)
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("item_write_coalescer.wait.avg", coalescer, ItemWriteCoalescer::getAverageWaitMicros)
+                .tags(tags)
+                .baseUnit("microseconds")
+                .register(registry);
+        Gauge.builder("item_write_coalescer.wait.max", coalescer, ItemWriteCoalescer::getMaxWaitMicros)
+                .tags(tags)
+                .baseUnit("microseconds")
+                .register(registry);
+        DistributionSummary batchSize = DistributionSummary.builder("item_write_coalescer.batch_size")
+                .tags(tags)
+                .baseUnit("items")
+                .publishPercentileHistogram()
+                .register(registry);
+        coalescer.setBatchSizeListener(batchSize::record);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.services.LoginRateLimiter;
+
+/**
+ * Exposes how many login attempts the {@link LoginRateLimiter} refused.
+ */
+public class LoginRateLimiterMetrics implements MeterBinder {
+    private final LoginRateLimiter limiter;
+
+    public LoginRateLimiterMetrics(LoginRateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("login.rate_limited", limiter, LoginRateLimiter::getRejectedCount)
+                .description("Login attempts refused with 429")
+                .register(registry);
+    }
+}
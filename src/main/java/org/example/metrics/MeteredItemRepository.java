@@ -0,0 +1,100 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.example.exceptions.ErrorReason;
+import org.example.models.Item;
+import org.example.repositories.ItemRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records the latency of every {@link ItemRepository} operation as
+ * {@code repository.operation} timers. Streamed listings are timed until the
+ * stream ends.
+ */
+public class MeteredItemRepository implements ItemRepository {
+    private static final String METRIC = "repository.operation";
+    private static final String COMPONENT = "items";
+
+    private final ItemRepository delegate;
+    private final OperationTimer save;
+    private final OperationTimer saveAll;
+    private final OperationTimer findByOwner;
+    private final OperationTimer findById;
+    private final OperationTimer update;
+    private final OperationTimer delete;
+    private final OperationTimer findPageByOwner;
+    private final OperationTimer findChangedSince;
+    private final OperationTimer streamListing;
+
+    public MeteredItemRepository(ItemRepository delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.save = new OperationTimer(registry, METRIC, COMPONENT, "save");
+        this.saveAll = new OperationTimer(registry, METRIC, COMPONENT, "save_all");
+        this.findByOwner = new OperationTimer(registry, METRIC, COMPONENT, "find_by_owner");
+        this.findById = new OperationTimer(registry, METRIC, COMPONENT, "find_by_id");
+        this.update = new OperationTimer(registry, METRIC, COMPONENT, "update");
+        this.delete = new OperationTimer(registry, METRIC, COMPONENT, "delete");
+        this.findPageByOwner = new OperationTimer(registry, METRIC, COMPONENT, "find_page_by_owner");
+        this.findChangedSince = new OperationTimer(registry, METRIC, COMPONENT, "find_changed_since");
+        this.streamListing = new OperationTimer(registry, METRIC, COMPONENT, "stream_listing");
+    }
+
+    @Override
+    public Future<String> save(Item item) {
+        long start = System.nanoTime();
+        return save.record(delegate.save(item), start);
+    }
+
+    @Override
+    public Future<List<ErrorReason>> saveAll(List<Item> items, int chunkSize) {
+        long start = System.nanoTime();
+        return saveAll.record(delegate.saveAll(items, chunkSize), start);
+    }
+
+    @Override
+    public Future<List<Item>> findByOwner(UUID ownerId) {
+        long start = System.nanoTime();
+        return findByOwner.record(delegate.findByOwner(ownerId), start);
+    }
+
+    @Override
+    public Future<Item> findById(UUID ownerId, UUID itemId) {
+        long start = System.nanoTime();
+        return findById.record(delegate.findById(ownerId, itemId), start);
+    }
+
+    @Override
+    public Future<Item> update(UUID ownerId, UUID itemId, String title, Long seq, Long expectedVersion) {
+        long start = System.nanoTime();
+        return update.record(delegate.update(ownerId, itemId, title, seq, expectedVersion), start);
+    }
+
+    @Override
+    public Future<Item> delete(UUID ownerId, UUID itemId, Long seq, Long expectedVersion, Instant expiresAt) {
+        long start = System.nanoTime();
+        return delete.record(delegate.delete(ownerId, itemId, seq, expectedVersion, expiresAt), start);
+    }
+
+    @Override
+    public Future<List<Item>> findPageByOwner(UUID ownerId, UUID after, int limit) {
+        long start = System.nanoTime();
+        return findPageByOwner.record(delegate.findPageByOwner(ownerId, after, limit), start);
+    }
+
+    @Override
+    public Future<List<Item>> findChangedSince(UUID ownerId, long since, int limit) {
+        long start = System.nanoTime();
+        return findChangedSince.record(delegate.findChangedSince(ownerId, since, limit), start);
+    }
+
+    @Override
+    public ReadStream<Buffer> streamListingJson(UUID ownerId) {
+        return new TimedReadStream<>(delegate.streamListingJson(ownerId), streamListing);
+    }
+}
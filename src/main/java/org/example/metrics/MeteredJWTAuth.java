@@ -0,0 +1,69 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.jwt.JWTAuth;
+
+/**
+ * Records how long token signing and verification take, as
+ * {@code jwt.operation} timers. Verification failures (expired or forged
+ * tokens) are recorded with the {@code failure} outcome.
+ */
+public class MeteredJWTAuth implements JWTAuth {
+    private static final String METRIC = "jwt.operation";
+    private static final String COMPONENT = "jwt";
+
+    private final JWTAuth delegate;
+    private final OperationTimer generate;
+    private final OperationTimer verify;
+
+    public MeteredJWTAuth(JWTAuth delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.generate = new OperationTimer(registry, METRIC, COMPONENT, "generate");
+        this.verify = new OperationTimer(registry, METRIC, COMPONENT, "verify");
+    }
+
+    @Override
+    public String generateToken(JsonObject claims, JWTOptions options) {
+        long start = System.nanoTime();
+        String token = delegate.generateToken(claims, options);
+        generate.record(true, start);
+        return token;
+    }
+
+    @Override
+    public String generateToken(JsonObject claims) {
+        long start = System.nanoTime();
+        String token = delegate.generateToken(claims);
+        generate.record(true, start);
+        return token;
+    }
+
+    @Override
+    public void authenticate(JsonObject credentials, Handler<AsyncResult<User>> resultHandler) {
+        authenticate(credentials).onComplete(resultHandler);
+    }
+
+    @Override
+    public Future<User> authenticate(JsonObject credentials) {
+        long start = System.nanoTime();
+        return verify.record(delegate.authenticate(credentials), start);
+    }
+
+    @Override
+    public void authenticate(Credentials credentials, Handler<AsyncResult<User>> resultHandler) {
+        authenticate(credentials).onComplete(resultHandler);
+    }
+
+    @Override
+    public Future<User> authenticate(Credentials credentials) {
+        long start = System.nanoTime();
+        return verify.record(delegate.authenticate(credentials), start);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import org.example.models.User;
+import org.example.repositories.UserRepository;
+
+import java.util.UUID;
+
+/**
+ * Records the latency of every {@link UserRepository} operation as
+ * {@code repository.operation} timers.
+ */
+public class MeteredUserRepository implements UserRepository {
+    private static final String METRIC = "repository.operation";
+    private static final String COMPONENT = "users";
+
+    private final UserRepository delegate;
+    private final OperationTimer save;
+    private final OperationTimer findByLogin;
+    private final OperationTimer existsByLogin;
+    private final OperationTimer updatePassword;
+
+    public MeteredUserRepository(UserRepository delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.save = new OperationTimer(registry, METRIC, COMPONENT, "save");
+        this.findByLogin = new OperationTimer(registry, METRIC, COMPONENT, "find_by_login");
+        this.existsByLogin = new OperationTimer(registry, METRIC, COMPONENT, "exists_by_login");
+        this.updatePassword = new OperationTimer(registry, METRIC, COMPONENT, "update_password");
+    }
+
+    @Override
+    public Future<String> save(User user) {
+        long start = System.nanoTime();
+        return save.record(delegate.save(user), start);
+    }
+
+    @Override
+    public Future<User> findByLogin(String login) {
+        long start = System.nanoTime();
+        return findByLogin.record(delegate.findByLogin(login), start);
+    }
+
+    @Override
+    public Future<Boolean> existsByLogin(String login) {
+        long start = System.nanoTime();
+        return existsByLogin.record(delegate.existsByLogin(login), start);
+    }
+
+    @Override
+    public Future<Boolean> updatePassword(UUID userId, String currentHash, String newHash) {
+        long start = System.nanoTime();
+        return updatePassword.record(delegate.updatePassword(userId, currentHash, newHash), start);
+    }
+}
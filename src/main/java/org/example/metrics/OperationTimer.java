@@ -0,0 +1,40 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms of one operation, split by outcome. Both timers are
+ * registered up front, so recording only looks up a field and never builds
+ * tags on the hot path.
+ */
+final class OperationTimer {
+    private final Timer success;
+    private final Timer failure;
+
+    OperationTimer(MeterRegistry registry, String name, String component, String operation) {
+        this.success = timer(registry, name, component, operation, "success");
+        this.failure = timer(registry, name, component, operation, "failure");
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String component, String operation,
+                               String outcome) {
+        return Timer.builder(name)
+                .tag("component", component)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    <T> Future<T> record(Future<T> future, long startNanos) {
+        return future.onComplete(ar -> record(ar.succeeded(), startNanos));
+    }
+
+    void record(boolean succeeded, long startNanos) {
+        (succeeded ? success : failure).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
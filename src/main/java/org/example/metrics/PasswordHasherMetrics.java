@@ -0,0 +1,43 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.services.PasswordHasher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the counters a {@link PasswordHasher} already keeps. Nothing is
+ * recorded per hash; the values are read when the registry is scraped.
+ */
+public class PasswordHasherMetrics implements MeterBinder {
+    private final PasswordHasher hasher;
+
+    public PasswordHasherMetrics(PasswordHasher hasher) {
+        this.hasher = hasher;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("password_hashing.duration", hasher,
+                        PasswordHasher::getCompletedCount, PasswordHasher::getTotalLatencyNanos,
+                        TimeUnit.NANOSECONDS)
+                .description("Time spent in BCrypt per hash or verification")
+                .register(registry);
+        Gauge.builder("password_hashing.duration.max", hasher, PasswordHasher::getMaxLatencyMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("password_hashing.queue.depth", hasher, PasswordHasher::getQueueDepth)
+                .register(registry);
+        FunctionCounter.builder("password_hashing.rejected", hasher, PasswordHasher::getRejectedCount)
+                .description("Tasks rejected because the queue was full")
+                .register(registry);
+        FunctionCounter.builder("password_hashing.unknown_user.skipped", hasher,
+                        PasswordHasher::getDummySkippedCount)
+                .description("Unknown-login verifications answered without hashing")
+                .register(registry);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.metrics;
+
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Passes a stream through unchanged and records the time from its creation
+ * until it ends or fails. Only the first of the two is recorded.
+ */
+final class TimedReadStream<T> implements ReadStream<T> {
+    private final ReadStream<T> source;
+    private final OperationTimer timer;
+    private final long startNanos = System.nanoTime();
+    private boolean recorded;
+
+    TimedReadStream(ReadStream<T> source, OperationTimer timer) {
+        this.source = source;
+        this.timer = timer;
+    }
+
+    @Override
+    public ReadStream<T> exceptionHandler(Handler<Throwable> handler) {
+        source.exceptionHandler(err -> {
+            record(false);
+            if (handler != null) {
+                handler.handle(err);
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> handler(Handler<T> handler) {
+        source.handler(handler);
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> pause() {
+        source.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> resume() {
+        source.resume();
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> fetch(long amount) {
+        source.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public ReadStream<T> endHandler(Handler<Void> endHandler) {
+        source.endHandler(v -> {
+            record(true);
+            if (endHandler != null) {
+                endHandler.handle(v);
+            }
+        });
+        return this;
+    }
+
+    private void record(boolean succeeded) {
+        if (!recorded) {
+            recorded = true;
+            timer.record(succeeded, startNanos);
+        }
+    }
+}
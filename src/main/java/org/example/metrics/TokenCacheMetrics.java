@@ -0,0 +1,31 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.services.CachingJWTAuth;
+
+/**
+ * Exposes the hit and miss counts of the verified-token cache; the hit rate
+ * is {@code hit / (hit + miss)} of {@code token_cache.requests}.
+ */
+public class TokenCacheMetrics implements MeterBinder {
+    private final CachingJWTAuth cache;
+
+    public TokenCacheMetrics(CachingJWTAuth cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("token_cache.requests", cache, c -> c.getStats().hitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("token_cache.requests", cache, c -> c.getStats().missCount())
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("token_cache.size", cache, CachingJWTAuth::getEstimatedSize)
+                .register(registry);
+    }
+}
@@ -11,9 +11,13 @@ public class Item {
     private UUID id = UUID.randomUUID();
     private UUID owner;
     private String title;
+    private Long seq;
+    private Long version;
+    private boolean deleted;
 
     public Item(UUID owner, String title) {
         this.owner = owner;
         this.title = title;
+        this.version = 1L;
     }
 }
\ No newline at end of file
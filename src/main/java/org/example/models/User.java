@@ -1,6 +1,5 @@
 package org.example.models;
 
-import at.favre.lib.crypto.bcrypt.BCrypt;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -13,12 +12,8 @@ public class User {
     private String login;
     private String password;
 
-    public User(String login, String password) {
+    public User(String login, String passwordHash) {
         this.login = login;
-        this.password = BCrypt.withDefaults().hashToString(12, password.toCharArray());
-    }
-
-    public boolean checkPassword(String password) {
-        return BCrypt.verifyer().verify(password.toCharArray(), this.password).verified;
+        this.password = passwordHash;
     }
 }
\ No newline at end of file
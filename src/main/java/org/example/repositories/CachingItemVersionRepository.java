@@ -0,0 +1,57 @@
+package org.example.repositories;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.vertx.core.Future;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Serves versions from memory and only asks the wrapped repository on a
+ * miss. Reservations go to the wrapped repository and the version they
+ * return is kept; a cached version never moves backwards, so a slow read
+ * cannot overwrite a newer reservation. Sequence horizons are not cached.
+ *
+ * <p>The cache is meant to be shared by all verticle instances of one
+ * process. Bumps made by other processes only become visible once the
+ * entry expires, which bounds how long they may answer with a stale version.
+ */
+public class CachingItemVersionRepository implements ItemVersionRepository {
+    private final ItemVersionRepository delegate;
+    private final Cache<UUID, Long> versions;
+
+    public CachingItemVersionRepository(ItemVersionRepository delegate, Cache<UUID, Long> versions) {
+        this.delegate = delegate;
+        this.versions = versions;
+    }
+
+    @Override
+    public Future<Long> findVersion(UUID owner) {
+        Long cached = owner != null ? versions.getIfPresent(owner) : null;
+        if (cached != null) {
+            return Future.succeededFuture(cached);
+        }
+        return delegate.findVersion(owner)
+                .map(version -> remember(owner, version));
+    }
+
+    @Override
+    public Future<Reservation> reserveSequence(UUID owner, int count) {
+        return delegate.reserveSequence(owner, count)
+                .onSuccess(reservation -> remember(owner, reservation.version()))
+                .onFailure(err -> {
+                    if (owner != null) {
+                        versions.invalidate(owner);
+                    }
+                });
+    }
+
+    @Override
+    public Future<SequenceHorizon> findSequenceHorizon(UUID owner, Instant before) {
+        return delegate.findSequenceHorizon(owner, before);
+    }
+
+    private long remember(UUID owner, long version) {
+        return versions.asMap().merge(owner, version, Math::max);
+    }
+}
@@ -0,0 +1,558 @@
+package org.example.repositories;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.models.Item;
+import org.example.streams.BufferReadStream;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@link ItemRepository} keeping items in memory, for edge caches, local
+ * development and benchmarks; contents are lost on restart. Items are grouped
+ * by owner in a {@link UuidMap}. Each owner's items are an immutable snapshot,
+ * replaced as a whole on every write, so reads never lock. A snapshot is two
+ * segments of parallel arrays sorted by id: a large base and a small segment
+ * of recent writes whose entries override the base's. A write only copies the
+ * recent segment, which is merged into the base once it outgrows the square
+ * root of the base's size, so loading an owner's items one by one does not
+ * copy all of them on every write. The JSON listing of a snapshot is encoded
+ * once and then shared by every read until the next write. Segments also
+ * keep their entries in sequence order, so a delta sync finds its first
+ * change by binary search, and their highest sequence, so a sync with
+ * nothing new returns at once.
+ */
+public class InMemoryItemRepository implements ItemRepository {
+    private static final Comparator<Item> BY_ID = (a, b) -> compare(
+            a.getId().getMostSignificantBits(), a.getId().getLeastSignificantBits(),
+            b.getId().getMostSignificantBits(), b.getId().getLeastSignificantBits());
+
+    private static final long LIVE = 0;
+    // Passed as the current time to merges that must not drop any tombstone
+    private static final long NEVER = Long.MIN_VALUE;
+    private static final int MIN_RECENT_SIZE = 64;
+
+    private final UuidMap<OwnerItems> owners = new UuidMap<>();
+
+    @Override
+    public Future<String> save(Item item) {
+        if (item == null || item.getId() == null || item.getOwner() == null) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        ownerItems(item.getOwner()).add(List.of(item));
+        return Future.succeededFuture(item.getId().toString());
+    }
+
+    /**
+     * Stores all items at once; {@code chunkSize} only bounds writes to
+     * MongoDB and is ignored here.
+     */
+    @Override
+    public Future<List<ErrorReason>> saveAll(List<Item> items, int chunkSize) {
+        if (items == null || chunkSize < 1) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        Map<UUID, List<Item>> byOwner = new LinkedHashMap<>();
+        List<ErrorReason> results = new ArrayList<>(items.size());
+        for (Item item : items) {
+            if (item == null || item.getId() == null || item.getOwner() == null) {
+                results.add(ErrorReason.INVALID_REQUEST);
+                continue;
+            }
+            byOwner.computeIfAbsent(item.getOwner(), owner -> new ArrayList<>()).add(item);
+            results.add(null);
+        }
+        byOwner.forEach((owner, ownerItems) -> ownerItems(owner).add(ownerItems));
+        return Future.succeededFuture(results);
+    }
+
+    @Override
+    public Future<List<Item>> findByOwner(UUID ownerId) {
+        if (ownerId == null) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        return Future.succeededFuture(snapshot(ownerId).live(ownerId, null, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public Future<Item> findById(UUID ownerId, UUID itemId) {
+        if (ownerId == null || itemId == null) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        return Future.succeededFuture(snapshot(ownerId).find(ownerId, itemId));
+    }
+
+    @Override
+    public Future<Item> update(UUID ownerId, UUID itemId, String title, Long seq, Long expectedVersion) {
+        if (ownerId == null || itemId == null || title == null) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        return change(ownerId, itemId, title, seq, expectedVersion, LIVE);
+    }
+
+    @Override
+    public Future<Item> delete(UUID ownerId, UUID itemId, Long seq, Long expectedVersion, Instant expiresAt) {
+        if (ownerId == null || itemId == null || expiresAt == null) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        return change(ownerId, itemId, null, seq, expectedVersion, expiresAt.toEpochMilli());
+    }
+
+    private Future<Item> change(UUID ownerId, UUID itemId, String title, Long seq, Long expectedVersion,
+                                long expiresAt) {
+        OwnerItems ownerItems = owners.get(ownerId.getMostSignificantBits(), ownerId.getLeastSignificantBits());
+        if (ownerItems == null) {
+            return Future.succeededFuture();
+        }
+        try {
+            return Future.succeededFuture(ownerItems.change(ownerId, itemId, title, seq, expectedVersion, expiresAt));
+        } catch (ApiException e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    @Override
+    public Future<List<Item>> findPageByOwner(UUID ownerId, UUID after, int limit) {
+        if (ownerId == null || limit < 1) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        return Future.succeededFuture(snapshot(ownerId).live(ownerId, after, limit));
+    }
+
+    @Override
+    public Future<List<Item>> findChangedSince(UUID ownerId, long since, int limit) {
+        if (ownerId == null || limit < 1) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        return Future.succeededFuture(snapshot(ownerId).changedSince(ownerId, since, limit));
+    }
+
+    @Override
+    public ReadStream<Buffer> streamListingJson(UUID ownerId) {
+        if (ownerId == null) {
+            throw new ApiException(ErrorReason.INVALID_REQUEST);
+        }
+        return new BufferReadStream(snapshot(ownerId).listing());
+    }
+
+    private OwnerItems ownerItems(UUID ownerId) {
+        return owners.computeIfAbsent(ownerId.getMostSignificantBits(), ownerId.getLeastSignificantBits(),
+                OwnerItems::new);
+    }
+
+    private Snapshot snapshot(UUID ownerId) {
+        OwnerItems ownerItems = owners.get(ownerId.getMostSignificantBits(), ownerId.getLeastSignificantBits());
+        return ownerItems != null ? ownerItems.snapshot : Snapshot.EMPTY;
+    }
+
+    private static int compare(long mostSigBits, long leastSigBits, long otherMostSigBits, long otherLeastSigBits) {
+        int result = Long.compareUnsigned(mostSigBits, otherMostSigBits);
+        return result != 0 ? result : Long.compareUnsigned(leastSigBits, otherLeastSigBits);
+    }
+
+    private static final class OwnerItems {
+        private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+        synchronized void add(List<Item> items) {
+            Snapshot current = snapshot;
+            publish(current.base, Segment.merge(current.recent, Segment.of(items), NEVER));
+        }
+
+        /**
+         * Replaces the title, sequence and expiry of a live item and bumps
+         * its version; returns the changed item, or {@code null} when there
+         * is no such live item.
+         */
+        synchronized Item change(UUID ownerId, UUID itemId, String title, Long seq, Long expectedVersion,
+                                 long expiresAt) {
+            Snapshot current = snapshot;
+            Segment segment = current.recent;
+            int index = segment.indexOf(itemId.getMostSignificantBits(), itemId.getLeastSignificantBits());
+            if (index < 0) {
+                segment = current.base;
+                index = segment.indexOf(itemId.getMostSignificantBits(), itemId.getLeastSignificantBits());
+            }
+            if (index < 0 || !segment.isLive(index)) {
+                return null;
+            }
+            if (expectedVersion != null && segment.versions[index] != expectedVersion) {
+                throw new ApiException(ErrorReason.VERSION_CONFLICT);
+            }
+            Segment changed = Segment.single(itemId.getMostSignificantBits(), itemId.getLeastSignificantBits(),
+                    title, seq != null ? seq : segment.seqs[index], segment.versions[index] + 1, expiresAt);
+            publish(current.base, Segment.merge(current.recent, changed, NEVER));
+            return changed.item(ownerId, 0);
+        }
+
+        /**
+         * Folds the recent writes into the base once they outgrow it, or
+         * once a tombstone is due, dropping the expired tombstones.
+         */
+        private void publish(Segment base, Segment recent) {
+            long now = System.currentTimeMillis();
+            int recentLimit = Math.max(MIN_RECENT_SIZE, (int) Math.sqrt(base.size));
+            if (recent.size > recentLimit || Math.min(base.earliestExpiry, recent.earliestExpiry) <= now) {
+                snapshot = new Snapshot(Segment.merge(base, recent, now), Segment.EMPTY);
+            } else {
+                snapshot = new Snapshot(base, recent);
+            }
+        }
+    }
+
+    /**
+     * One owner's items as of a write: the base segment with the recent one
+     * laid over it.
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Segment.EMPTY, Segment.EMPTY);
+
+        private final Segment base;
+        private final Segment recent;
+        private volatile Buffer listing;
+
+        Snapshot(Segment base, Segment recent) {
+            this.base = base;
+            this.recent = recent;
+        }
+
+        Item find(UUID ownerId, UUID id) {
+            long msb = id.getMostSignificantBits();
+            long lsb = id.getLeastSignificantBits();
+            int index = recent.indexOf(msb, lsb);
+            if (index >= 0) {
+                return recent.isLive(index) ? recent.item(ownerId, index) : null;
+            }
+            index = base.indexOf(msb, lsb);
+            return index >= 0 && base.isLive(index) ? base.item(ownerId, index) : null;
+        }
+
+        /**
+         * Returns at most {@code limit} live items with an id greater than
+         * {@code after}, or from the first one without it.
+         */
+        List<Item> live(UUID ownerId, UUID after, int limit) {
+            List<Item> items = new ArrayList<>(Math.min(limit, base.size + recent.size));
+            forEachLive(after, (segment, index) -> {
+                items.add(segment.item(ownerId, index));
+                return items.size() < limit;
+            });
+            return items;
+        }
+
+        /**
+         * Visits the live items in id order, where a recent entry hides the
+         * base entry with the same id, until the visitor returns false.
+         */
+        private void forEachLive(UUID after, EntryVisitor visitor) {
+            int i = after == null ? 0 : base.indexAfter(after);
+            int j = after == null ? 0 : recent.indexAfter(after);
+            while (i < base.size || j < recent.size) {
+                int order = i == base.size ? 1 : j == recent.size ? -1 : compare(
+                        base.idMostSigBits[i], base.idLeastSigBits[i],
+                        recent.idMostSigBits[j], recent.idLeastSigBits[j]);
+                Segment segment;
+                int index;
+                if (order < 0) {
+                    segment = base;
+                    index = i++;
+                } else {
+                    if (order == 0) {
+                        i++;
+                    }
+                    segment = recent;
+                    index = j++;
+                }
+                if (segment.isLive(index) && !visitor.visit(segment, index)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Walks both segments' sequence orders from the first entry after
+         * {@code since}, skipping base entries a recent one replaced; the
+         * highest sequence answers the common case of no change.
+         */
+        List<Item> changedSince(UUID ownerId, long since, int limit) {
+            if (since >= Math.max(base.maxSeq, recent.maxSeq)) {
+                return Collections.emptyList();
+            }
+            List<Item> changed = new ArrayList<>(Math.min(limit, 64));
+            int a = base.firstSeqAfter(since);
+            int b = recent.firstSeqAfter(since);
+            while (changed.size() < limit && (a < base.seqCount || b < recent.seqCount)) {
+                boolean fromBase = b == recent.seqCount
+                        || a < base.seqCount && base.seqAt(a) <= recent.seqAt(b);
+                if (fromBase) {
+                    int index = base.bySeq[a++];
+                    if (recent.indexOf(base.idMostSigBits[index], base.idLeastSigBits[index]) < 0) {
+                        changed.add(base.item(ownerId, index));
+                    }
+                } else {
+                    changed.add(recent.item(ownerId, recent.bySeq[b++]));
+                }
+            }
+            return changed;
+        }
+
+        Buffer listing() {
+            Buffer encoded = listing;
+            if (encoded == null) {
+                ByteBuf out = Unpooled.buffer(2 + Math.min(base.size + recent.size, 1 << 20) * 64);
+                out.writeByte('[');
+                forEachLive(null, (segment, index) -> {
+                    if (out.writerIndex() > 1) {
+                        out.writeByte(',');
+                    }
+                    ItemJsonWriter.writeItem(segment.idMostSigBits[index], segment.idLeastSigBits[index],
+                            segment.titles[index], out);
+                    return true;
+                });
+                out.writeByte(']');
+                // One copy per snapshot; Vert.x no longer offers wrapping a ByteBuf as public API.
+                encoded = Buffer.buffer(out.readableBytes())
+                        .appendBytes(out.array(), out.arrayOffset() + out.readerIndex(), out.readableBytes());
+                listing = encoded;
+            }
+            return encoded;
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntryVisitor {
+        boolean visit(Segment segment, int index);
+    }
+
+    /**
+     * Items as parallel arrays sorted by id, filled once when the segment is
+     * built. Tombstones keep their place with a {@code null} title and the
+     * time they expire at; they are dropped by the first merge into the base
+     * after that.
+     */
+    private static final class Segment {
+        static final Segment EMPTY = new Segment(0);
+
+        private final long[] idMostSigBits;
+        private final long[] idLeastSigBits;
+        private final String[] titles;
+        // 0 for items stored without a sequence
+        private final long[] seqs;
+        private final long[] versions;
+        // Epoch millis a tombstone expires at, LIVE for items
+        private final long[] expiresAt;
+        // Indices of the entries with a sequence, ordered by it
+        private final int[] bySeq;
+        private int size;
+        private int seqCount;
+        private long maxSeq;
+        private long earliestExpiry = Long.MAX_VALUE;
+
+        private Segment(int capacity) {
+            idMostSigBits = new long[capacity];
+            idLeastSigBits = new long[capacity];
+            titles = new String[capacity];
+            seqs = new long[capacity];
+            versions = new long[capacity];
+            expiresAt = new long[capacity];
+            bySeq = new int[capacity];
+        }
+
+        /**
+         * Builds a segment of the added items; of items sharing an id the
+         * last one wins.
+         */
+        static Segment of(List<Item> added) {
+            List<Item> sorted = new ArrayList<>(added);
+            sorted.sort(BY_ID);
+            Segment segment = new Segment(sorted.size());
+            for (int i = 0; i < sorted.size(); i++) {
+                Item item = sorted.get(i);
+                if (i + 1 < sorted.size() && BY_ID.compare(item, sorted.get(i + 1)) == 0) {
+                    continue;
+                }
+                segment.append(item.getId().getMostSignificantBits(), item.getId().getLeastSignificantBits(),
+                        item.getTitle(), item.getSeq() != null ? item.getSeq() : 0,
+                        item.getVersion() != null ? item.getVersion() : 0, LIVE);
+            }
+            Integer[] order = new Integer[segment.size];
+            int sequenced = 0;
+            for (int i = 0; i < segment.size; i++) {
+                if (segment.seqs[i] != 0) {
+                    order[sequenced++] = i;
+                }
+            }
+            Arrays.sort(order, 0, sequenced, Comparator.comparingLong(i -> segment.seqs[i]));
+            for (int i = 0; i < sequenced; i++) {
+                segment.bySeq[segment.seqCount++] = order[i];
+            }
+            return segment;
+        }
+
+        static Segment single(long msb, long lsb, String title, long seq, long version, long expiry) {
+            Segment segment = new Segment(1);
+            segment.append(msb, lsb, title, seq, version, expiry);
+            if (seq != 0) {
+                segment.bySeq[segment.seqCount++] = 0;
+            }
+            return segment;
+        }
+
+        /**
+         * Merges two segments into a new one, where an entry of
+         * {@code newer} replaces the entry of {@code older} with the same id,
+         * and drops the tombstones expired at {@code now}. The sequence
+         * order is merged from the two segments' orders, without sorting.
+         */
+        static Segment merge(Segment older, Segment newer, long now) {
+            Segment merged = new Segment(older.size + newer.size);
+            // Where each entry ended up in the merged segment, -1 if dropped
+            int[] olderAt = new int[older.size];
+            int[] newerAt = new int[newer.size];
+            int i = 0;
+            int j = 0;
+            while (i < older.size || j < newer.size) {
+                int order = i == older.size ? 1 : j == newer.size ? -1 : compare(
+                        older.idMostSigBits[i], older.idLeastSigBits[i],
+                        newer.idMostSigBits[j], newer.idLeastSigBits[j]);
+                if (order < 0) {
+                    olderAt[i] = merged.appendFrom(older, i, now);
+                    i++;
+                } else {
+                    if (order == 0) {
+                        olderAt[i++] = -1;
+                    }
+                    newerAt[j] = merged.appendFrom(newer, j, now);
+                    j++;
+                }
+            }
+
+            int a = 0;
+            int b = 0;
+            while (a < older.seqCount || b < newer.seqCount) {
+                boolean fromOlder = b == newer.seqCount
+                        || a < older.seqCount && older.seqAt(a) <= newer.seqAt(b);
+                int index = fromOlder ? olderAt[older.bySeq[a++]] : newerAt[newer.bySeq[b++]];
+                if (index >= 0) {
+                    merged.bySeq[merged.seqCount++] = index;
+                }
+            }
+            return merged;
+        }
+
+        /**
+         * Appends the entry unless it is a tombstone expired at {@code now};
+         * returns its index, or -1.
+         */
+        private int appendFrom(Segment source, int index, long now) {
+            long expiry = source.expiresAt[index];
+            if (expiry != LIVE && expiry <= now) {
+                return -1;
+            }
+            append(source.idMostSigBits[index], source.idLeastSigBits[index], source.titles[index],
+                    source.seqs[index], source.versions[index], expiry);
+            return size - 1;
+        }
+
+        private void append(long msb, long lsb, String title, long seq, long version, long expiry) {
+            idMostSigBits[size] = msb;
+            idLeastSigBits[size] = lsb;
+            titles[size] = title;
+            seqs[size] = seq;
+            versions[size] = version;
+            expiresAt[size] = expiry;
+            size++;
+            maxSeq = Math.max(maxSeq, seq);
+            if (expiry != LIVE) {
+                earliestExpiry = Math.min(earliestExpiry, expiry);
+            }
+        }
+
+        boolean isLive(int index) {
+            return expiresAt[index] == LIVE;
+        }
+
+        long seqAt(int position) {
+            return seqs[bySeq[position]];
+        }
+
+        /**
+         * Returns the position in the sequence order of the first entry with
+         * a sequence after {@code since}.
+         */
+        int firstSeqAfter(long since) {
+            int low = 0;
+            int high = seqCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (seqAt(mid) <= since) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the index of the first entry with an id greater than the
+         * given one.
+         */
+        int indexAfter(UUID after) {
+            return indexAfter(after.getMostSignificantBits(), after.getLeastSignificantBits());
+        }
+
+        private int indexAfter(long afterMsb, long afterLsb) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(idMostSigBits[mid], idLeastSigBits[mid], afterMsb, afterLsb) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the index of the entry with the given id, or -1.
+         */
+        int indexOf(long msb, long lsb) {
+            int index = indexAfter(msb, lsb) - 1;
+            return index >= 0 && idMostSigBits[index] == msb && idLeastSigBits[index] == lsb ? index : -1;
+        }
+
+        Item item(UUID ownerId, int index) {
+            Item item = new Item();
+            item.setId(new UUID(idMostSigBits[index], idLeastSigBits[index]));
+            item.setOwner(ownerId);
+            item.setTitle(titles[index]);
+            item.setSeq(seqs[index] != 0 ? seqs[index] : null);
+            item.setVersion(versions[index]);
+            item.setDeleted(!isLive(index));
+            return item;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.repositories;
+
+import io.vertx.core.Future;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * {@link ItemVersionRepository} keeping the versions in memory, next to
+ * {@link InMemoryItemRepository}; versions restart at 0 with the process.
+ */
+public class InMemoryItemVersionRepository implements ItemVersionRepository {
+    private static final int DAYS_KEPT = 40;
+
+    private final UuidMap<Counters> owners = new UuidMap<>();
+
+    @Override
+    public Future<Long> findVersion(UUID owner) {
+        if (owner == null) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        Counters counters = owners.get(owner.getMostSignificantBits(), owner.getLeastSignificantBits());
+        if (counters == null) {
+            return Future.succeededFuture(0L);
+        }
+        synchronized (counters) {
+            return Future.succeededFuture(counters.version);
+        }
+    }
+
+    @Override
+    public Future<Reservation> reserveSequence(UUID owner, int count) {
+        if (owner == null || count < 1) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        Counters counters = owners.computeIfAbsent(owner.getMostSignificantBits(),
+                owner.getLeastSignificantBits(), Counters::new);
+        long today = epochDay(Instant.now());
+        synchronized (counters) {
+            counters.sequence += count;
+            counters.version++;
+            counters.days.merge(today, (long) count, Long::sum);
+            counters.days.headMap(today - DAYS_KEPT).clear();
+            return Future.succeededFuture(new Reservation(counters.sequence, counters.version));
+        }
+    }
+
+    @Override
+    public Future<SequenceHorizon> findSequenceHorizon(UUID owner, Instant before) {
+        if (owner == null || before == null) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        Counters counters = owners.get(owner.getMostSignificantBits(), owner.getLeastSignificantBits());
+        if (counters == null) {
+            return Future.succeededFuture(new SequenceHorizon(0L, 0L));
+        }
+        synchronized (counters) {
+            long reservedAfter = counters.days.tailMap(epochDay(before), false).values().stream()
+                    .mapToLong(Long::longValue)
+                    .sum();
+            return Future.succeededFuture(new SequenceHorizon(counters.sequence - reservedAfter, counters.sequence));
+        }
+    }
+
+    private static long epochDay(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC).toEpochDay();
+    }
+
+    private static final class Counters {
+        private long version;
+        private long sequence;
+        private final TreeMap<Long, Long> days = new TreeMap<>();
+    }
+}
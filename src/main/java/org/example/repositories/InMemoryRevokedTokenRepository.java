@@ -0,0 +1,37 @@
+package org.example.repositories;
+
+import io.vertx.core.Future;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.models.RevokedToken;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * {@link RevokedTokenRepository} keeping revoked token ids in memory. Expired
+ * entries are dropped whenever the active tokens are listed.
+ */
+public class InMemoryRevokedTokenRepository implements RevokedTokenRepository {
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+
+    @Override
+    public Future<Void> save(RevokedToken token) {
+        if (token == null || token.getJti() == null) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        expiries.putIfAbsent(token.getJti(), token.getExpiresAt());
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<List<RevokedToken>> findActive(long nowSeconds) {
+        expiries.values().removeIf(expiresAt -> expiresAt <= nowSeconds);
+        return Future.succeededFuture(expiries.entrySet().stream()
+                .map(entry -> new RevokedToken(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList()));
+    }
+}
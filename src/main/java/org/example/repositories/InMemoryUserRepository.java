@@ -0,0 +1,72 @@
+package org.example.repositories;
+
+import io.vertx.core.Future;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.models.User;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link UserRepository} keeping users in memory, keyed by login. Logins are
+ * unique: saving a second user with the same login fails with
+ * {@link ErrorReason#USER_ALREADY_EXISTS}. Contents are lost on restart.
+ */
+public class InMemoryUserRepository implements UserRepository {
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+
+    @Override
+    public Future<String> save(User user) {
+        if (user == null || user.getLogin() == null) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        if (users.putIfAbsent(user.getLogin(), copy(user)) != null) {
+            return Future.failedFuture(new ApiException(ErrorReason.USER_ALREADY_EXISTS));
+        }
+        return Future.succeededFuture(user.getId().toString());
+    }
+
+    @Override
+    public Future<User> findByLogin(String login) {
+        if (login == null || login.trim().isEmpty()) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        User user = users.get(login);
+        return Future.succeededFuture(user != null ? copy(user) : null);
+    }
+
+    @Override
+    public Future<Boolean> existsByLogin(String login) {
+        if (login == null || login.trim().isEmpty()) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+        return Future.succeededFuture(users.containsKey(login));
+    }
+
+    @Override
+    public Future<Boolean> updatePassword(UUID userId, String currentHash, String newHash) {
+        if (userId == null || currentHash == null || newHash == null) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        for (Map.Entry<String, User> entry : users.entrySet()) {
+            User existing = entry.getValue();
+            if (userId.equals(existing.getId()) && currentHash.equals(existing.getPassword())) {
+                User updated = copy(existing);
+                updated.setPassword(newHash);
+                return Future.succeededFuture(users.replace(entry.getKey(), existing, updated));
+            }
+        }
+        return Future.succeededFuture(false);
+    }
+
+    private static User copy(User user) {
+        User copy = new User(user.getLogin(), user.getPassword());
+        copy.setId(user.getId());
+        return copy;
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.repositories;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.IndexOptions;
+import io.vertx.ext.mongo.MongoClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes the repositories rely on and verifies that existing
+ * indexes still match their expected definitions. Missing indexes are built;
+ * an index whose keys or options differ from the expected ones is reported as
+ * drift, which either fails startup or is only logged, depending on
+ * configuration.
+ */
+public class IndexManager {
+    private static final Logger logger = LoggerFactory.getLogger(IndexManager.class);
+
+    private static final List<IndexDefinition> EXPECTED_INDEXES = List.of(
+            new IndexDefinition("items", "owner_1__id_1",
+                    new JsonObject().put("owner", 1).put("_id", 1), false, false, null),
+            new IndexDefinition("items", "owner_1_seq_1",
+                    new JsonObject().put("owner", 1).put("seq", 1), false, false, null),
+            // Only tombstones have the field, so live items stay out of this index.
+            new IndexDefinition("items", "expires_at_1",
+                    new JsonObject().put("expires_at", 1), false, true, 0L),
+            new IndexDefinition("users", "login_1",
+                    new JsonObject().put("login", 1), true, false, null),
+            new IndexDefinition("revoked_tokens", "expires_at_1",
+                    new JsonObject().put("expires_at", 1), false, false, 0L)
+    );
+
+    private final MongoClient mongoClient;
+    private final boolean failOnDrift;
+
+    public IndexManager(MongoClient mongoClient, boolean failOnDrift) {
+        this.mongoClient = mongoClient;
+        this.failOnDrift = failOnDrift;
+    }
+
+    public Future<Void> ensureIndexes() {
+        Map<String, List<IndexDefinition>> byCollection = EXPECTED_INDEXES.stream()
+                .collect(Collectors.groupingBy(IndexDefinition::collection));
+
+        List<Future<Void>> futures = new ArrayList<>();
+        byCollection.forEach((collection, definitions) ->
+                futures.add(ensureCollectionIndexes(collection, definitions)));
+
+        return Future.all(futures)
+                .onSuccess(v -> logger.info("Verified {} indexes", EXPECTED_INDEXES.size()))
+                .mapEmpty();
+    }
+
+    private Future<Void> ensureCollectionIndexes(String collection, List<IndexDefinition> definitions) {
+        return mongoClient.listIndexes(collection)
+                .compose(existing -> {
+                    List<String> drift = new ArrayList<>();
+                    List<Future<Void>> created = new ArrayList<>();
+
+                    for (IndexDefinition definition : definitions) {
+                        JsonObject current = findByName(existing, definition.name());
+                        if (current == null) {
+                            logger.info("Creating index {} on {}", definition.name(), collection);
+                            created.add(mongoClient.createIndexWithOptions(collection, definition.keys(),
+                                    definition.options()));
+                        } else if (!definition.matches(current)) {
+                            drift.add(definition.name());
+                        }
+                    }
+                    reportUnexpected(collection, existing, definitions);
+
+                    if (!drift.isEmpty()) {
+                        String message = "Index drift on " + collection + ": " + drift;
+                        if (failOnDrift) {
+                            return Future.failedFuture(new IllegalStateException(message));
+                        }
+                        logger.warn(message);
+                    }
+                    return Future.all(created).<Void>mapEmpty();
+                });
+    }
+
+    private void reportUnexpected(String collection, JsonArray existing, List<IndexDefinition> definitions) {
+        for (int i = 0; i < existing.size(); i++) {
+            String name = existing.getJsonObject(i).getString("name");
+            boolean expected = "_id_".equals(name) || definitions.stream()
+                    .anyMatch(definition -> definition.name().equals(name));
+            if (!expected) {
+                logger.warn("Unexpected index {} on {}", name, collection);
+            }
+        }
+    }
+
+    private JsonObject findByName(JsonArray indexes, String name) {
+        for (int i = 0; i < indexes.size(); i++) {
+            JsonObject index = indexes.getJsonObject(i);
+            if (name.equals(index.getString("name"))) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Expected index; {@code expireAfterSeconds} is null unless the index is
+     * a TTL index.
+     */
+    private record IndexDefinition(String collection, String name, JsonObject keys, boolean unique,
+                                   boolean sparse, Long expireAfterSeconds) {
+        IndexOptions options() {
+            IndexOptions options = new IndexOptions()
+                    .name(name)
+                    .unique(unique)
+                    .sparse(sparse);
+            if (expireAfterSeconds != null) {
+                options.expireAfter(expireAfterSeconds, TimeUnit.SECONDS);
+            }
+            return options;
+        }
+
+        boolean matches(JsonObject index) {
+            JsonObject key = index.getJsonObject("key");
+            if (key == null || !List.copyOf(key.fieldNames()).equals(List.copyOf(keys.fieldNames()))) {
+                return false;
+            }
+            for (String field : keys.fieldNames()) {
+                if (key.getNumber(field).intValue() != keys.getInteger(field)) {
+                    return false;
+                }
+            }
+            Number expireAfter = index.getNumber("expireAfterSeconds");
+            boolean expiryMatches = expireAfterSeconds == null
+                    ? expireAfter == null
+                    : expireAfter != null && expireAfter.longValue() == expireAfterSeconds;
+            return unique == index.getBoolean("unique", false)
+                    && sparse == index.getBoolean("sparse", false)
+                    && expiryMatches;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.repositories;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes listed items as API JSON straight into a buffer, producing the same
+ * bytes as encoding {@code {"id": ..., "title": ...}} with a
+ * {@link JsonObject} but without the intermediate {@code Item},
+ * {@code JsonObject} and encoded {@code String}. Items come either as stored
+ * listing documents ({@code _id} and {@code title}, see
+ * {@link MongoItemRepository#streamListingDocuments}) or as the id bits and
+ * title held by {@link InMemoryItemRepository}.
+ */
+public final class ItemJsonWriter {
+    private static final byte[] ID_PREFIX = "{\"id\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TITLE_PREFIX = "\",\"title\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ESCAPE_HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private ItemJsonWriter() {
+    }
+
+    public static void writeListingDocument(JsonObject document, ByteBuf out) {
+        out.writeBytes(ID_PREFIX);
+        writeId(document.getValue("_id"), out);
+        out.writeBytes(TITLE_PREFIX);
+        writeString(document.getString("title"), out);
+        out.writeByte('}');
+    }
+
+    public static void writeItem(long idMostSigBits, long idLeastSigBits, String title, ByteBuf out) {
+        out.writeBytes(ID_PREFIX);
+        writeUuid(idMostSigBits, idLeastSigBits, out);
+        out.writeBytes(TITLE_PREFIX);
+        writeString(title, out);
+        out.writeByte('}');
+    }
+
+    /**
+     * Writes a stored id in its canonical text form, either as stored or
+     * formatted from the 16 bytes of its binary form.
+     */
+    private static void writeId(Object value, ByteBuf out) {
+        if (value instanceof String text) {
+            out.writeCharSequence(text, StandardCharsets.US_ASCII);
+            return;
+        }
+        if (value instanceof JsonObject binary && binary.containsKey("$binary")) {
+            byte[] bytes = binary.getBinary("$binary");
+            if (bytes.length == 16) {
+                writeUuid(bits(bytes, 0), bits(bytes, 8), out);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Not a UUID value: " + value);
+    }
+
+    private static long bits(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static void writeUuid(long mostSigBits, long leastSigBits, ByteBuf out) {
+        writeHex(mostSigBits >>> 32, 8, out);
+        out.writeByte('-');
+        writeHex(mostSigBits >>> 16, 4, out);
+        out.writeByte('-');
+        writeHex(mostSigBits, 4, out);
+        out.writeByte('-');
+        writeHex(leastSigBits >>> 48, 4, out);
+        out.writeByte('-');
+        writeHex(leastSigBits, 12, out);
+    }
+
+    private static void writeHex(long value, int digits, ByteBuf out) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            out.writeByte(HEX[(int) (value >>> shift) & 0xF]);
+        }
+    }
+
+    /**
+     * Writes a JSON string literal. Escapes the same characters as the
+     * Jackson encoder behind {@link JsonObject#encode()}: quotes, backslashes
+     * and control characters.
+     */
+    static void writeString(String value, ByteBuf out) {
+        if (value == null) {
+            out.writeBytes(NULL);
+            return;
+        }
+
+        out.writeByte('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            ByteBufUtil.writeUtf8(out, value, start, i);
+            writeEscape(c, out);
+            start = i + 1;
+        }
+        ByteBufUtil.writeUtf8(out, value, start, value.length());
+        out.writeByte('"');
+    }
+
+    private static void writeEscape(char c, ByteBuf out) {
+        out.writeByte('\\');
+        switch (c) {
+            case '"' -> out.writeByte('"');
+            case '\\' -> out.writeByte('\\');
+            case '\b' -> out.writeByte('b');
+            case '\f' -> out.writeByte('f');
+            case '\n' -> out.writeByte('n');
+            case '\r' -> out.writeByte('r');
+            case '\t' -> out.writeByte('t');
+            default -> {
+                out.writeByte('u');
+                out.writeByte('0');
+                out.writeByte('0');
+                out.writeByte(ESCAPE_HEX[(c >> 4) & 0xF]);
+                out.writeByte(ESCAPE_HEX[c & 0xF]);
+            }
+        }
+    }
+}
@@ -1,79 +1,76 @@
 package org.example.repositories;
 
 import io.vertx.core.Future;
-import io.vertx.core.json.JsonObject;
-import io.vertx.ext.mongo.MongoClient;
-import org.example.exceptions.ApiException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
 import org.example.exceptions.ErrorReason;
 import org.example.models.Item;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
-public class ItemRepository {
-    private static final Logger logger = LoggerFactory.getLogger(ItemRepository.class);
-    private final MongoClient mongoClient;
-    private static final String COLLECTION = "items";
+/**
+ * Storage of items. Every listing is ordered by item id, comparing ids as
+ * unsigned 128-bit numbers (which matches the order of their text form).
+ * Deleted items are kept as tombstones until they expire, so that delta
+ * syncs can report them; every other read skips them.
+ *
+ * <p>Each item has a version, 1 when created and incremented by every
+ * update; items stored before versions were introduced are at version 0.
+ * Updates and deletes given an expected version fail with
+ * {@link ErrorReason#VERSION_CONFLICT} when the item is at another one.
+ */
+public interface ItemRepository {
 
-    public ItemRepository(MongoClient mongoClient) {
-        this.mongoClient = mongoClient;
-    }
+    Future<String> save(Item item);
 
-    public Future<String> save(Item item) {
-        try {
-            if (item == null) {
-                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
-            }
+    /**
+     * Inserts the items in chunks of at most {@code chunkSize}. The returned
+     * list holds one entry per item: {@code null} if the item was stored,
+     * otherwise the reason it was not.
+     */
+    Future<List<ErrorReason>> saveAll(List<Item> items, int chunkSize);
 
-            JsonObject document = new JsonObject()
-                    .put("_id", item.getId().toString())
-                    .put("owner", item.getOwner().toString())
-                    .put("title", item.getTitle());
+    Future<List<Item>> findByOwner(UUID ownerId);
 
-            return mongoClient.insert(COLLECTION, document)
-                    .map(item.getId().toString());
+    /**
+     * Returns the owner's item with the given id, or {@code null} when the
+     * owner has no such item.
+     */
+    Future<Item> findById(UUID ownerId, UUID itemId);
 
-        } catch (Exception e) {
-            logger.error("Failed to save item", e);
-            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
-        }
-    }
+    /**
+     * Sets the item's title and, unless {@code null}, its sequence, and bumps
+     * its version, without rewriting the rest of it. Returns the updated
+     * item, or {@code null} when the owner has no such item.
+     */
+    Future<Item> update(UUID ownerId, UUID itemId, String title, Long seq, Long expectedVersion);
 
-    public Future<List<Item>> findByOwner(UUID ownerId) {
-        try {
-            if (ownerId == null) {
-                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
-            }
+    /**
+     * Turns the item into a tombstone that expires at {@code expiresAt},
+     * with the given sequence unless {@code null}. Returns the tombstone, or
+     * {@code null} when the owner has no such item.
+     */
+    Future<Item> delete(UUID ownerId, UUID itemId, Long seq, Long expectedVersion, Instant expiresAt);
 
-            JsonObject query = new JsonObject()
-                    .put("owner", ownerId.toString());
+    /**
+     * Returns at most {@code limit} of the owner's items with ids greater
+     * than {@code after}, or from the start when {@code after} is null.
+     */
+    Future<List<Item>> findPageByOwner(UUID ownerId, UUID after, int limit);
 
-            return mongoClient.find(COLLECTION, query)
-                    .map(documents -> documents.stream()
-                            .map(this::mapToItem)
-                            .toList())
-                    .otherwise(err -> {
-                        logger.error("Failed to find items by owner", err);
-                        throw new ApiException(ErrorReason.INTERNAL_SERVER_ERROR);
-                    });
-        } catch (Exception e) {
-            logger.error("Failed to find items", e);
-            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
-        }
-    }
+    /**
+     * Returns at most {@code limit} of the owner's items with a sequence
+     * greater than {@code since}, ordered by sequence and not by id,
+     * tombstones included. Items stored without a sequence are never
+     * returned.
+     */
+    Future<List<Item>> findChangedSince(UUID ownerId, long since, int limit);
 
-    private Item mapToItem(JsonObject json) {
-        try {
-            Item item = new Item();
-            item.setId(UUID.fromString(json.getString("_id")));
-            item.setOwner(UUID.fromString(json.getString("owner")));
-            item.setTitle(json.getString("title"));
-            return item;
-        } catch (Exception e) {
-            logger.error("Failed to map document to Item", e);
-            throw new ApiException(ErrorReason.INTERNAL_SERVER_ERROR);
-        }
-    }
-}
\ No newline at end of file
+    /**
+     * Streams all of the owner's items as the JSON array of
+     * {@code {"id": ..., "title": ...}} objects returned by the API.
+     */
+    ReadStream<Buffer> streamListingJson(UUID ownerId);
+}
@@ -0,0 +1,47 @@
+package org.example.repositories;
+
+import io.vertx.core.Future;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Keeps one version number per owner, bumped on every change to the owner's
+ * items. Owners that were never bumped are at version 0. Next to it, each
+ * owner has a counter handing out the sequence numbers stored with items,
+ * and how many sequences were reserved on each of the last 40 days.
+ */
+public interface ItemVersionRepository {
+    Future<Long> findVersion(UUID owner);
+
+    /**
+     * Reserves {@code count} consecutive sequence numbers for the owner's
+     * items and bumps the owner's version, in one step, for a write that is
+     * about to store them. Sequences start at 1 and are counted apart from
+     * the version.
+     */
+    Future<Reservation> reserveSequence(UUID owner, int count);
+
+    /**
+     * Returns how many of the owner's sequences were reserved before the
+     * UTC day following {@code before}, next to the last sequence reserved.
+     * Days further back than the counts are kept for are taken as after
+     * {@code before}, so the count errs low, never high.
+     */
+    Future<SequenceHorizon> findSequenceHorizon(UUID owner, Instant before);
+
+    /**
+     * The last of the reserved sequences, the first being
+     * {@code lastSequence - count + 1}, and the version the write brings
+     * the owner's items to.
+     */
+    record Reservation(long lastSequence, long version) {
+    }
+
+    /**
+     * Every sequence up to {@code reservedBefore} was reserved before the
+     * horizon asked for; {@code lastSequence} is the last one reserved.
+     */
+    record SequenceHorizon(long reservedBefore, long lastSequence) {
+    }
+}
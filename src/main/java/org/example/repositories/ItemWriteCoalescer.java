@@ -0,0 +1,173 @@
+package org.example.repositories;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.models.Item;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Buffers single-item inserts for a short window and writes them as one bulk
+ * write. A window is flushed when it holds {@code maxBatchSize} items or when
+ * {@code maxDelayMicros} have passed since its first item, whichever comes
+ * first. Vert.x timers have millisecond resolution, so delays below one
+ * millisecond flush on the next event-loop turn instead, which still groups
+ * every insert issued while the current batch of events is processed.
+ *
+ * <p>All buffering happens on the context the coalescer was created on, so
+ * the window itself needs no locking.
+ */
+public class ItemWriteCoalescer {
+    private static final Logger logger = LoggerFactory.getLogger(ItemWriteCoalescer.class);
+
+    private final Context context;
+    private final int maxBatchSize;
+    private final long maxDelayMicros;
+    private final Function<List<Item>, Future<List<ErrorReason>>> writer;
+
+    private List<PendingWrite> window = new ArrayList<>();
+    private long windowTimerId = -1;
+    private boolean flushScheduled;
+
+    private volatile IntConsumer batchSizeListener = size -> {
+    };
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder writeCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public ItemWriteCoalescer(Context context, int maxBatchSize, long maxDelayMicros,
+                              Function<List<Item>, Future<List<ErrorReason>>> writer) {
+        if (maxBatchSize < 1 || maxDelayMicros < 0) {
+            throw new IllegalArgumentException("Write coalescing batch size and delay must be positive");
+        }
+        this.context = context;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMicros = maxDelayMicros;
+        this.writer = writer;
+    }
+
+    public Future<String> submit(Item item) {
+        Promise<String> promise = Promise.promise();
+        PendingWrite write = new PendingWrite(item, promise, System.nanoTime());
+        if (Vertx.currentContext() == context) {
+            enqueue(write);
+        } else {
+            context.runOnContext(v -> enqueue(write));
+        }
+        return promise.future();
+    }
+
+    private void enqueue(PendingWrite write) {
+        window.add(write);
+        if (window.size() >= maxBatchSize) {
+            flush();
+        } else if (window.size() == 1) {
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (maxDelayMicros < 1000) {
+            flushScheduled = true;
+            context.runOnContext(v -> {
+                if (flushScheduled) {
+                    flush();
+                }
+            });
+        } else {
+            long delayMillis = TimeUnit.MICROSECONDS.toMillis(maxDelayMicros + 999);
+            windowTimerId = context.owner().setTimer(delayMillis, id -> {
+                windowTimerId = -1;
+                flush();
+            });
+        }
+    }
+
+    private void flush() {
+        if (windowTimerId != -1) {
+            context.owner().cancelTimer(windowTimerId);
+            windowTimerId = -1;
+        }
+        flushScheduled = false;
+        if (window.isEmpty()) {
+            return;
+        }
+
+        List<PendingWrite> batch = window;
+        window = new ArrayList<>();
+        recordFlush(batch);
+
+        List<Item> items = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            items.add(write.item());
+        }
+
+        writer.apply(items).onComplete(ar -> {
+            for (int i = 0; i < batch.size(); i++) {
+                PendingWrite write = batch.get(i);
+                ErrorReason error = ar.succeeded() ? ar.result().get(i) : ErrorReason.INTERNAL_SERVER_ERROR;
+                if (error == null) {
+                    write.promise().complete(write.item().getId().toString());
+                } else {
+                    write.promise().fail(new ApiException(error));
+                }
+            }
+            if (ar.failed()) {
+                logger.error("Failed to flush coalesced item writes", ar.cause());
+            }
+        });
+    }
+
+    private void recordFlush(List<PendingWrite> batch) {
+        long now = System.nanoTime();
+        for (PendingWrite write : batch) {
+            long waited = now - write.enqueuedAt();
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+        flushCount.increment();
+        writeCount.add(batch.size());
+        batchSizeListener.accept(batch.size());
+    }
+
+    /**
+     * Sets the listener told the size of every flushed batch, on the
+     * coalescer's context.
+     */
+    public void setBatchSizeListener(IntConsumer batchSizeListener) {
+        this.batchSizeListener = batchSizeListener;
+    }
+
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    public long getWriteCount() {
+        return writeCount.sum();
+    }
+
+    public double getAverageWaitMicros() {
+        long writes = writeCount.sum();
+        return writes == 0 ? 0 : (double) totalWaitNanos.sum() / TimeUnit.MICROSECONDS.toNanos(1) / writes;
+    }
+
+    public double getMaxWaitMicros() {
+        return (double) maxWaitNanos.get() / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    private record PendingWrite(Item item, Promise<String> promise, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,460 @@
+package org.example.repositories;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.mongo.BulkOperation;
+import io.vertx.ext.mongo.BulkWriteOptions;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.ext.mongo.UpdateOptions;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.models.Item;
+import org.example.streams.JsonArrayReadStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link ItemRepository} backed by the MongoDB {@code items} collection.
+ * Tombstones are the documents with an {@code expires_at} date, after which
+ * a TTL index removes them; live items have none.
+ */
+public class MongoItemRepository implements ItemRepository {
+    private static final Logger logger = LoggerFactory.getLogger(MongoItemRepository.class);
+    private final MongoClient mongoClient;
+    private final UuidRepresentation uuids;
+    private final ItemWriteCoalescer writeCoalescer;
+    private static final String COLLECTION = "items";
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final JsonObject LISTING_FIELDS = new JsonObject().put("_id", 1).put("title", 1);
+    private static final JsonObject SYNC_FIELDS = new JsonObject().put("_id", 1).put("title", 1).put("seq", 1)
+            .put("version", 1).put("expires_at", 1);
+    private static final JsonObject ITEM_FIELDS = new JsonObject().put("_id", 1).put("title", 1).put("seq", 1)
+            .put("version", 1);
+    private static final JsonObject LIVE = new JsonObject().put("$exists", false);
+
+    public MongoItemRepository(MongoClient mongoClient) {
+        this(mongoClient, UuidRepresentation.STRING);
+    }
+
+    public MongoItemRepository(MongoClient mongoClient, UuidRepresentation uuids) {
+        this.mongoClient = mongoClient;
+        this.uuids = uuids;
+        this.writeCoalescer = null;
+    }
+
+    /**
+     * Creates a repository whose single-item saves are coalesced into bulk
+     * writes on the given context; see {@link ItemWriteCoalescer}.
+     */
+    public MongoItemRepository(MongoClient mongoClient, UuidRepresentation uuids,
+                          Context context, int maxBatchSize, long maxDelayMicros) {
+        this.mongoClient = mongoClient;
+        this.uuids = uuids;
+        this.writeCoalescer = new ItemWriteCoalescer(context, maxBatchSize, maxDelayMicros, this::insertChunk);
+    }
+
+    @Override
+    public Future<String> save(Item item) {
+        try {
+            if (item == null) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            if (writeCoalescer != null) {
+                return writeCoalescer.submit(item);
+            }
+
+            return mongoClient.insert(COLLECTION, toDocument(item))
+                    .recover(this::mapDuplicateItem)
+                    .map(item.getId().toString());
+
+        } catch (Exception e) {
+            logger.error("Failed to save item", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    /**
+     * Inserts the items with unordered bulk writes, one chunk after another.
+     */
+    @Override
+    public Future<List<ErrorReason>> saveAll(List<Item> items, int chunkSize) {
+        if (items == null || chunkSize < 1) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        List<ErrorReason> results = new ArrayList<>(items.size());
+        Future<Void> chain = Future.succeededFuture();
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            List<Item> chunk = items.subList(start, Math.min(start + chunkSize, items.size()));
+            chain = chain.compose(v -> insertChunk(chunk).map(results::addAll).<Void>mapEmpty());
+        }
+        return chain.map(results);
+    }
+
+    private Future<List<ErrorReason>> insertChunk(List<Item> chunk) {
+        try {
+            List<BulkOperation> operations = chunk.stream()
+                    .map(item -> BulkOperation.createInsert(toDocument(item)))
+                    .toList();
+
+            return mongoClient.bulkWriteWithOptions(COLLECTION, operations, new BulkWriteOptions(false))
+                    .map(result -> Collections.<ErrorReason>nCopies(chunk.size(), null))
+                    .recover(err -> Future.succeededFuture(mapBulkWriteErrors(err, chunk.size())));
+        } catch (Exception e) {
+            logger.error("Failed to save items", e);
+            return Future.succeededFuture(Collections.nCopies(chunk.size(), ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    private List<ErrorReason> mapBulkWriteErrors(Throwable err, int size) {
+        if (!(err instanceof MongoBulkWriteException bulkWriteException)) {
+            logger.error("Failed to bulk insert items", err);
+            return Collections.nCopies(size, ErrorReason.INTERNAL_SERVER_ERROR);
+        }
+
+        logger.warn("Bulk insert failed for {} of {} items",
+                bulkWriteException.getWriteErrors().size(), size);
+        List<ErrorReason> results = new ArrayList<>(Collections.nCopies(size, null));
+        for (BulkWriteError writeError : bulkWriteException.getWriteErrors()) {
+            results.set(writeError.getIndex(), isDuplicateKey(writeError.getCode())
+                    ? ErrorReason.ITEM_ALREADY_EXISTS
+                    : ErrorReason.INTERNAL_SERVER_ERROR);
+        }
+        return results;
+    }
+
+    /**
+     * An item whose id is already taken is a conflict, reported the same way
+     * for a single insert as for an element of a bulk insert.
+     */
+    private Future<String> mapDuplicateItem(Throwable err) {
+        if (err instanceof MongoWriteException writeException && isDuplicateKey(writeException.getCode())) {
+            return Future.failedFuture(new ApiException(ErrorReason.ITEM_ALREADY_EXISTS));
+        }
+        return Future.failedFuture(err);
+    }
+
+    private static boolean isDuplicateKey(int code) {
+        return ErrorCategory.fromErrorCode(code) == ErrorCategory.DUPLICATE_KEY;
+    }
+
+    public ItemWriteCoalescer getWriteCoalescer() {
+        return writeCoalescer;
+    }
+
+    @Override
+    public Future<List<Item>> findByOwner(UUID ownerId) {
+        try {
+            if (ownerId == null) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            JsonObject query = new JsonObject()
+                    .put("owner", uuids.match(ownerId))
+                    .put("expires_at", LIVE);
+
+            FindOptions options = new FindOptions()
+                    .setFields(LISTING_FIELDS)
+                    .setSort(new JsonObject().put("_id", 1));
+
+            return mongoClient.findWithOptions(COLLECTION, query, options)
+                    .map(documents -> documents.stream()
+                            .map(document -> mapToItem(document, ownerId))
+                            .toList())
+                    .otherwise(err -> {
+                        logger.error("Failed to find items by owner", err);
+                        throw new ApiException(ErrorReason.INTERNAL_SERVER_ERROR);
+                    });
+        } catch (Exception e) {
+            logger.error("Failed to find items", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    @Override
+    public Future<Item> findById(UUID ownerId, UUID itemId) {
+        try {
+            if (ownerId == null || itemId == null) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            return mongoClient.findOne(COLLECTION, itemQuery(ownerId, itemId), ITEM_FIELDS)
+                    .map(document -> document != null ? mapToItem(document, ownerId) : null)
+                    .otherwise(err -> {
+                        logger.error("Failed to find item by id", err);
+                        throw new ApiException(ErrorReason.INTERNAL_SERVER_ERROR);
+                    });
+        } catch (Exception e) {
+            logger.error("Failed to find item", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    @Override
+    public Future<Item> update(UUID ownerId, UUID itemId, String title, Long seq, Long expectedVersion) {
+        try {
+            if (ownerId == null || itemId == null || title == null) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            JsonObject set = new JsonObject().put("title", title);
+            if (seq != null) {
+                set.put("seq", seq);
+            }
+            JsonObject update = new JsonObject()
+                    .put("$set", set)
+                    .put("$inc", new JsonObject().put("version", 1L));
+            return updateOne(ownerId, itemId, update, expectedVersion)
+                    .otherwise(err -> {
+                        if (err instanceof ApiException apiException) {
+                            throw apiException;
+                        }
+                        logger.error("Failed to update item", err);
+                        throw new ApiException(ErrorReason.INTERNAL_SERVER_ERROR);
+                    });
+        } catch (Exception e) {
+            logger.error("Failed to update item", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    /**
+     * Keeps only the id, owner, sequence and version of the item.
+     */
+    @Override
+    public Future<Item> delete(UUID ownerId, UUID itemId, Long seq, Long expectedVersion, Instant expiresAt) {
+        try {
+            if (ownerId == null || itemId == null || expiresAt == null) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            JsonObject set = new JsonObject().put("expires_at", new JsonObject().put("$date", expiresAt.toString()));
+            if (seq != null) {
+                set.put("seq", seq);
+            }
+            JsonObject update = new JsonObject()
+                    .put("$set", set)
+                    .put("$unset", new JsonObject().put("title", ""))
+                    .put("$inc", new JsonObject().put("version", 1L));
+            return updateOne(ownerId, itemId, update, expectedVersion)
+                    .otherwise(err -> {
+                        if (err instanceof ApiException apiException) {
+                            throw apiException;
+                        }
+                        logger.error("Failed to delete item", err);
+                        throw new ApiException(ErrorReason.INTERNAL_SERVER_ERROR);
+                    });
+        } catch (Exception e) {
+            logger.error("Failed to delete item", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    /**
+     * Applies the update to the live item in one {@code findOneAndUpdate},
+     * conditional on its version when one is expected. Only when that finds
+     * nothing is the item looked up again, to tell a conflict from a missing
+     * item.
+     */
+    private Future<Item> updateOne(UUID ownerId, UUID itemId, JsonObject update, Long expectedVersion) {
+        JsonObject query = itemQuery(ownerId, itemId);
+        if (expectedVersion != null) {
+            // Items stored before versions have none and are at version 0.
+            query.put("version", expectedVersion == 0 ? null : expectedVersion);
+        }
+        return mongoClient.findOneAndUpdateWithOptions(COLLECTION, query, update,
+                        new FindOptions().setFields(SYNC_FIELDS),
+                        new UpdateOptions().setReturningNewDocument(true))
+                .compose(document -> {
+                    if (document != null) {
+                        return Future.succeededFuture(mapToItem(document, ownerId));
+                    }
+                    if (expectedVersion == null) {
+                        return Future.succeededFuture();
+                    }
+                    return findById(ownerId, itemId)
+                            .compose(current -> current != null
+                                    ? Future.failedFuture(new ApiException(ErrorReason.VERSION_CONFLICT))
+                                    : Future.succeededFuture());
+                });
+    }
+
+    private JsonObject itemQuery(UUID ownerId, UUID itemId) {
+        return new JsonObject()
+                .put("_id", uuids.match(itemId))
+                .put("owner", uuids.match(ownerId))
+                .put("expires_at", LIVE);
+    }
+
+    @Override
+    public Future<List<Item>> findPageByOwner(UUID ownerId, UUID after, int limit) {
+        try {
+            if (ownerId == null || limit < 1) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            FindOptions options = new FindOptions()
+                    .setFields(LISTING_FIELDS)
+                    .setSort(new JsonObject().put("_id", 1))
+                    .setLimit(limit);
+
+            return afterCursor(after)
+                    .compose(cursor -> {
+                        JsonObject query = new JsonObject()
+                                .put("owner", uuids.match(ownerId))
+                                .put("expires_at", LIVE)
+                                .mergeIn(cursor);
+                        return mongoClient.findWithOptions(COLLECTION, query, options);
+                    })
+                    .map(documents -> documents.stream()
+                            .map(document -> mapToItem(document, ownerId))
+                            .toList())
+                    .otherwise(err -> {
+                        logger.error("Failed to find page of items by owner", err);
+                        throw new ApiException(ErrorReason.INTERNAL_SERVER_ERROR);
+                    });
+        } catch (Exception e) {
+            logger.error("Failed to find items", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    /**
+     * Served from the {@code (owner, seq)} index; when nothing changed this
+     * is a single probe past the end of the owner's range.
+     */
+    @Override
+    public Future<List<Item>> findChangedSince(UUID ownerId, long since, int limit) {
+        try {
+            if (ownerId == null || limit < 1) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            JsonObject query = new JsonObject()
+                    .put("owner", uuids.match(ownerId))
+                    .put("seq", new JsonObject().put("$gt", since));
+
+            FindOptions options = new FindOptions()
+                    .setFields(SYNC_FIELDS)
+                    .setSort(new JsonObject().put("seq", 1))
+                    .setLimit(limit);
+
+            return mongoClient.findWithOptions(COLLECTION, query, options)
+                    .map(documents -> documents.stream()
+                            .map(document -> mapToItem(document, ownerId))
+                            .toList())
+                    .otherwise(err -> {
+                        logger.error("Failed to find changed items by owner", err);
+                        throw new ApiException(ErrorReason.INTERNAL_SERVER_ERROR);
+                    });
+        } catch (Exception e) {
+            logger.error("Failed to find items", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    /**
+     * Encodes the projected documents straight from the cursor with
+     * {@link ItemJsonWriter}, without going through {@link Item}.
+     */
+    @Override
+    public ReadStream<Buffer> streamListingJson(UUID ownerId) {
+        return new JsonArrayReadStream<>(streamListingDocuments(ownerId), ItemJsonWriter::writeListingDocument);
+    }
+
+    /**
+     * Streams the owner's items as raw listing documents holding only
+     * {@code _id} (in its stored form) and {@code title}.
+     */
+    ReadStream<JsonObject> streamListingDocuments(UUID ownerId) {
+        if (ownerId == null) {
+            throw new ApiException(ErrorReason.INVALID_REQUEST);
+        }
+
+        JsonObject query = new JsonObject()
+                .put("owner", uuids.match(ownerId))
+                .put("expires_at", LIVE);
+
+        FindOptions options = new FindOptions()
+                .setFields(LISTING_FIELDS)
+                .setSort(new JsonObject().put("_id", 1))
+                .setBatchSize(STREAM_BATCH_SIZE);
+
+        return mongoClient.findBatchWithOptions(COLLECTION, query, options);
+    }
+
+    /**
+     * Builds the {@code _id} condition for a page starting after the given
+     * item. Comparison operators only match values of the same BSON type, and
+     * text ids sort before binary ones. While a collection is being migrated
+     * the cursor therefore first has to be located: after a text id the page
+     * continues with the larger text ids and then every binary id.
+     */
+    private Future<JsonObject> afterCursor(UUID after) {
+        if (after == null) {
+            return Future.succeededFuture(new JsonObject());
+        }
+        if (uuids != UuidRepresentation.MIXED) {
+            return Future.succeededFuture(new JsonObject()
+                    .put("_id", new JsonObject().put("$gt", uuids.encode(after))));
+        }
+
+        JsonObject binaryId = UuidRepresentation.toBinary(after);
+        return mongoClient.findOne(COLLECTION, new JsonObject().put("_id", binaryId), new JsonObject().put("_id", 1))
+                .map(found -> found != null
+                        ? new JsonObject().put("_id", new JsonObject().put("$gt", binaryId))
+                        : new JsonObject().put("$or", new JsonArray()
+                                .add(new JsonObject().put("_id", new JsonObject().put("$gt", after.toString())))
+                                .add(new JsonObject().put("_id", new JsonObject().put("$type", "binData")))));
+    }
+
+    private JsonObject toDocument(Item item) {
+        JsonObject document = new JsonObject()
+                .put("_id", uuids.encode(item.getId()))
+                .put("owner", uuids.encode(item.getOwner()))
+                .put("title", item.getTitle());
+        if (item.getSeq() != null) {
+            document.put("seq", item.getSeq());
+        }
+        if (item.getVersion() != null) {
+            document.put("version", item.getVersion());
+        }
+        return document;
+    }
+
+    /**
+     * Maps a listing document; the owner is not projected since the query
+     * already fixes it.
+     */
+    Item mapToItem(JsonObject json, UUID ownerId) {
+        try {
+            Item item = new Item();
+            item.setId(UuidRepresentation.decode(json.getValue("_id")));
+            item.setOwner(ownerId);
+            item.setTitle(json.getString("title"));
+            item.setSeq(json.getLong("seq"));
+            item.setVersion(json.getLong("version", 0L));
+            item.setDeleted(json.containsKey("expires_at"));
+            return item;
+        } catch (Exception e) {
+            logger.error("Failed to map document to Item", e);
+            throw new ApiException(ErrorReason.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package org.example.repositories;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.ext.mongo.UpdateOptions;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * {@link ItemVersionRepository} backed by the MongoDB {@code item_versions}
+ * collection, with one {@code {_id: owner, version, seq, days}} document per
+ * owner that was ever bumped. A reservation takes its sequences and bumps the
+ * version with a single upserting {@code $inc}, which also counts the
+ * sequences under {@code days.<epoch day>} and drops the counts of the
+ * {@value #DAYS_KEPT} days before the last {@value #DAYS_KEPT}.
+ *
+ * <p>Documents are keyed by the owner's UUID as text whatever
+ * {@code mongodb.uuid_representation} says. An owner's counters must live in
+ * exactly one document: keyed by the mode, a switch to {@code mixed} would
+ * miss the text-keyed document and upsert a second one counting from 1
+ * again, and the migration cannot move a document that reservations keep
+ * incrementing. One small document per owner gains little from binary keys.
+ */
+public class MongoItemVersionRepository implements ItemVersionRepository {
+    private static final Logger logger = LoggerFactory.getLogger(MongoItemVersionRepository.class);
+    private static final String COLLECTION = "item_versions";
+    private static final JsonObject VERSION_FIELD = new JsonObject().put("version", 1);
+    private static final JsonObject RESERVATION_FIELDS = new JsonObject().put("seq", 1).put("version", 1);
+    private static final JsonObject HORIZON_FIELDS = new JsonObject().put("seq", 1).put("days", 1);
+    private static final int DAYS_KEPT = 40;
+
+    private final MongoClient mongoClient;
+
+    public MongoItemVersionRepository(MongoClient mongoClient) {
+        this.mongoClient = mongoClient;
+    }
+
+    @Override
+    public Future<Long> findVersion(UUID owner) {
+        try {
+            if (owner == null) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            return mongoClient.findOne(COLLECTION, query(owner), VERSION_FIELD)
+                    .map(document -> document != null ? document.getLong("version", 0L) : 0L);
+        } catch (Exception e) {
+            logger.error("Failed to find item version", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    @Override
+    public Future<Reservation> reserveSequence(UUID owner, int count) {
+        try {
+            if (owner == null || count < 1) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            long today = epochDay(Instant.now());
+            JsonObject expired = new JsonObject();
+            for (long day = today - 2 * DAYS_KEPT; day < today - DAYS_KEPT; day++) {
+                expired.put("days." + day, "");
+            }
+            JsonObject update = new JsonObject()
+                    .put("$inc", new JsonObject()
+                            .put("seq", (long) count)
+                            .put("version", 1L)
+                            .put("days." + today, (long) count))
+                    .put("$unset", expired);
+            return mongoClient.findOneAndUpdateWithOptions(COLLECTION, query(owner), update,
+                            new FindOptions().setFields(RESERVATION_FIELDS),
+                            new UpdateOptions().setUpsert(true).setReturningNewDocument(true))
+                    .map(document -> new Reservation(document.getLong("seq"), document.getLong("version")));
+        } catch (Exception e) {
+            logger.error("Failed to reserve item sequence", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    @Override
+    public Future<SequenceHorizon> findSequenceHorizon(UUID owner, Instant before) {
+        try {
+            if (owner == null || before == null) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            long horizon = epochDay(before);
+            return mongoClient.findOne(COLLECTION, query(owner), HORIZON_FIELDS)
+                    .map(document -> {
+                        if (document == null) {
+                            return new SequenceHorizon(0L, 0L);
+                        }
+                        long lastSequence = document.getLong("seq", 0L);
+                        long reservedAfter = 0;
+                        JsonObject days = document.getJsonObject("days", new JsonObject());
+                        for (String day : days.fieldNames()) {
+                            if (Long.parseLong(day) > horizon) {
+                                reservedAfter += days.getLong(day);
+                            }
+                        }
+                        return new SequenceHorizon(Math.max(0L, lastSequence - reservedAfter), lastSequence);
+                    });
+        } catch (Exception e) {
+            logger.error("Failed to find item sequence horizon", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    private static long epochDay(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC).toEpochDay();
+    }
+
+    private static JsonObject query(UUID owner) {
+        return new JsonObject().put("_id", owner.toString());
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.repositories;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.MongoClient;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.models.RevokedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * {@link RevokedTokenRepository} backed by the MongoDB {@code revoked_tokens}
+ * collection. Documents are keyed by the token id and carry the token's
+ * expiry as a date, so the TTL index created by {@link IndexManager} removes
+ * them once the token could no longer be used.
+ */
+public class MongoRevokedTokenRepository implements RevokedTokenRepository {
+    private static final Logger logger = LoggerFactory.getLogger(MongoRevokedTokenRepository.class);
+    private static final String COLLECTION = "revoked_tokens";
+
+    private final MongoClient mongoClient;
+
+    public MongoRevokedTokenRepository(MongoClient mongoClient) {
+        this.mongoClient = mongoClient;
+    }
+
+    @Override
+    public Future<Void> save(RevokedToken token) {
+        try {
+            if (token == null || token.getJti() == null) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            JsonObject document = new JsonObject()
+                    .put("_id", token.getJti())
+                    .put("expires_at", date(token.getExpiresAt()));
+
+            return mongoClient.insert(COLLECTION, document)
+                    .<Void>mapEmpty()
+                    .recover(this::ignoreAlreadyRevoked);
+        } catch (Exception e) {
+            logger.error("Failed to save revoked token", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    @Override
+    public Future<List<RevokedToken>> findActive(long nowSeconds) {
+        try {
+            JsonObject query = new JsonObject()
+                    .put("expires_at", new JsonObject().put("$gt", date(nowSeconds)));
+
+            return mongoClient.findWithOptions(COLLECTION, query, new FindOptions().setBatchSize(1000))
+                    .map(documents -> documents.stream()
+                            .map(document -> new RevokedToken(document.getString("_id"),
+                                    Instant.parse(document.getJsonObject("expires_at").getString("$date"))
+                                            .getEpochSecond()))
+                            .collect(Collectors.toList()));
+        } catch (Exception e) {
+            logger.error("Failed to load revoked tokens", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    private Future<Void> ignoreAlreadyRevoked(Throwable err) {
+        if (err instanceof MongoWriteException writeException
+                && ErrorCategory.fromErrorCode(writeException.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+            return Future.succeededFuture();
+        }
+        return Future.failedFuture(err);
+    }
+
+    private static JsonObject date(long epochSeconds) {
+        return new JsonObject().put("$date", Instant.ofEpochSecond(epochSeconds).toString());
+    }
+}
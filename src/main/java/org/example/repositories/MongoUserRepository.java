@@ -0,0 +1,139 @@
+package org.example.repositories;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.MongoClient;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.models.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+
+/**
+ * {@link UserRepository} backed by the MongoDB {@code users} collection.
+ */
+public class MongoUserRepository implements UserRepository {
+    private static final Logger logger = LoggerFactory.getLogger(MongoUserRepository.class);
+    private final MongoClient mongoClient;
+    private final UuidRepresentation uuids;
+    private static final String COLLECTION = "users";
+
+    public MongoUserRepository(MongoClient mongoClient) {
+        this(mongoClient, UuidRepresentation.STRING);
+    }
+
+    public MongoUserRepository(MongoClient mongoClient, UuidRepresentation uuids) {
+        this.mongoClient = mongoClient;
+        this.uuids = uuids;
+    }
+
+    @Override
+    public Future<String> save(User user) {
+        try {
+            if (user == null) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            JsonObject document = new JsonObject()
+                    .put("_id", uuids.encode(user.getId()))
+                    .put("login", user.getLogin())
+                    .put("password", user.getPassword());
+
+            return mongoClient.insert(COLLECTION, document)
+                    .recover(this::mapDuplicateLogin)
+                    .map(user.getId().toString());
+
+        } catch (Exception e) {
+            logger.error("Failed to save user", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    @Override
+    public Future<User> findByLogin(String login) {
+        try {
+            if (login == null || login.trim().isEmpty()) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            JsonObject query = new JsonObject().put("login", login);
+
+            return mongoClient.findOne(COLLECTION, query, null)
+                    .map(result -> {
+                        if (result == null) {
+                            return null;
+                        }
+                        try {
+                            User user = new User();
+                            user.setId(UuidRepresentation.decode(result.getValue("_id")));
+                            user.setLogin(result.getString("login"));
+                            user.setPassword(result.getString("password"));
+                            return user;
+                        } catch (Exception e) {
+                            logger.error("Failed to map user data", e);
+                            throw new ApiException(ErrorReason.INTERNAL_SERVER_ERROR);
+                        }
+                    });
+        } catch (Exception e) {
+            logger.error("Failed to find user by login", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    @Override
+    public Future<Boolean> existsByLogin(String login) {
+        try {
+            if (login == null || login.trim().isEmpty()) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            JsonObject query = new JsonObject().put("login", login);
+            FindOptions options = new FindOptions()
+                    .setFields(new JsonObject().put("_id", 1))
+                    .setLimit(1);
+            return mongoClient.findWithOptions(COLLECTION, query, options)
+                    .map(results -> !results.isEmpty());
+        } catch (Exception e) {
+            logger.error("Failed to check if user exists", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    @Override
+    public Future<Boolean> updatePassword(UUID userId, String currentHash, String newHash) {
+        try {
+            if (userId == null || currentHash == null || newHash == null) {
+                return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+            }
+
+            JsonObject query = new JsonObject()
+                    .put("_id", uuids.encode(userId))
+                    .put("password", currentHash);
+            JsonObject update = new JsonObject()
+                    .put("$set", new JsonObject().put("password", newHash));
+
+            return mongoClient.updateCollection(COLLECTION, query, update)
+                    .map(result -> result != null && result.getDocModified() > 0);
+        } catch (Exception e) {
+            logger.error("Failed to update user password", e);
+            return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    /**
+     * Logins are unique through the {@code login_1} index, so a concurrent
+     * registration of the same login fails here with a duplicate key error.
+     */
+    private Future<String> mapDuplicateLogin(Throwable err) {
+        if (err instanceof MongoWriteException writeException
+                && ErrorCategory.fromErrorCode(writeException.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+            return Future.failedFuture(new ApiException(ErrorReason.USER_ALREADY_EXISTS));
+        }
+        return Future.failedFuture(err);
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.repositories;
+
+import io.vertx.core.Future;
+import org.example.models.RevokedToken;
+
+import java.util.List;
+
+/**
+ * Persists the ids of revoked tokens until the tokens would have expired
+ * anyway. Revoking the same token twice is not an error.
+ */
+public interface RevokedTokenRepository {
+    Future<Void> save(RevokedToken token);
+
+    /**
+     * Returns the revoked tokens whose expiry is after {@code nowSeconds}.
+     */
+    Future<List<RevokedToken>> findActive(long nowSeconds);
+}
@@ -0,0 +1,150 @@
+package org.example.repositories;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Concurrent map keyed by a UUID's two 64-bit halves, stored as primitive
+ * longs in open-addressing tables. The map is split into segments; lookups
+ * use optimistic reads and take no lock unless they race with a write to
+ * the same segment. Entries cannot be removed.
+ */
+final class UuidMap<V> {
+    private static final int SEGMENT_BITS = 6;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+    UuidMap() {
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long mostSigBits, long leastSigBits) {
+        int hash = hash(mostSigBits, leastSigBits);
+        return (V) segments[hash & (segments.length - 1)].get(mostSigBits, leastSigBits, hash >>> SEGMENT_BITS);
+    }
+
+    @SuppressWarnings("unchecked")
+    V computeIfAbsent(long mostSigBits, long leastSigBits, Supplier<V> factory) {
+        V existing = get(mostSigBits, leastSigBits);
+        if (existing != null) {
+            return existing;
+        }
+        int hash = hash(mostSigBits, leastSigBits);
+        return (V) segments[hash & (segments.length - 1)]
+                .putIfAbsent(mostSigBits, leastSigBits, hash >>> SEGMENT_BITS, factory);
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                size += segment.size;
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private static int hash(long mostSigBits, long leastSigBits) {
+        long h = mostSigBits * 0x9E3779B97F4A7C15L ^ leastSigBits * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private long[] keys = new long[2 * INITIAL_CAPACITY];
+        private Object[] values = new Object[INITIAL_CAPACITY];
+        private int size;
+
+        Object get(long mostSigBits, long leastSigBits, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            Object value = find(keys, values, mostSigBits, leastSigBits, hash);
+            if (lock.validate(stamp)) {
+                return value;
+            }
+            stamp = lock.readLock();
+            try {
+                return find(keys, values, mostSigBits, leastSigBits, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        Object putIfAbsent(long mostSigBits, long leastSigBits, int hash, Supplier<?> factory) {
+            long stamp = lock.writeLock();
+            try {
+                Object existing = find(keys, values, mostSigBits, leastSigBits, hash);
+                if (existing != null) {
+                    return existing;
+                }
+                if ((size + 1) * 4 > values.length * 3) {
+                    resize();
+                }
+                Object value = factory.get();
+                insert(keys, values, mostSigBits, leastSigBits, hash, value);
+                size++;
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            long[] newKeys = new long[oldKeys.length * 2];
+            Object[] newValues = new Object[oldValues.length * 2];
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    long msb = oldKeys[2 * i];
+                    long lsb = oldKeys[2 * i + 1];
+                    insert(newKeys, newValues, msb, lsb, hash(msb, lsb) >>> SEGMENT_BITS, oldValues[i]);
+                }
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+
+        /**
+         * Linear probe; tolerates the arrays of a concurrent resize (the
+         * optimistic read is then discarded) by bounding the probe length
+         * and checking the two arrays belong together.
+         */
+        private static Object find(long[] keys, Object[] values, long mostSigBits, long leastSigBits, int hash) {
+            int capacity = values.length;
+            if (keys.length != 2 * capacity) {
+                return null;
+            }
+            int index = hash & (capacity - 1);
+            for (int probes = 0; probes < capacity; probes++) {
+                Object value = values[index];
+                if (value == null) {
+                    return null;
+                }
+                if (keys[2 * index] == mostSigBits && keys[2 * index + 1] == leastSigBits) {
+                    return value;
+                }
+                index = (index + 1) & (capacity - 1);
+            }
+            return null;
+        }
+
+        private static void insert(long[] keys, Object[] values, long mostSigBits, long leastSigBits,
+                                   int hash, Object value) {
+            int index = hash & (values.length - 1);
+            while (values[index] != null) {
+                index = (index + 1) & (values.length - 1);
+            }
+            keys[2 * index] = mostSigBits;
+            keys[2 * index + 1] = leastSigBits;
+            values[index] = value;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.repositories;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.BulkOperation;
+import io.vertx.ext.mongo.BulkWriteOptions;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.MongoClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Converts documents whose UUID fields are stored as text into the binary
+ * representation, in batches, while the service keeps running in
+ * {@link UuidRepresentation#MIXED} mode. Since {@code _id} cannot be changed
+ * in place, every document is re-inserted under its binary id before the text
+ * version is removed, so a document is never missing; a crash between the two
+ * steps is repaired by running the migration again. Only the text documents
+ * whose binary copy was inserted, or already existed, are removed.
+ *
+ * <p>A document that another unique index keeps from being inserted next to
+ * its text version (a user, by its login) is moved instead: the text version
+ * is removed, the binary one inserted, and the text version put back if that
+ * fails. A crash between those steps loses the document, so collections with
+ * such indexes are best migrated with a backup at hand; the lost document is
+ * logged when putting it back fails.
+ */
+public class UuidMigration {
+    private static final Logger logger = LoggerFactory.getLogger(UuidMigration.class);
+    private static final String ID_INDEX = "_id_";
+
+    private final MongoClient mongoClient;
+    private final int batchSize;
+
+    public UuidMigration(MongoClient mongoClient, int batchSize) {
+        this.mongoClient = mongoClient;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Migrates every document of the collection whose {@code _id} is still
+     * text. {@code uuidFields} lists the other fields holding UUIDs.
+     *
+     * @return the number of migrated documents
+     */
+    public Future<Long> migrate(String collection, List<String> uuidFields) {
+        return migrateFrom(collection, uuidFields, null, 0L)
+                .onSuccess(count -> logger.info("Migrated {} documents in {}", count, collection));
+    }
+
+    private Future<Long> migrateFrom(String collection, List<String> uuidFields, String lastId, long migrated) {
+        JsonObject idCondition = new JsonObject().put("$type", "string");
+        if (lastId != null) {
+            idCondition.put("$gt", lastId);
+        }
+        FindOptions options = new FindOptions()
+                .setSort(new JsonObject().put("_id", 1))
+                .setLimit(batchSize);
+
+        return mongoClient.findWithOptions(collection, new JsonObject().put("_id", idCondition), options)
+                .compose(documents -> {
+                    if (documents.isEmpty()) {
+                        return Future.succeededFuture(migrated);
+                    }
+                    String batchLastId = documents.get(documents.size() - 1).getString("_id");
+                    return migrateBatch(collection, uuidFields, documents)
+                            .compose(count -> {
+                                logger.debug("Migrated {} documents in {} up to {}", count, collection, batchLastId);
+                                return migrateFrom(collection, uuidFields, batchLastId, migrated + count);
+                            });
+                });
+    }
+
+    private Future<Integer> migrateBatch(String collection, List<String> uuidFields, List<JsonObject> documents) {
+        List<JsonObject> originals = new ArrayList<>();
+        List<JsonObject> converted = new ArrayList<>();
+        List<BulkOperation> inserts = new ArrayList<>();
+
+        for (JsonObject document : documents) {
+            JsonObject binary = convert(document, uuidFields);
+            if (binary == null) {
+                logger.warn("Skipping document {} in {}: not a UUID", document.getString("_id"), collection);
+                continue;
+            }
+            originals.add(document);
+            converted.add(binary);
+            inserts.add(BulkOperation.createInsert(binary));
+        }
+
+        if (inserts.isEmpty()) {
+            return Future.succeededFuture(0);
+        }
+
+        return mongoClient.bulkWriteWithOptions(collection, inserts, new BulkWriteOptions(false))
+                .map(result -> Set.<Integer>of())
+                .recover(this::blockedInserts)
+                .compose(blocked -> {
+                    JsonArray copiedIds = new JsonArray();
+                    for (int i = 0; i < originals.size(); i++) {
+                        if (!blocked.contains(i)) {
+                            copiedIds.add(originals.get(i).getString("_id"));
+                        }
+                    }
+                    Future<Void> moved = copiedIds.isEmpty()
+                            ? Future.succeededFuture()
+                            : mongoClient.removeDocuments(collection,
+                                    new JsonObject().put("_id", new JsonObject().put("$in", copiedIds))).mapEmpty();
+                    for (int i = 0; i < originals.size(); i++) {
+                        if (blocked.contains(i)) {
+                            JsonObject original = originals.get(i);
+                            JsonObject binary = converted.get(i);
+                            moved = moved.compose(v -> move(collection, original, binary));
+                        }
+                    }
+                    return moved;
+                })
+                .map(v -> originals.size());
+    }
+
+    /**
+     * Returns the positions of the inserts that a unique index other than
+     * {@code _id} rejected. Inserts rejected on {@code _id} were migrated by
+     * an earlier run; any other error fails the batch.
+     */
+    private Future<Set<Integer>> blockedInserts(Throwable err) {
+        if (!(err instanceof MongoBulkWriteException bulkWriteException)
+                || bulkWriteException.getWriteConcernError() != null) {
+            return Future.failedFuture(err);
+        }
+        Set<Integer> blocked = new HashSet<>();
+        for (BulkWriteError error : bulkWriteException.getWriteErrors()) {
+            if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                return Future.failedFuture(err);
+            }
+            if (!isIdDuplicate(error)) {
+                blocked.add(error.getIndex());
+            }
+        }
+        return Future.succeededFuture(blocked);
+    }
+
+    /**
+     * The server names the violated index in the message, as in
+     * {@code E11000 duplicate key error collection: db.users index: _id_ dup key: ...}.
+     */
+    private static boolean isIdDuplicate(BulkWriteError error) {
+        return error.getMessage() != null && error.getMessage().contains(" index: " + ID_INDEX + " ");
+    }
+
+    private Future<Void> move(String collection, JsonObject original, JsonObject binary) {
+        JsonObject textId = new JsonObject().put("_id", original.getString("_id"));
+        return mongoClient.removeDocuments(collection, textId)
+                .compose(removed -> mongoClient.insert(collection, binary))
+                .<Void>mapEmpty()
+                .recover(err -> mongoClient.insert(collection, original)
+                        .onFailure(restoreErr -> logger.error("Lost document {} in {} while migrating it: {}",
+                                original.getString("_id"), collection, original.encode(), restoreErr))
+                        .transform(restored -> Future.failedFuture(err)));
+    }
+
+    private JsonObject convert(JsonObject document, List<String> uuidFields) {
+        try {
+            JsonObject converted = document.copy();
+            converted.put("_id", UuidRepresentation.toBinary(UuidRepresentation.decode(document.getValue("_id"))));
+            for (String field : uuidFields) {
+                Object value = document.getValue(field);
+                if (value != null) {
+                    converted.put(field, UuidRepresentation.toBinary(UuidRepresentation.decode(value)));
+                }
+            }
+            return converted;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
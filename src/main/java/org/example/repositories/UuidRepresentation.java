@@ -0,0 +1,77 @@
+package org.example.repositories;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * How UUID fields ({@code _id}, {@code owner}) are stored in MongoDB.
+ * <ul>
+ *     <li>{@code STRING} - the legacy 36-character text form.</li>
+ *     <li>{@code MIXED} - writes the 16-byte BSON binary form (subtype 4) but
+ *     still matches documents in either form; used while
+ *     {@link UuidMigration} converts existing documents.</li>
+ *     <li>{@code BINARY} - reads and writes only the binary form.</li>
+ * </ul>
+ * Reads accept both forms in every mode.
+ */
+public enum UuidRepresentation {
+    STRING,
+    MIXED,
+    BINARY;
+
+    private static final String BINARY_FIELD = "$binary";
+    private static final String TYPE_FIELD = "$type";
+    private static final int UUID_SUBTYPE = 4;
+
+    public static UuidRepresentation fromConfig(JsonObject config) {
+        String value = config.getJsonObject("mongodb", new JsonObject())
+                .getString("uuid_representation", "string");
+        try {
+            return valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Unknown UUID representation: " + value);
+        }
+    }
+
+    public Object encode(UUID uuid) {
+        return this == STRING ? uuid.toString() : toBinary(uuid);
+    }
+
+    /**
+     * Returns the query value matching the given UUID in every form that may
+     * be stored under this mode.
+     */
+    public Object match(UUID uuid) {
+        return switch (this) {
+            case STRING -> uuid.toString();
+            case MIXED -> new JsonObject().put("$in", new JsonArray()
+                    .add(toBinary(uuid))
+                    .add(uuid.toString()));
+            case BINARY -> toBinary(uuid);
+        };
+    }
+
+    public static UUID decode(Object value) {
+        if (value instanceof String text) {
+            return UUID.fromString(text);
+        }
+        if (value instanceof JsonObject binary && binary.containsKey(BINARY_FIELD)) {
+            ByteBuffer bytes = ByteBuffer.wrap(binary.getBinary(BINARY_FIELD));
+            return new UUID(bytes.getLong(), bytes.getLong());
+        }
+        throw new IllegalArgumentException("Not a UUID value: " + value);
+    }
+
+    public static JsonObject toBinary(UUID uuid) {
+        byte[] bytes = ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+        return new JsonObject()
+                .put(BINARY_FIELD, bytes)
+                .put(TYPE_FIELD, UUID_SUBTYPE);
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.services;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.AuthProvider;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authorization.Authorization;
+import io.vertx.ext.auth.authorization.Authorizations;
+
+import java.util.UUID;
+
+/**
+ * Verified token principal with the {@code userId} claim already parsed, so
+ * request handlers do not parse it again.
+ */
+public class AuthenticatedUser implements User {
+    private final User delegate;
+    private final UUID userId;
+
+    public AuthenticatedUser(User delegate, UUID userId) {
+        this.delegate = delegate;
+        this.userId = userId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    @Override
+    public JsonObject attributes() {
+        return delegate.attributes();
+    }
+
+    @Override
+    public Authorizations authorizations() {
+        return delegate.authorizations();
+    }
+
+    @Override
+    public User isAuthorized(Authorization authority, Handler<AsyncResult<Boolean>> resultHandler) {
+        delegate.isAuthorized(authority, resultHandler);
+        return this;
+    }
+
+    @Override
+    public JsonObject principal() {
+        return delegate.principal();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void setAuthProvider(AuthProvider authProvider) {
+        delegate.setAuthProvider(authProvider);
+    }
+
+    @Override
+    public User merge(User other) {
+        delegate.merge(other);
+        return this;
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.jwt.JWTAuth;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JWTAuth} that remembers tokens it has already verified, so a client
+ * sending the same bearer token again skips the base64/JSON decoding and the
+ * HS256 check. Entries are keyed by the full token string, so a hit is only
+ * possible for the exact bytes that were verified, and expire at the token's
+ * {@code exp} (or after {@code maxTtl}, whichever comes first). Misses and
+ * tokens without a valid {@code userId} claim are verified by the delegate.
+ * The cache is thread-safe and meant to be shared by all verticle instances.
+ * Only the verified claims are cached; every call gets its own {@link User},
+ * since users are mutable and requests may modify theirs.
+ *
+ * <p>Revocation is not checked here; wrap this provider in a
+ * {@link RevocationAwareJWTAuth} so cached tokens are still rejected once
+ * revoked.
+ */
+public class CachingJWTAuth implements JWTAuth {
+    private final JWTAuth delegate;
+    private final Cache<String, CachedToken> tokens;
+    private final long maxTtlNanos;
+
+    public CachingJWTAuth(JWTAuth delegate, long maxEntries, Duration maxTtl) {
+        this.delegate = delegate;
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, CachedToken>() {
+                    @Override
+                    public long expireAfterCreate(String token, CachedToken cached, long currentTime) {
+                        return remainingNanos(cached);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, CachedToken cached, long currentTime,
+                                                  long currentDuration) {
+                        return remainingNanos(cached);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, CachedToken cached, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public String generateToken(JsonObject claims, JWTOptions options) {
+        return delegate.generateToken(claims, options);
+    }
+
+    @Override
+    public String generateToken(JsonObject claims) {
+        return delegate.generateToken(claims);
+    }
+
+    @Override
+    public void authenticate(JsonObject credentials, Handler<AsyncResult<User>> resultHandler) {
+        authenticate(credentials).onComplete(resultHandler);
+    }
+
+    @Override
+    public Future<User> authenticate(JsonObject credentials) {
+        return delegate.authenticate(credentials);
+    }
+
+    @Override
+    public void authenticate(Credentials credentials, Handler<AsyncResult<User>> resultHandler) {
+        authenticate(credentials).onComplete(resultHandler);
+    }
+
+    @Override
+    public Future<User> authenticate(Credentials credentials) {
+        if (!(credentials instanceof TokenCredentials tokenCredentials) || tokenCredentials.getToken() == null) {
+            return delegate.authenticate(credentials);
+        }
+
+        String token = tokenCredentials.getToken();
+        CachedToken cached = tokens.getIfPresent(token);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return Future.succeededFuture(cached.toUser());
+        }
+
+        return delegate.authenticate(credentials).map(user -> {
+            UUID userId = parseUserId(user);
+            if (userId == null) {
+                return user;
+            }
+            Number exp = user.get("exp");
+            if (exp != null) {
+                tokens.put(token, new CachedToken(user.principal().copy(), user.attributes().copy(), userId,
+                        TimeUnit.SECONDS.toMillis(exp.longValue())));
+            }
+            return new AuthenticatedUser(user, userId);
+        });
+    }
+
+    public CacheStats getStats() {
+        return tokens.stats();
+    }
+
+    public long getEstimatedSize() {
+        return tokens.estimatedSize();
+    }
+
+    private long remainingNanos(CachedToken cached) {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(cached.expiresAtMillis() - System.currentTimeMillis());
+        return Math.max(0, Math.min(remaining, maxTtlNanos));
+    }
+
+    private static UUID parseUserId(User user) {
+        if (!(user.principal().getValue("userId") instanceof String userId)) {
+            return null;
+        }
+        try {
+            return UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Claims of a verified token. The JSON objects are private copies that are
+     * never handed out; {@link #toUser()} copies them again for each caller.
+     */
+    private record CachedToken(JsonObject principal, JsonObject attributes, UUID userId, long expiresAtMillis) {
+        AuthenticatedUser toUser() {
+            return new AuthenticatedUser(User.create(principal.copy(), attributes.copy()), userId);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.services;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.example.models.Item;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pushes item changes to the subscribers of one verticle instance. Changes
+ * are published once on the event bus and every instance (or cluster node)
+ * hands them to its own subscribers of the owner, so a connection costs no
+ * event bus registration of its own. An event carries the owner's new
+ * version, which subscribers use as event id, the created or updated items
+ * and the ids of the deleted ones; a
+ * change of more than {@code maxEventItems} items is published as a reset
+ * telling clients to list their items again.
+ *
+ * <p>The subscriber map is only touched on this instance's event loop and
+ * needs no locking. One periodic timer sends heartbeats to all subscribers,
+ * {@value #HEARTBEAT_BATCH_SIZE} per event loop task so that other events
+ * are handled in between.
+ * Every instance records received events in the shared history; appends are
+ * idempotent per version.
+ */
+public class ItemChangeFeed {
+    public static final String ADDRESS = "items.changed";
+    private static final int HEARTBEAT_BATCH_SIZE = 1000;
+
+    private final Vertx vertx;
+    private final ItemChangeHistory history;
+    private final int maxEventItems;
+    private final long heartbeatMillis;
+    private final Map<UUID, Set<ItemChangeSubscriber>> subscribers = new HashMap<>();
+    private MessageConsumer<JsonObject> consumer;
+    private long heartbeatTimer = -1;
+    private boolean heartbeating;
+    private int subscriberCount;
+    private long deliveredCount;
+    private long resetCount;
+
+    public ItemChangeFeed(Vertx vertx, ItemChangeHistory history, int maxEventItems, long heartbeatMillis) {
+        this.vertx = vertx;
+        this.history = history;
+        this.maxEventItems = maxEventItems;
+        this.heartbeatMillis = heartbeatMillis;
+    }
+
+    public Future<Void> start() {
+        consumer = vertx.eventBus().consumer(ADDRESS, message -> deliver(message.body()));
+        heartbeatTimer = vertx.setPeriodic(heartbeatMillis, id -> startHeartbeat());
+        Promise<Void> registered = Promise.promise();
+        consumer.completionHandler(registered);
+        return registered.future();
+    }
+
+    public Future<Void> stop() {
+        vertx.cancelTimer(heartbeatTimer);
+        return consumer != null ? consumer.unregister() : Future.succeededFuture();
+    }
+
+    /**
+     * Publishes a change of the owner's items. Without a version the event
+     * cannot be resumed from and is not kept in the history.
+     */
+    public void publish(UUID owner, Long version, List<Item> items) {
+        JsonObject event = new JsonObject()
+                .put("owner", owner.toString())
+                .put("version", version);
+        if (items.size() > maxEventItems) {
+            event.put("reset", true);
+        } else {
+            JsonArray changed = new JsonArray();
+            JsonArray deleted = new JsonArray();
+            for (Item item : items) {
+                if (item.isDeleted()) {
+                    deleted.add(item.getId().toString());
+                } else {
+                    changed.add(new JsonObject()
+                            .put("id", item.getId().toString())
+                            .put("title", item.getTitle()));
+                }
+            }
+            event.put("items", changed);
+            if (!deleted.isEmpty()) {
+                event.put("deleted", deleted);
+            }
+        }
+        vertx.eventBus().publish(ADDRESS, event);
+    }
+
+    public void subscribe(ItemChangeSubscriber subscriber) {
+        if (subscribers.computeIfAbsent(subscriber.getOwner(), owner -> new LinkedHashSet<>()).add(subscriber)) {
+            subscriberCount++;
+        }
+    }
+
+    public void unsubscribe(ItemChangeSubscriber subscriber) {
+        Set<ItemChangeSubscriber> owned = subscribers.get(subscriber.getOwner());
+        if (owned != null && owned.remove(subscriber)) {
+            subscriberCount--;
+            if (owned.isEmpty()) {
+                subscribers.remove(subscriber.getOwner());
+            }
+        }
+    }
+
+    /**
+     * The owner's events after {@code version}, or {@code null} when they
+     * are no longer all known.
+     */
+    public List<JsonObject> replay(UUID owner, long version) {
+        return history.since(owner, version);
+    }
+
+    /**
+     * Counts a reset sent to a subscriber that could not be given the
+     * events it missed.
+     */
+    public void recordReset() {
+        resetCount++;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount;
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    public long getResetCount() {
+        return resetCount;
+    }
+
+    /**
+     * Takes a snapshot of the subscribers and heartbeats them in batches.
+     * A tick that comes while the previous round is still going is skipped.
+     */
+    private void startHeartbeat() {
+        if (heartbeating || subscriberCount == 0) {
+            return;
+        }
+        List<ItemChangeSubscriber> round = new ArrayList<>(subscriberCount);
+        subscribers.values().forEach(round::addAll);
+        heartbeating = true;
+        heartbeat(round, 0);
+    }
+
+    private void heartbeat(List<ItemChangeSubscriber> round, int from) {
+        int to = Math.min(from + HEARTBEAT_BATCH_SIZE, round.size());
+        for (int i = from; i < to; i++) {
+            round.get(i).onHeartbeat();
+        }
+        if (to < round.size()) {
+            vertx.runOnContext(v -> heartbeat(round, to));
+        } else {
+            heartbeating = false;
+        }
+    }
+
+    private void deliver(JsonObject event) {
+        UUID owner = UUID.fromString(event.getString("owner"));
+        if (event.getLong("version") != null) {
+            history.append(owner, event);
+        }
+        Set<ItemChangeSubscriber> owned = subscribers.get(owner);
+        if (owned != null) {
+            for (ItemChangeSubscriber subscriber : List.copyOf(owned)) {
+                subscriber.onChange(event);
+                deliveredCount++;
+            }
+        }
+    }
+}
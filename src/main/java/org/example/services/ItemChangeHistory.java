@@ -0,0 +1,77 @@
+package org.example.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.core.json.JsonObject;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The most recent change events of each owner, kept so that a client that
+ * reconnects to the change feed can be sent what it missed. At most
+ * {@code eventsPerOwner} events are kept per owner and the owners are
+ * bounded and expire after inactivity. Events are ordered by version;
+ * appending a version that is already kept is ignored, so every verticle
+ * instance may append the same event. Shared by all instances.
+ */
+public class ItemChangeHistory {
+    private final Cache<UUID, ArrayDeque<JsonObject>> owners;
+    private final int eventsPerOwner;
+
+    public ItemChangeHistory(long maxOwners, int eventsPerOwner, Duration ttl) {
+        this.eventsPerOwner = eventsPerOwner;
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maxOwners)
+                .expireAfterAccess(ttl)
+                .build();
+    }
+
+    public void append(UUID owner, JsonObject event) {
+        long version = event.getLong("version");
+        ArrayDeque<JsonObject> events = owners.get(owner, key -> new ArrayDeque<>());
+        synchronized (events) {
+            if (!events.isEmpty() && events.peekLast().getLong("version") >= version) {
+                return;
+            }
+            if (events.size() == eventsPerOwner) {
+                events.pollFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    /**
+     * Returns the events after {@code version}, or {@code null} when they
+     * cannot all be replayed: the owner has no history, or a version after
+     * {@code version} is not kept.
+     */
+    public List<JsonObject> since(UUID owner, long version) {
+        ArrayDeque<JsonObject> events = owners.getIfPresent(owner);
+        if (events == null) {
+            return null;
+        }
+        synchronized (events) {
+            if (events.isEmpty()) {
+                return null;
+            }
+            List<JsonObject> missed = new ArrayList<>();
+            long expected = version + 1;
+            for (JsonObject event : events) {
+                long eventVersion = event.getLong("version");
+                if (eventVersion < expected) {
+                    continue;
+                }
+                if (eventVersion > expected) {
+                    return null;
+                }
+                missed.add(event);
+                expected++;
+            }
+            return missed;
+        }
+    }
+}
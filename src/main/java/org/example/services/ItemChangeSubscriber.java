@@ -0,0 +1,26 @@
+package org.example.services;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.UUID;
+
+/**
+ * A client connection of the change feed. Called on the event loop of the
+ * verticle instance the connection belongs to.
+ */
+public interface ItemChangeSubscriber {
+    UUID getOwner();
+
+    /**
+     * Delivers an event published by {@link ItemChangeFeed#publish}. Events
+     * may repeat, be missing, and arrive out of version order: concurrent
+     * writes, possibly on other instances, publish in whatever order they
+     * complete.
+     */
+    void onChange(JsonObject event);
+
+    /**
+     * Keeps an idle connection from being closed by proxies.
+     */
+    void onHeartbeat();
+}
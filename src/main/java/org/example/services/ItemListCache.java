@@ -0,0 +1,74 @@
+package org.example.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.example.streams.CapturingReadStream;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Caches the encoded GET /items response body per owner. Entries are bounded
+ * by their total size in bytes and expire after a fixed time; eviction uses
+ * Caffeine's W-TinyLFU policy. The cache is thread-safe and meant to be shared
+ * by all verticle instances.
+ *
+ * <p>Bodies are captured while they are streamed to a client. Every capture
+ * registers a load token first and is only stored if the token is still
+ * present when the stream ends, so a write that invalidates the owner while a
+ * listing is in flight cannot be overwritten by the stale body.
+ */
+public class ItemListCache {
+    private final Cache<UUID, Buffer> bodies;
+    private final Cache<UUID, Object> pendingLoads;
+    private final long maxEntryBytes;
+
+    public ItemListCache(long maxWeightBytes, long maxEntryBytes, Duration ttl) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((UUID owner, Buffer body) -> body.length())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.pendingLoads = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Buffer get(UUID owner) {
+        return bodies.getIfPresent(owner);
+    }
+
+    public ReadStream<Buffer> capture(UUID owner, ReadStream<Buffer> source) {
+        Object token = new Object();
+        pendingLoads.put(owner, token);
+        return new CapturingReadStream(source, maxEntryBytes, body -> complete(owner, token, body));
+    }
+
+    private void complete(UUID owner, Object token, Buffer body) {
+        pendingLoads.asMap().computeIfPresent(owner, (key, current) -> {
+            if (current == token) {
+                bodies.put(owner, body);
+                return null;
+            }
+            return current;
+        });
+    }
+
+    public void invalidate(UUID owner) {
+        pendingLoads.invalidate(owner);
+        bodies.invalidate(owner);
+    }
+
+    public CacheStats getStats() {
+        return bodies.stats();
+    }
+
+    public long getEstimatedSize() {
+        return bodies.estimatedSize();
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.services;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight loading of encoded item lists: while one load for an owner
+ * is in flight, further requests for the same owner wait for it instead of
+ * querying again, and all of them get the same buffer. The first caller (the
+ * leader) reads the listing stream into a buffer; the others are coalesced.
+ * Lists larger than {@code maxBodyBytes} are not shared: the read is
+ * abandoned and every caller gets {@code null}, to stream the list itself.
+ * The map of pending loads is a {@link ConcurrentHashMap}, so callers only
+ * contend on the same owner, and the coalescer is meant to be shared by all
+ * verticle instances. Coalesced callers are completed on their own context.
+ *
+ * <p>A write must {@link #forget} the owner once it is stored: requests
+ * arriving after that start a new load instead of joining one that may have
+ * read the list before the write.
+ */
+public class ItemReadCoalescer {
+    private final Map<UUID, Future<Buffer>> inFlight = new ConcurrentHashMap<>();
+    private final long maxBodyBytes;
+    private final LongAdder leaderCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder oversizedCount = new LongAdder();
+
+    public ItemReadCoalescer(long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public Future<Buffer> load(UUID owner, Supplier<ReadStream<Buffer>> listing) {
+        Promise<Buffer> promise = Promise.promise();
+        Future<Buffer> pending = inFlight.putIfAbsent(owner, promise.future());
+        if (pending != null) {
+            coalescedCount.increment();
+            return onCallerContext(pending);
+        }
+
+        leaderCount.increment();
+        Future<Buffer> load;
+        try {
+            load = collect(listing.get());
+        } catch (Exception e) {
+            load = Future.failedFuture(e);
+        }
+        load.onComplete(ar -> {
+            inFlight.remove(owner, promise.future());
+            promise.handle(ar);
+        });
+        return promise.future();
+    }
+
+    public void forget(UUID owner) {
+        inFlight.remove(owner);
+    }
+
+    private Future<Buffer> collect(ReadStream<Buffer> stream) {
+        Promise<Buffer> promise = Promise.promise();
+        Buffer body = Buffer.buffer();
+        stream.exceptionHandler(promise::tryFail);
+        stream.endHandler(v -> promise.tryComplete(body));
+        stream.handler(chunk -> {
+            if (body.length() + chunk.length() > maxBodyBytes) {
+                // Clearing the handler closes the cursor behind the stream.
+                stream.handler(null);
+                oversizedCount.increment();
+                promise.tryComplete(null);
+            } else {
+                body.appendBuffer(chunk);
+            }
+        });
+        return promise.future();
+    }
+
+    private static Future<Buffer> onCallerContext(Future<Buffer> pending) {
+        Context context = Vertx.currentContext();
+        if (context == null) {
+            return pending;
+        }
+        Promise<Buffer> promise = Promise.promise();
+        pending.onComplete(ar -> {
+            if (Vertx.currentContext() == context) {
+                promise.handle(ar);
+            } else {
+                context.runOnContext(v -> promise.handle(ar));
+            }
+        });
+        return promise.future();
+    }
+
+    public long getLeaderCount() {
+        return leaderCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public long getOversizedCount() {
+        return oversizedCount.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.services;
+
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the item writes in flight per owner, so that a delta sync never
+ * hands out a watermark past a sequence that is reserved but not stored yet.
+ * Writes store their items in whatever order they finish, not in the order
+ * their sequences were reserved; without this a sync could return sequence 6
+ * while 5 is still being written, and the client would never ask for 5.
+ *
+ * <p>The same goes for versions: a write's version is bumped when it
+ * reserves its sequences, before it is stored, so a version read while
+ * writes are in flight may name items no one can list yet.
+ * {@link #settledVersion} tells which version is safe to hand out.
+ *
+ * <p>A write is registered before it reserves its sequences, since until the
+ * reservation returns its sequences could be anything above the last
+ * watermark. Meant to be shared by all verticle instances of one process;
+ * writes made by other processes are not seen.
+ */
+public class ItemSequenceTracker {
+    private final ConcurrentHashMap<UUID, Writes> owners = new ConcurrentHashMap<>();
+
+    public Write begin(UUID owner) {
+        owners.compute(owner, (key, writes) -> {
+            Writes pending = writes != null ? writes : new Writes();
+            synchronized (pending) {
+                pending.unassigned++;
+            }
+            return pending;
+        });
+        return new Write(owner);
+    }
+
+    /**
+     * Returns the highest sequence up to which all of the owner's writes
+     * started so far are stored: {@link Long#MAX_VALUE} with none in flight,
+     * {@link Long#MIN_VALUE} while one has not reserved its sequences yet.
+     * Must be read before the items are, so that writes finishing in between
+     * are still accounted for.
+     */
+    public long stableUpTo(UUID owner) {
+        Writes writes = owners.get(owner);
+        if (writes == null) {
+            return Long.MAX_VALUE;
+        }
+        synchronized (writes) {
+            if (writes.unassigned > 0) {
+                return Long.MIN_VALUE;
+            }
+            return writes.assigned.isEmpty() ? Long.MAX_VALUE : writes.assigned.first() - 1;
+        }
+    }
+
+    /**
+     * Returns the highest version, up to the {@code version} just read, at
+     * which all of the owner's writes are stored: {@code version} itself with
+     * none in flight, or {@code null} while one has not reserved its version
+     * yet. Must be called after the version is read, so that writes that
+     * reserved it are still seen as in flight.
+     */
+    public Long settledVersion(UUID owner, long version) {
+        Writes writes = owners.get(owner);
+        if (writes == null) {
+            return version;
+        }
+        synchronized (writes) {
+            if (writes.unassigned > 0) {
+                return null;
+            }
+            return writes.versions.isEmpty() ? version : Math.min(version, writes.versions.first() - 1);
+        }
+    }
+
+    private static final class Writes {
+        private int unassigned;
+        // First sequence of every reservation not yet stored
+        private final TreeSet<Long> assigned = new TreeSet<>();
+        // Version of every reservation not yet stored
+        private final TreeSet<Long> versions = new TreeSet<>();
+
+        boolean isEmpty() {
+            return unassigned == 0 && assigned.isEmpty();
+        }
+    }
+
+    /**
+     * One write in flight. {@link #end} must be called once it is stored or
+     * has failed, whether or not it got its sequences.
+     */
+    public final class Write {
+        private final UUID owner;
+        private Long first;
+        private long version;
+        private boolean ended;
+
+        private Write(UUID owner) {
+            this.owner = owner;
+        }
+
+        public void assign(long firstSequence, long reservedVersion) {
+            owners.computeIfPresent(owner, (key, writes) -> {
+                synchronized (writes) {
+                    if (first == null && !ended) {
+                        writes.unassigned--;
+                        writes.assigned.add(firstSequence);
+                        writes.versions.add(reservedVersion);
+                        first = firstSequence;
+                        version = reservedVersion;
+                    }
+                }
+                return writes;
+            });
+        }
+
+        public void end() {
+            owners.computeIfPresent(owner, (key, writes) -> {
+                synchronized (writes) {
+                    if (!ended) {
+                        ended = true;
+                        if (first == null) {
+                            writes.unassigned--;
+                        } else {
+                            writes.assigned.remove(first);
+                            writes.versions.remove(version);
+                        }
+                    }
+                    return writes.isEmpty() ? null : writes;
+                }
+            });
+        }
+    }
+}
@@ -1,23 +1,63 @@
 package org.example.services;
 
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import org.example.exceptions.ApiException;
 import org.example.exceptions.ErrorReason;
 import org.example.models.Item;
 import org.example.repositories.ItemRepository;
+import org.example.repositories.ItemVersionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 public class ItemService {
     private static final Logger logger = LoggerFactory.getLogger(ItemService.class);
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 10000;
+    private static final int DEFAULT_BATCH_CHUNK_SIZE = 1000;
+    private static final Duration TOMBSTONE_TTL = Duration.ofDays(30);
     private final ItemRepository itemRepository;
+    private final ItemListCache itemListCache;
+    private final ItemVersionRepository itemVersionRepository;
+    private final ItemSequenceTracker itemSequenceTracker;
+    private final ItemReadCoalescer itemReadCoalescer;
+    private final ItemChangeFeed itemChangeFeed;
+    private final int maxBatchSize;
+    private final int batchChunkSize;
 
     public ItemService(ItemRepository itemRepository) {
-        this.itemRepository = itemRepository;
+        this(builder(itemRepository));
+    }
+
+    private ItemService(Builder builder) {
+        this.itemRepository = builder.itemRepository;
+        this.itemListCache = builder.itemListCache;
+        this.itemVersionRepository = builder.itemVersionRepository;
+        this.itemSequenceTracker = builder.itemSequenceTracker != null
+                ? builder.itemSequenceTracker
+                : new ItemSequenceTracker();
+        this.itemReadCoalescer = builder.itemReadCoalescer;
+        this.itemChangeFeed = builder.itemChangeFeed;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.batchChunkSize = builder.batchChunkSize;
+    }
+
+    public static Builder builder(ItemRepository itemRepository) {
+        return new Builder(itemRepository);
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
     }
 
     public Future<Void> createItem(UUID userId, String title) {
@@ -25,16 +65,375 @@ public class ItemService {
             return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
         }
         Item item = new Item(userId, title);
-        return itemRepository.save(item)
-                .map(id -> null);
+        return write(userId, 1, seq -> itemRepository.save(numbered(item, seq)), id -> List.of(item))
+                .mapEmpty();
+    }
+
+    /**
+     * Creates one item per title. Invalid titles are rejected individually
+     * and do not prevent the valid ones from being stored. The result holds
+     * one entry per title, in request order: {@code {"id": ...}} for a created
+     * item or {@code {"error": ...}} for a rejected one.
+     */
+    public Future<JsonArray> createItems(UUID userId, List<String> titles) {
+        if (titles == null || titles.isEmpty() || titles.size() > maxBatchSize) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        List<Item> items = new ArrayList<>(titles.size());
+        for (String title : titles) {
+            if (title != null && !title.trim().isEmpty()) {
+                items.add(new Item(userId, title));
+            }
+        }
+
+        Future<List<ErrorReason>> saved = items.isEmpty()
+                ? itemRepository.saveAll(items, batchChunkSize)
+                : write(userId, items.size(), seq -> {
+                    for (int i = 0; i < items.size(); i++) {
+                        numbered(items.get(i), seq != null ? seq + i : null);
+                    }
+                    return itemRepository.saveAll(items, batchChunkSize);
+                }, errors -> {
+                    List<Item> stored = new ArrayList<>(items.size());
+                    for (int i = 0; i < items.size(); i++) {
+                        if (errors.get(i) == null) {
+                            stored.add(items.get(i));
+                        }
+                    }
+                    return stored;
+                });
+        return saved
+                .map(errors -> {
+                    JsonArray results = new JsonArray();
+                    int stored = 0;
+                    for (String title : titles) {
+                        if (title == null || title.trim().isEmpty()) {
+                            results.add(errorResult(ErrorReason.INVALID_REQUEST));
+                            continue;
+                        }
+                        ErrorReason error = errors.get(stored);
+                        results.add(error == null
+                                ? new JsonObject().put("id", items.get(stored).getId().toString())
+                                : errorResult(error));
+                        stored++;
+                    }
+                    return results;
+                });
+    }
+
+    /**
+     * Returns one page of the user's items ordered by id. The {@code next}
+     * cursor is only set when more items follow; pass it back as {@code after}
+     * to fetch the next page.
+     */
+    public Future<JsonObject> getUserItemsPage(UUID userId, UUID after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        return itemRepository.findPageByOwner(userId, after, limit + 1)
+                .map(items -> {
+                    boolean hasMore = items.size() > limit;
+                    List<Item> page = hasMore ? items.subList(0, limit) : items;
+                    JsonArray pageItems = page.stream()
+                            .map(this::toJson)
+                            .collect(JsonArray::new, JsonArray::add, JsonArray::addAll);
+                    return new JsonObject()
+                            .put("items", pageItems)
+                            .put("next", hasMore ? page.get(limit - 1).getId().toString() : null);
+                });
+    }
+
+    /**
+     * Returns the user's item with its {@code version}, or fails with
+     * {@link ErrorReason#NOT_FOUND}.
+     */
+    public Future<JsonObject> getItem(UUID userId, UUID itemId) {
+        return itemRepository.findById(userId, itemId)
+                .map(item -> {
+                    if (item == null) {
+                        throw new ApiException(ErrorReason.NOT_FOUND);
+                    }
+                    return toItemJson(item);
+                });
+    }
+
+    /**
+     * Changes the title of the user's item and returns the item with its new
+     * version. With an {@code expectedVersion} the change only applies while
+     * the item is still at that version, and fails with
+     * {@link ErrorReason#VERSION_CONFLICT} otherwise.
+     */
+    public Future<JsonObject> updateItem(UUID userId, UUID itemId, String title, Long expectedVersion) {
+        if (title == null || title.trim().isEmpty()) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        return write(userId, 1, seq -> itemRepository.update(userId, itemId, title, seq, expectedVersion),
+                        ItemService::changed)
+                .map(item -> {
+                    if (item == null) {
+                        throw new ApiException(ErrorReason.NOT_FOUND);
+                    }
+                    return toItemJson(item);
+                });
     }
 
-    public Future<JsonArray> getUserItems(UUID userId) {
-        return itemRepository.findByOwner(userId)
-                .map(items -> items.stream()
-                        .map(item -> new JsonObject()
-                                .put("id", item.getId().toString())
-                                .put("title", item.getTitle()))
-                        .collect(JsonArray::new, JsonArray::add, JsonArray::addAll));
+    /**
+     * Deletes the user's item, under the same version check as
+     * {@link #updateItem}. The item is kept as a tombstone for
+     * {@link #TOMBSTONE_TTL} so that delta syncs can report the deletion.
+     */
+    public Future<Void> deleteItem(UUID userId, UUID itemId, Long expectedVersion) {
+        Instant expiresAt = Instant.now().plus(TOMBSTONE_TTL);
+        return write(userId, 1, seq -> itemRepository.delete(userId, itemId, seq, expectedVersion, expiresAt),
+                        ItemService::changed)
+                .map(item -> {
+                    if (item == null) {
+                        throw new ApiException(ErrorReason.NOT_FOUND);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Returns at most {@code limit} of the user's items written after the
+     * {@code since} watermark, ordered by sequence, and the watermark to pass
+     * next time. Deleted items are listed as
+     * {@code {"id", "seq", "deleted"}}. The watermark only moves past
+     * sequences whose writes have all finished, so items beyond it may be
+     * returned again by the next sync; {@code more} is set when further items
+     * may follow right away.
+     * When {@code since} predates the tombstones still kept, deletions may
+     * have been missed: no items are returned and {@code reset} is set,
+     * with the watermark to sync from after listing all items again.
+     */
+    public Future<JsonObject> getUserItemsSince(UUID userId, long since, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE || since < 0 || itemVersionRepository == null) {
+            return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
+        }
+
+        long stableUpTo = itemSequenceTracker.stableUpTo(userId);
+        Future<ItemVersionRepository.SequenceHorizon> horizon = since > 0
+                ? itemVersionRepository.findSequenceHorizon(userId, Instant.now().minus(TOMBSTONE_TTL))
+                : Future.succeededFuture();
+        Future<List<Item>> changed = itemRepository.findChangedSince(userId, since, limit + 1);
+        return Future.all(horizon, changed)
+                .map(v -> {
+                    if (horizon.result() != null && since < horizon.result().reservedBefore()) {
+                        // Read after the horizon, so that writes reserved before it are accounted for.
+                        long settled = Math.min(horizon.result().lastSequence(), itemSequenceTracker.stableUpTo(userId));
+                        return new JsonObject()
+                                .put("items", new JsonArray())
+                                .put("watermark", Math.max(0L, settled))
+                                .put("more", false)
+                                .put("reset", true);
+                    }
+                    List<Item> items = changed.result();
+                    boolean hasMore = items.size() > limit;
+                    List<Item> page = hasMore ? items.subList(0, limit) : items;
+                    long watermark = page.isEmpty() ? since : page.get(page.size() - 1).getSeq();
+                    JsonArray pageItems = page.stream()
+                            .map(this::toChangeJson)
+                            .collect(JsonArray::new, JsonArray::add, JsonArray::addAll);
+                    return new JsonObject()
+                            .put("items", pageItems)
+                            .put("watermark", Math.max(since, Math.min(watermark, stableUpTo)))
+                            .put("more", hasMore);
+                });
+    }
+
+    /**
+     * Returns the current version of the user's items, which changes with
+     * every write to them. A write bumps the version before it stores its
+     * items, so this is the highest version whose writes are all stored, as
+     * far as this process knows; {@code null} when versions are not tracked
+     * or a write is still reserving its version. The version is read before
+     * the items, so a listing is never older than the version sent with it.
+     */
+    public Future<Long> getItemsVersion(UUID userId) {
+        if (itemVersionRepository == null) {
+            return Future.succeededFuture();
+        }
+        return itemVersionRepository.findVersion(userId)
+                .map(version -> itemSequenceTracker.settledVersion(userId, version));
+    }
+
+    /**
+     * Returns the cached JSON body of the user's full item list, or
+     * {@code null} when it is not cached.
+     */
+    public Buffer getCachedUserItems(UUID userId) {
+        return itemListCache != null ? itemListCache.get(userId) : null;
+    }
+
+    /**
+     * Streams all of the user's items as a JSON array, without holding the
+     * whole result in memory. Small enough results are captured into the
+     * cache on the way through.
+     */
+    public ReadStream<Buffer> streamUserItems(UUID userId) {
+        ReadStream<Buffer> stream = itemRepository.streamListingJson(userId);
+        return itemListCache != null ? itemListCache.capture(userId, stream) : stream;
+    }
+
+    /**
+     * Returns the user's full item list as one JSON buffer, loaded once for
+     * all concurrent callers through the {@link ItemReadCoalescer}. Completes
+     * with {@code null} when reads are not coalesced or the list is too large
+     * to share; {@link #streamUserItems} is then the way to send it.
+     */
+    public Future<Buffer> loadUserItems(UUID userId) {
+        if (itemReadCoalescer == null) {
+            return Future.succeededFuture();
+        }
+        return itemReadCoalescer.load(userId, () -> streamUserItems(userId));
+    }
+
+    /**
+     * Reserves {@code count} sequences, which also bumps the owner's version,
+     * and runs the write with the first of them, or with {@code null} when
+     * sequences are not kept. Then announces the items {@code changed} picks
+     * from the write's result. Fails without writing when no sequences can be
+     * reserved, since items stored without one would never show up in a
+     * delta sync.
+     *
+     * <p>The write is tracked as in flight from before the reservation until
+     * its changes are announced, so {@link #getItemsVersion} does not hand
+     * out its version with a listing read before it was stored.
+     */
+    private <T> Future<T> write(UUID userId, int count, Function<Long, Future<T>> write,
+                                Function<T, List<Item>> changed) {
+        if (itemVersionRepository == null) {
+            return write.apply(null)
+                    .onSuccess(result -> itemsChanged(userId, null, changed.apply(result)));
+        }
+        ItemSequenceTracker.Write pending = itemSequenceTracker.begin(userId);
+        return itemVersionRepository.reserveSequence(userId, count)
+                .compose(reservation -> {
+                    long first = reservation.lastSequence() - count + 1;
+                    pending.assign(first, reservation.version());
+                    return write.apply(first)
+                            .onComplete(ar -> itemsChanged(userId, reservation.version(),
+                                    ar.succeeded() ? changed.apply(ar.result()) : List.of()));
+                })
+                .onComplete(ar -> pending.end());
+    }
+
+    private static List<Item> changed(Item item) {
+        return item != null ? List.of(item) : List.of();
+    }
+
+    private static Item numbered(Item item, Long seq) {
+        item.setSeq(seq);
+        return item;
+    }
+
+    /**
+     * Drops cached and in-flight listings, so no one is handed a listing read
+     * before the write together with its version, and publishes the stored
+     * items with that version to the change feed. A write that changed
+     * nothing still used up a version and publishes it with no items, so
+     * that subscribers do not take the version as missed.
+     */
+    private void itemsChanged(UUID userId, Long version, List<Item> items) {
+        if (items.isEmpty() && version == null) {
+            return;
+        }
+        if (itemListCache != null) {
+            itemListCache.invalidate(userId);
+        }
+        if (itemReadCoalescer != null) {
+            itemReadCoalescer.forget(userId);
+        }
+        if (itemChangeFeed != null) {
+            itemChangeFeed.publish(userId, version, items);
+        }
+    }
+
+    private JsonObject errorResult(ErrorReason errorReason) {
+        return new JsonObject().put("error", errorReason.getMessage());
+    }
+
+    private JsonObject toJson(Item item) {
+        return new JsonObject()
+                .put("id", item.getId().toString())
+                .put("title", item.getTitle());
+    }
+
+    private JsonObject toItemJson(Item item) {
+        return toJson(item).put("version", item.getVersion());
+    }
+
+    private JsonObject toChangeJson(Item item) {
+        if (item.isDeleted()) {
+            return new JsonObject()
+                    .put("id", item.getId().toString())
+                    .put("seq", item.getSeq())
+                    .put("deleted", true);
+        }
+        return toJson(item).put("seq", item.getSeq());
+    }
+
+    /**
+     * Collects the optional collaborators of an {@link ItemService}; any that
+     * is not set is done without. Items only get sequences, and delta syncs
+     * are only served, with an {@link #itemVersionRepository}; without a
+     * shared {@link #itemSequenceTracker} only this service's writes are
+     * tracked.
+     */
+    public static final class Builder {
+        private final ItemRepository itemRepository;
+        private ItemListCache itemListCache;
+        private ItemVersionRepository itemVersionRepository;
+        private ItemSequenceTracker itemSequenceTracker;
+        private ItemReadCoalescer itemReadCoalescer;
+        private ItemChangeFeed itemChangeFeed;
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private int batchChunkSize = DEFAULT_BATCH_CHUNK_SIZE;
+
+        private Builder(ItemRepository itemRepository) {
+            this.itemRepository = itemRepository;
+        }
+
+        public Builder itemListCache(ItemListCache itemListCache) {
+            this.itemListCache = itemListCache;
+            return this;
+        }
+
+        public Builder itemVersionRepository(ItemVersionRepository itemVersionRepository) {
+            this.itemVersionRepository = itemVersionRepository;
+            return this;
+        }
+
+        public Builder itemSequenceTracker(ItemSequenceTracker itemSequenceTracker) {
+            this.itemSequenceTracker = itemSequenceTracker;
+            return this;
+        }
+
+        public Builder itemReadCoalescer(ItemReadCoalescer itemReadCoalescer) {
+            this.itemReadCoalescer = itemReadCoalescer;
+            return this;
+        }
+
+        public Builder itemChangeFeed(ItemChangeFeed itemChangeFeed) {
+            this.itemChangeFeed = itemChangeFeed;
+            return this;
+        }
+
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder batchChunkSize(int batchChunkSize) {
+            this.batchChunkSize = batchChunkSize;
+            return this;
+        }
+
+        public ItemService build() {
+            return new ItemService(this);
+        }
     }
-}
\ No newline at end of file
+}
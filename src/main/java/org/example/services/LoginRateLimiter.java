@@ -0,0 +1,151 @@
+package org.example.services;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits login attempts per login and per client address with sliding
+ * windows, so over-limit attempts can be refused before any database lookup
+ * or BCrypt work. Keys are hashed onto a fixed number of stripes, which
+ * bounds memory no matter how many distinct logins or addresses are seen;
+ * keys sharing a stripe share its budget, so the stripe count should be well
+ * above the number of keys active within one window. All state is updated
+ * with compare-and-set, without locks.
+ */
+public class LoginRateLimiter {
+    private final Window perLogin;
+    private final Window perAddress;
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public LoginRateLimiter(int stripes, int maxAttemptsPerLogin, int maxAttemptsPerAddress, long windowMillis) {
+        this.perLogin = new Window(stripes, maxAttemptsPerLogin, windowMillis);
+        this.perAddress = new Window(stripes, maxAttemptsPerAddress, windowMillis);
+    }
+
+    /**
+     * Records an attempt and returns whether it is within both limits. A
+     * refused attempt is not counted against either limit, so clients that
+     * keep retrying do not extend their own lockout, and attempts on a locked
+     * login do not use up the address budget.
+     */
+    public boolean tryAcquire(String login, String address) {
+        long now = System.currentTimeMillis();
+        boolean allowed = (address == null || perAddress.hasCapacity(address, now))
+                && (login == null || perLogin.hasCapacity(login, now))
+                && acquireBoth(login, address, now);
+        if (!allowed) {
+            rejectedCount.increment();
+        }
+        return allowed;
+    }
+
+    private boolean acquireBoth(String login, String address, long now) {
+        if (address != null && !perAddress.tryAcquire(address, now)) {
+            return false;
+        }
+        if (login != null && !perLogin.tryAcquire(login, now)) {
+            // Lost a race for the last login slot; hand the address slot back.
+            if (address != null) {
+                perAddress.release(address, now);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1, perLogin.windowMillis / 1000);
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Sliding window counter: every stripe keeps the counts of the current
+     * and the previous fixed window, and the previous one is weighted by how
+     * much of it still overlaps the sliding window. Each count is packed with
+     * its window number into one long, in one of two slots chosen by the
+     * window's parity.
+     */
+    static final class Window {
+        private static final int COUNT_BITS = 24;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+        private final AtomicLongArray slots;
+        private final int mask;
+        private final int maxAttempts;
+        private final long windowMillis;
+
+        Window(int stripes, int maxAttempts, long windowMillis) {
+            int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+            this.slots = new AtomicLongArray(2 * size);
+            this.mask = size - 1;
+            this.maxAttempts = maxAttempts;
+            this.windowMillis = windowMillis;
+        }
+
+        boolean hasCapacity(String key, long nowMillis) {
+            int stripe = stripe(key);
+            long window = nowMillis / windowMillis;
+            long current = slots.get(2 * stripe + (int) (window & 1));
+            long count = (current >>> COUNT_BITS) == window ? current & COUNT_MASK : 0;
+            return count + carried(stripe, window, nowMillis) < maxAttempts && count < COUNT_MASK;
+        }
+
+        boolean tryAcquire(String key, long nowMillis) {
+            int stripe = stripe(key);
+            long window = nowMillis / windowMillis;
+            int currentSlot = 2 * stripe + (int) (window & 1);
+            double carried = carried(stripe, window, nowMillis);
+
+            while (true) {
+                long current = slots.get(currentSlot);
+                long count = (current >>> COUNT_BITS) == window ? current & COUNT_MASK : 0;
+                if (count + carried >= maxAttempts || count == COUNT_MASK) {
+                    return false;
+                }
+                if (slots.compareAndSet(currentSlot, current, (window << COUNT_BITS) | (count + 1))) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Gives back an attempt taken by {@link #tryAcquire} at the same
+         * time. Does nothing once the window has moved on.
+         */
+        void release(String key, long nowMillis) {
+            long window = nowMillis / windowMillis;
+            int currentSlot = 2 * stripe(key) + (int) (window & 1);
+            while (true) {
+                long current = slots.get(currentSlot);
+                if ((current >>> COUNT_BITS) != window || (current & COUNT_MASK) == 0) {
+                    return;
+                }
+                if (slots.compareAndSet(currentSlot, current, current - 1)) {
+                    return;
+                }
+            }
+        }
+
+        private double carried(int stripe, long window, long nowMillis) {
+            long previous = slots.get(2 * stripe + (int) ((window + 1) & 1));
+            long previousCount = (previous >>> COUNT_BITS) == window - 1 ? previous & COUNT_MASK : 0;
+            double overlap = 1 - (double) (nowMillis % windowMillis) / windowMillis;
+            return previousCount * overlap;
+        }
+
+        private int stripe(String key) {
+            return mix(key.hashCode()) & mask;
+        }
+
+        private static int mix(int h) {
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            h *= 0xC2B2AE35;
+            return h ^ (h >>> 16);
+        }
+    }
+}
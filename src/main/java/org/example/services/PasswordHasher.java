@@ -0,0 +1,188 @@
+package org.example.services;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import io.vertx.core.Future;
+import io.vertx.core.WorkerExecutor;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated worker pool, so that
+ * the event loop is never blocked by a hash. The number of pending tasks is
+ * bounded; once the limit is reached new tasks are rejected immediately with
+ * {@link ErrorReason#SERVICE_UNAVAILABLE}. New hashes use the configured
+ * cost; {@link #needsRehash} tells which stored hashes use another one.
+ */
+public class PasswordHasher {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+    public static final int DEFAULT_COST = 12;
+    public static final int MIN_COST = 4;
+    public static final int MAX_COST = 31;
+
+    private final WorkerExecutor executor;
+    private final int maxQueueSize;
+    private final int cost;
+    // Hash of a random password at the configured cost, verified in place of a real one for unknown logins.
+    private volatile String dummyHash;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger dummyInFlight = new AtomicInteger();
+    private final LongAdder dummySkippedCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public PasswordHasher(WorkerExecutor executor, int maxQueueSize) {
+        this(executor, maxQueueSize, DEFAULT_COST);
+    }
+
+    public PasswordHasher(WorkerExecutor executor, int maxQueueSize, int cost) {
+        this.executor = executor;
+        this.maxQueueSize = maxQueueSize;
+        this.cost = cost;
+    }
+
+    public Future<String> hash(String password) {
+        return submit(() -> hashPassword(password, cost));
+    }
+
+    /**
+     * Whether a stored hash was made with a different cost than the
+     * configured one (or is not a BCrypt hash this class can read).
+     */
+    public boolean needsRehash(String hash) {
+        return costOf(hash) != cost;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public Future<Boolean> verify(String password, String hash) {
+        return submit(() -> verifyPassword(password, hash));
+    }
+
+    /**
+     * Spends the same BCrypt work as {@link #verify} on a login that does not
+     * exist, so the response time does not reveal whether it does; the
+     * result is always false. At most a quarter of the queue may be taken by
+     * such verifications; beyond that they complete immediately, so a flood
+     * of unknown logins cannot crowd out real ones.
+     */
+    public Future<Boolean> verifyUnknownUser(String password) {
+        if (dummyInFlight.incrementAndGet() > Math.max(1, maxQueueSize / 4)) {
+            dummyInFlight.decrementAndGet();
+            dummySkippedCount.increment();
+            return Future.succeededFuture(false);
+        }
+        return submit(() -> {
+                    verifyPassword(password, dummyHash());
+                    return false;
+                })
+                .onComplete(ar -> dummyInFlight.decrementAndGet());
+    }
+
+    static String hashPassword(String password, int cost) {
+        return BCrypt.withDefaults().hashToString(cost, password.toCharArray());
+    }
+
+    static boolean verifyPassword(String password, String hash) {
+        return BCrypt.verifyer().verify(password.toCharArray(), hash).verified;
+    }
+
+    /**
+     * Reads the cost from a modular crypt hash such as {@code $2a$12$...};
+     * returns -1 if the hash is not in that form.
+     */
+    static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = hash.charAt(4);
+        char units = hash.charAt(5);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    /**
+     * Made on first use, on a worker thread, so its cost always matches the
+     * configured one.
+     */
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = hashPassword(UUID.randomUUID().toString(), cost);
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        if (queueDepth.incrementAndGet() > maxQueueSize) {
+            queueDepth.decrementAndGet();
+            rejectedCount.increment();
+            logger.warn("Password hashing queue is full ({} pending), rejecting request", maxQueueSize);
+            return Future.failedFuture(new ApiException(ErrorReason.SERVICE_UNAVAILABLE));
+        }
+
+        return executor.<T>executeBlocking(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        return task.call();
+                    } finally {
+                        recordLatency(System.nanoTime() - start);
+                    }
+                }, false)
+                .onComplete(ar -> queueDepth.decrementAndGet());
+    }
+
+    private void recordLatency(long nanos) {
+        completedCount.increment();
+        totalLatencyNanos.add(nanos);
+        maxLatencyNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getDummySkippedCount() {
+        return dummySkippedCount.sum();
+    }
+
+    public long getTotalLatencyNanos() {
+        return totalLatencyNanos.sum();
+    }
+
+    public double getAverageLatencyMillis() {
+        long count = completedCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return (double) totalLatencyNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxLatencyMillis() {
+        return (double) maxLatencyNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.services;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.jwt.JWTAuth;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+
+/**
+ * {@link JWTAuth} that rejects tokens whose {@code jti} has been revoked.
+ * The check runs after the signature and expiry are verified and only reads
+ * the in-memory {@link TokenRevocationList}. Tokens without a {@code jti}
+ * are looked up by {@link TokenRevocationList#tokenHashId(String)}.
+ */
+public class RevocationAwareJWTAuth implements JWTAuth {
+    private final JWTAuth delegate;
+    private final TokenRevocationList revocationList;
+
+    public RevocationAwareJWTAuth(JWTAuth delegate, TokenRevocationList revocationList) {
+        this.delegate = delegate;
+        this.revocationList = revocationList;
+    }
+
+    @Override
+    public String generateToken(JsonObject claims, JWTOptions options) {
+        return delegate.generateToken(claims, options);
+    }
+
+    @Override
+    public String generateToken(JsonObject claims) {
+        return delegate.generateToken(claims);
+    }
+
+    @Override
+    public void authenticate(JsonObject credentials, Handler<AsyncResult<User>> resultHandler) {
+        authenticate(credentials).onComplete(resultHandler);
+    }
+
+    @Override
+    public Future<User> authenticate(JsonObject credentials) {
+        return delegate.authenticate(credentials)
+                .compose(user -> rejectRevoked(user, credentials.getString("token")));
+    }
+
+    @Override
+    public void authenticate(Credentials credentials, Handler<AsyncResult<User>> resultHandler) {
+        authenticate(credentials).onComplete(resultHandler);
+    }
+
+    @Override
+    public Future<User> authenticate(Credentials credentials) {
+        String token = credentials instanceof TokenCredentials tokenCredentials ? tokenCredentials.getToken() : null;
+        return delegate.authenticate(credentials).compose(user -> rejectRevoked(user, token));
+    }
+
+    private Future<User> rejectRevoked(User user, String token) {
+        String jti = user.get("jti");
+        String id = jti != null || token == null ? jti : TokenRevocationList.tokenHashId(token);
+        if (revocationList.isRevoked(id)) {
+            return Future.failedFuture(new ApiException(ErrorReason.UNAUTHORIZED));
+        }
+        return Future.succeededFuture(user);
+    }
+}
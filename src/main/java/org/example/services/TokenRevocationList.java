@@ -0,0 +1,163 @@
+package org.example.services;
+
+import io.vertx.core.Future;
+import org.example.models.RevokedToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * In-memory view of the revoked tokens, consulted on every authenticated
+ * request. Lookups take no lock and do no I/O: a Bloom filter answers the
+ * common case (a token that was never revoked) without touching the exact
+ * map, which is only read on a possible hit. Entries are kept until the
+ * token's expiry; expired entries are purged, and the filter rebuilt, on a
+ * later revocation. Writes are rare (one per logout) and synchronized.
+ *
+ * <p>Tokens issued before {@code jti} claims were added are revoked under
+ * {@link #tokenHashId(String)} instead.
+ */
+public class TokenRevocationList {
+    private static final int MIN_CAPACITY = 1024;
+    private static final long PURGE_INTERVAL_SECONDS = 60;
+    private static final String TOKEN_HASH_PREFIX = "sha256:";
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter = new BloomFilter(MIN_CAPACITY);
+    private long nextPurgeAt;
+    private Future<Void> loaded;
+
+    /**
+     * Revocation id for a token without a {@code jti} claim: the SHA-256 of
+     * the encoded token, prefixed so it cannot collide with a UUID jti.
+     */
+    public static String tokenHashId(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return TOKEN_HASH_PREFIX + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /**
+     * Adds a token id that stays revoked until {@code expiresAt} (epoch
+     * seconds). Returns false if it was already known.
+     */
+    public synchronized boolean revoke(String jti, long expiresAt) {
+        long now = System.currentTimeMillis() / 1000;
+        if (now >= nextPurgeAt) {
+            nextPurgeAt = now + PURGE_INTERVAL_SECONDS;
+            purgeExpired(now);
+        }
+        if (expiresAt <= now || revoked.putIfAbsent(jti, expiresAt) != null) {
+            return false;
+        }
+        if (revoked.size() > filter.capacity) {
+            rebuild();
+        } else {
+            filter.add(jti);
+        }
+        return true;
+    }
+
+    /**
+     * Loads the persisted revocations the first time it is called; later
+     * calls, from any verticle instance, share the same result. A failed
+     * load is forgotten, so the next call tries again.
+     */
+    public synchronized Future<Void> loadOnce(Supplier<Future<List<RevokedToken>>> loader) {
+        Future<Void> load = loaded;
+        if (load == null) {
+            load = loader.get()
+                    .onSuccess(tokens -> tokens.forEach(token -> revoke(token.getJti(), token.getExpiresAt())))
+                    .mapEmpty();
+            loaded = load;
+            Future<Void> attempt = load;
+            load.onFailure(err -> forgetLoad(attempt));
+        }
+        return load;
+    }
+
+    private synchronized void forgetLoad(Future<Void> load) {
+        if (loaded == load) {
+            loaded = null;
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    synchronized void purgeExpired(long nowSeconds) {
+        if (revoked.values().removeIf(expiresAt -> expiresAt <= nowSeconds)) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(MIN_CAPACITY, revoked.size() * 2));
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+
+    /**
+     * Bloom filter sized at 16 bits per expected entry with 4 probes, which
+     * keeps false positives around 0.2% at full capacity.
+     */
+    private static final class BloomFilter {
+        private static final int BITS_PER_ENTRY = 16;
+        private static final int PROBES = 4;
+
+        private final int capacity;
+        private final AtomicLongArray bits;
+        private final int mask;
+
+        BloomFilter(int capacity) {
+            this.capacity = capacity;
+            int size = Integer.highestOneBit(capacity * BITS_PER_ENTRY - 1) << 1;
+            this.bits = new AtomicLongArray(size / Long.SIZE);
+            this.mask = size - 1;
+        }
+
+        void add(String key) {
+            int hash = mix(key.hashCode());
+            int step = mix(hash) | 1;
+            for (int i = 0; i < PROBES; i++) {
+                int bit = (hash + i * step) & mask;
+                bits.getAndAccumulate(bit >>> 6, 1L << bit, (word, flag) -> word | flag);
+            }
+        }
+
+        boolean mightContain(String key) {
+            int hash = mix(key.hashCode());
+            int step = mix(hash) | 1;
+            for (int i = 0; i < PROBES; i++) {
+                int bit = (hash + i * step) & mask;
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int mix(int h) {
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            h *= 0xC2B2AE35;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.services;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import org.example.models.RevokedToken;
+import org.example.repositories.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Revokes tokens by id. A revocation is persisted first, then applied to the
+ * local {@link TokenRevocationList} and published on the event bus so every
+ * other listener (other verticle instances, or other nodes of a cluster)
+ * applies it too. Applying a revocation twice is harmless.
+ */
+public class TokenRevocationService {
+    public static final String ADDRESS = "auth.tokens.revoked";
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final Vertx vertx;
+    private final RevokedTokenRepository repository;
+    private final TokenRevocationList revocationList;
+
+    public TokenRevocationService(Vertx vertx, RevokedTokenRepository repository,
+                                  TokenRevocationList revocationList) {
+        this.vertx = vertx;
+        this.repository = repository;
+        this.revocationList = revocationList;
+    }
+
+    /**
+     * Subscribes to revocations published by other instances and loads the
+     * persisted ones.
+     */
+    public Future<Void> start() {
+        MessageConsumer<JsonObject> consumer = vertx.eventBus().consumer(ADDRESS, message ->
+                revocationList.revoke(message.body().getString("jti"), message.body().getLong("exp")));
+        Promise<Void> registered = Promise.promise();
+        consumer.completionHandler(registered);
+        return registered.future()
+                .compose(v -> revocationList.loadOnce(() ->
+                        repository.findActive(System.currentTimeMillis() / 1000)))
+                .onSuccess(v -> logger.debug("Loaded {} revoked tokens", revocationList.size()));
+    }
+
+    public Future<Void> revoke(String jti, long expiresAt) {
+        return repository.save(new RevokedToken(jti, expiresAt))
+                .onSuccess(v -> {
+                    revocationList.revoke(jti, expiresAt);
+                    vertx.eventBus().publish(ADDRESS, new JsonObject().put("jti", jti).put("exp", expiresAt));
+                });
+    }
+
+    public boolean isRevoked(String jti) {
+        return revocationList.isRevoked(jti);
+    }
+}
@@ -11,19 +11,25 @@ import org.example.repositories.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.UUID;
 import java.util.regex.Pattern;
 
 public class UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     private final UserRepository userRepository;
     private final JWTAuth jwtAuth;
+    private final PasswordHasher passwordHasher;
+    private final TokenRevocationService tokenRevocationService;
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
             "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$"
     );
 
-    public UserService(UserRepository userRepository, JWTAuth jwtAuth) {
+    public UserService(UserRepository userRepository, JWTAuth jwtAuth, PasswordHasher passwordHasher,
+                       TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
         this.jwtAuth = jwtAuth;
+        this.passwordHasher = passwordHasher;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     public Future<Void> register(String login, String password) {
@@ -35,15 +41,10 @@ public class UserService {
             return Future.failedFuture(new ApiException(ErrorReason.INVALID_REQUEST));
         }
 
-        return userRepository.findByLogin(login)
-                .compose(existingUser -> {
-                    if (existingUser != null) {
-                        return Future.failedFuture(new ApiException(ErrorReason.USER_ALREADY_EXISTS));
-                    }
-                    User newUser = new User(login, password);
-                    return userRepository.save(newUser)
-                            .map(id -> null);
-                });
+        // A single insert: the repository reports an existing login as USER_ALREADY_EXISTS.
+        return passwordHasher.hash(password)
+                .compose(hash -> userRepository.save(new User(login, hash)))
+                .map(id -> null);
     }
 
     public Future<String> authenticate(String login, String password) {
@@ -53,22 +54,62 @@ public class UserService {
 
         return userRepository.findByLogin(login)
                 .compose(user -> {
-                    if (user == null || !user.checkPassword(password)) {
-                        return Future.failedFuture(new ApiException(ErrorReason.INVALID_CREDENTIALS));
-                    }
-                    return Future.succeededFuture(generateToken(user));
+                    Future<Boolean> verification = user == null
+                            ? passwordHasher.verifyUnknownUser(password)
+                            : passwordHasher.verify(password, user.getPassword());
+                    return verification
+                            .compose(verified -> {
+                                if (!verified) {
+                                    return Future.failedFuture(new ApiException(ErrorReason.INVALID_CREDENTIALS));
+                                }
+                                if (passwordHasher.needsRehash(user.getPassword())) {
+                                    rehash(user, password);
+                                }
+                                return Future.succeededFuture(generateToken(user));
+                            });
                 });
     }
 
-    public Future<Void> logout(String token) {
-        logger.debug("User logged out successfully");
-        return Future.succeededFuture();
+    /**
+     * Moves a hash made with another cost to the configured one, in the
+     * background: the login does not wait for it, and a failure only means
+     * the next login tries again. The update only applies if the stored hash
+     * has not changed in the meantime.
+     */
+    private void rehash(User user, String password) {
+        passwordHasher.hash(password)
+                .compose(hash -> userRepository.updatePassword(user.getId(), user.getPassword(), hash))
+                .onSuccess(updated -> logger.debug("Rehashed password of user {}: {}", user.getId(), updated))
+                .onFailure(err -> logger.warn("Failed to rehash password of user {}", user.getId(), err));
+    }
+
+    /**
+     * Revokes the token with the given id until its expiry ({@code exp},
+     * epoch seconds), so it is rejected from then on.
+     */
+    public Future<Void> logout(String jti, Long expiresAt) {
+        return logout(jti, null, expiresAt);
+    }
+
+    /**
+     * Revokes a token by its {@code jti}, or, for tokens issued before that
+     * claim existed, by the hash of the encoded {@code token}.
+     */
+    public Future<Void> logout(String jti, String token, Long expiresAt) {
+        String id = jti != null || token == null ? jti : TokenRevocationList.tokenHashId(token);
+        if (id == null || expiresAt == null) {
+            return Future.failedFuture(new ApiException(ErrorReason.UNAUTHORIZED));
+        }
+
+        return tokenRevocationService.revoke(id, expiresAt)
+                .onSuccess(v -> logger.debug("User logged out successfully"));
     }
 
-    private String generateToken(User user) {
+    String generateToken(User user) {
         JsonObject claims = new JsonObject()
                 .put("userId", user.getId().toString())
                 .put("login", user.getLogin())
+                .put("jti", UUID.randomUUID().toString())
                 .put("iat", System.currentTimeMillis() / 1000);
 
         JWTOptions options = new JWTOptions()
@@ -79,7 +120,7 @@ public class UserService {
         return jwtAuth.generateToken(claims, options);
     }
 
-    private boolean isValidEmail(String email) {
+    boolean isValidEmail(String email) {
         if (email == null) {
             return false;
         }
@@ -0,0 +1,75 @@
+package org.example.streams;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Stream of a single, already complete buffer. The buffer is emitted as soon
+ * as there is a handler and demand; the end is signalled once an end handler
+ * is set, so it is not lost when the end handler is registered after the
+ * data handler.
+ */
+public class BufferReadStream implements ReadStream<Buffer> {
+    private final Buffer buffer;
+    private Handler<Buffer> handler;
+    private Handler<Void> endHandler;
+    private long demand = Long.MAX_VALUE;
+    private boolean emitted;
+    private boolean ended;
+
+    public BufferReadStream(Buffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+        this.handler = handler;
+        drain();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        demand = 0;
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        return fetch(Long.MAX_VALUE);
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        demand = Long.MAX_VALUE - demand < amount ? Long.MAX_VALUE : demand + amount;
+        drain();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        drain();
+        return this;
+    }
+
+    private void drain() {
+        if (!emitted && handler != null && demand > 0) {
+            emitted = true;
+            if (demand != Long.MAX_VALUE) {
+                demand--;
+            }
+            handler.handle(buffer);
+        }
+        if (emitted && !ended && endHandler != null) {
+            ended = true;
+            endHandler.handle(null);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.streams;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.function.Consumer;
+
+/**
+ * Passes buffers through unchanged while keeping a copy of everything that
+ * was emitted. When the source ends the complete content is handed to the
+ * capture callback, unless it grew beyond {@code maxBytes}; in that case the
+ * copy is dropped early and the callback is never invoked.
+ */
+public class CapturingReadStream implements ReadStream<Buffer> {
+    private final ReadStream<Buffer> source;
+    private final long maxBytes;
+    private final Consumer<Buffer> onCaptured;
+    private Buffer captured = Buffer.buffer();
+
+    public CapturingReadStream(ReadStream<Buffer> source, long maxBytes, Consumer<Buffer> onCaptured) {
+        this.source = source;
+        this.maxBytes = maxBytes;
+        this.onCaptured = onCaptured;
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+        source.exceptionHandler(handler == null ? null : err -> {
+            captured = null;
+            handler.handle(err);
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+        if (handler == null) {
+            source.handler(null);
+            return this;
+        }
+        source.handler(chunk -> {
+            if (captured != null) {
+                if (captured.length() + chunk.length() > maxBytes) {
+                    captured = null;
+                } else {
+                    captured.appendBuffer(chunk);
+                }
+            }
+            handler.handle(chunk);
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        source.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        source.resume();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        source.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        if (endHandler == null) {
+            source.endHandler(null);
+            return this;
+        }
+        source.endHandler(v -> {
+            if (captured != null) {
+                onCaptured.accept(captured);
+                captured = null;
+            }
+            endHandler.handle(null);
+        });
+        return this;
+    }
+}
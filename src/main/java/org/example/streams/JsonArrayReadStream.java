@@ -0,0 +1,136 @@
+package org.example.streams;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Encodes a stream of elements as a JSON array. Each element is written by
+ * the given writer straight into a scratch buffer, which is copied out as a
+ * chunk once it holds at least {@code chunkSize} bytes and when the source
+ * ends, then reused, so the destination sees a few large writes instead of
+ * one per element. Nothing is emitted before the first chunk fills up, so a
+ * source that fails early leaves the destination untouched and the caller
+ * can still send a proper error response. An element the writer fails on stops the source and is
+ * reported to the exception handler like a failure of the source itself.
+ */
+public class JsonArrayReadStream<T> implements ReadStream<Buffer> {
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
+    private final ReadStream<T> source;
+    private final BiConsumer<T, ByteBuf> writer;
+    private final int chunkSize;
+    private Handler<Buffer> handler;
+    private Handler<Throwable> exceptionHandler;
+    private ByteBuf pending;
+    private boolean started;
+    private boolean failed;
+
+    public JsonArrayReadStream(ReadStream<T> source, BiConsumer<T, ByteBuf> writer) {
+        this(source, writer, DEFAULT_CHUNK_SIZE);
+    }
+
+    public JsonArrayReadStream(ReadStream<T> source, BiConsumer<T, ByteBuf> writer, int chunkSize) {
+        this.source = source;
+        this.writer = writer;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        source.exceptionHandler(handler);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+        this.handler = handler;
+        source.handler(handler == null ? null : this::handleElement);
+        return this;
+    }
+
+    private void handleElement(T element) {
+        if (failed) {
+            return;
+        }
+        if (pending == null) {
+            pending = Unpooled.buffer(chunkSize + chunkSize / 4);
+        }
+        try {
+            pending.writeByte(started ? ',' : '[');
+            started = true;
+            writer.accept(element, pending);
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        if (pending.readableBytes() >= chunkSize) {
+            flush();
+        }
+    }
+
+    private void fail(Throwable err) {
+        failed = true;
+        pending = null;
+        source.pause();
+        source.handler(null);
+        if (exceptionHandler != null) {
+            exceptionHandler.handle(err);
+        }
+    }
+
+    private void flush() {
+        int length = pending.readableBytes();
+        Buffer chunk = Buffer.buffer(length)
+                .appendBytes(pending.array(), pending.arrayOffset() + pending.readerIndex(), length);
+        pending.clear();
+        handler.handle(chunk);
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        source.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        source.resume();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        source.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        if (endHandler == null) {
+            source.endHandler(null);
+            return this;
+        }
+        source.endHandler(v -> {
+            if (failed) {
+                return;
+            }
+            if (handler != null) {
+                if (pending == null) {
+                    pending = Unpooled.buffer(2);
+                }
+                if (!started) {
+                    pending.writeByte('[');
+                }
+                pending.writeByte(']');
+                flush();
+            }
+            endHandler.handle(null);
+        });
+        return this;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.tools;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * Measures how long one BCrypt verification takes on this host for a range
+ * of costs and recommends the highest cost whose median verification time
+ * stays within a target, for {@code password_hashing.cost}.
+ *
+ * <p>Usage: {@code BcryptCostCalibrationTool [target_millis] [samples]}.
+ * Run it on the hardware the service runs on, while it is otherwise idle;
+ * each cost step doubles the time, so it stops one step past the target.
+ */
+public class BcryptCostCalibrationTool {
+    private static final Logger logger = LoggerFactory.getLogger(BcryptCostCalibrationTool.class);
+    private static final int MIN_COST = 8;
+    private static final int MAX_COST = 16;
+
+    public static void main(String[] args) {
+        long targetMillis = args.length > 0 ? Long.parseLong(args[0]) : 250;
+        int samples = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        if (targetMillis < 1 || samples < 1) {
+            logger.error("Target time and sample count must be positive");
+            System.exit(1);
+        }
+
+        char[] password = "calibration-password".toCharArray();
+        // Warms up the JIT so the first measured cost is not inflated.
+        BCrypt.withDefaults().hash(MIN_COST, password);
+
+        int recommended = -1;
+        for (int cost = MIN_COST; cost <= MAX_COST; cost++) {
+            double median = medianVerifyMillis(password, cost, samples);
+            logger.info("cost {}: {} ms per verification", cost, String.format("%.1f", median));
+            if (median > targetMillis) {
+                break;
+            }
+            recommended = cost;
+        }
+
+        if (recommended < 0) {
+            logger.warn("Even cost {} exceeds {} ms; use cost {} and add hashing threads", MIN_COST,
+                    targetMillis, MIN_COST);
+        } else {
+            logger.info("Recommended password_hashing.cost for a {} ms target: {}", targetMillis, recommended);
+        }
+    }
+
+    private static double medianVerifyMillis(char[] password, int cost, int samples) {
+        byte[] hash = BCrypt.withDefaults().hash(cost, password);
+        double[] millis = new double[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            BCrypt.verifyer().verify(password, hash);
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis[samples / 2];
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.tools;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.MongoClient;
+import org.example.repositories.UuidMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Converts the items and users collections to binary UUIDs; item_versions
+ * stays keyed by text.
+ *
+ * <p>Usage: {@code UuidMigrationTool [connection_string] [db_name] [batch_size]}.
+ * Run it while the service uses {@code mongodb.uuid_representation = "mixed"},
+ * then switch to {@code "binary"} once it has finished.
+ */
+public class UuidMigrationTool {
+    private static final Logger logger = LoggerFactory.getLogger(UuidMigrationTool.class);
+
+    public static void main(String[] args) {
+        String connectionString = args.length > 0 ? args[0] : "mongodb://localhost:27017";
+        String dbName = args.length > 1 ? args[1] : "vertx-items-service";
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+        Vertx vertx = Vertx.vertx();
+        MongoClient mongoClient = MongoClient.create(vertx, new JsonObject()
+                .put("connection_string", connectionString)
+                .put("db_name", dbName));
+        UuidMigration migration = new UuidMigration(mongoClient, batchSize);
+
+        migration.migrate("items", List.of("owner"))
+                .compose(items -> migration.migrate("users", List.of()))
+                .onComplete(ar -> {
+                    int status = 0;
+                    if (ar.succeeded()) {
+                        logger.info("UUID migration finished");
+                    } else {
+                        logger.error("UUID migration failed", ar.cause());
+                        status = 1;
+                    }
+                    int exitStatus = status;
+                    vertx.close().onComplete(v -> System.exit(exitStatus));
+                });
+    }
+}
@@ -7,8 +7,16 @@ import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.example.config.JWTConfig;
+import org.example.config.PasswordHashingConfig;
 import org.example.handlers.AuthHandler;
+import org.example.handlers.LoginRateLimitHandler;
+import org.example.handlers.RequestBodyHandler;
+import org.example.repositories.InMemoryRevokedTokenRepository;
+import org.example.repositories.MongoUserRepository;
 import org.example.repositories.UserRepository;
+import org.example.services.LoginRateLimiter;
+import org.example.services.TokenRevocationList;
+import org.example.services.TokenRevocationService;
 import org.example.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,11 +41,18 @@ class AuthControllerTest {
                         .put("expiration", 3600));
 
         JWTAuth jwtAuth = JWTConfig.create(vertx, config);
-        UserRepository userRepository = new UserRepository(null);
-        UserService userService = new UserService(userRepository, jwtAuth);
+        UserRepository userRepository = new MongoUserRepository(null);
+        TokenRevocationService tokenRevocationService = new TokenRevocationService(vertx,
+                new InMemoryRevokedTokenRepository(), new TokenRevocationList());
+        UserService userService = new UserService(userRepository, jwtAuth, PasswordHashingConfig.create(vertx, config),
+                tokenRevocationService);
         AuthHandler authHandler = new AuthHandler(userService);
 
-        authController = new AuthController(router, authHandler, jwtAuth);
+        LoginRateLimitHandler loginRateLimitHandler = new LoginRateLimitHandler(
+                new LoginRateLimiter(1024, 10, 100, 60_000));
+
+        authController = new AuthController(router, authHandler, jwtAuth, loginRateLimitHandler,
+                new RequestBodyHandler(4096));
     }
 
     @Test
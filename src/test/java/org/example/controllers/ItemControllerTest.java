@@ -1,26 +1,48 @@
 package org.example.controllers;
 
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.auth.jwt.JWTAuth;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.example.config.JWTConfig;
 import org.example.handlers.ItemHandler;
-import org.example.repositories.ItemRepository;
+import org.example.handlers.ItemStreamHandler;
+import org.example.handlers.RequestBodyHandler;
+import org.example.models.Item;
+import org.example.repositories.InMemoryItemRepository;
+import org.example.repositories.InMemoryItemVersionRepository;
+import org.example.services.ItemChangeFeed;
+import org.example.services.ItemChangeHistory;
 import org.example.services.ItemService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(VertxExtension.class)
 class ItemControllerTest {
     private Vertx vertx;
     private Router router;
     private ItemController itemController;
+    private InMemoryItemRepository itemRepository;
+    private ItemService itemService;
+    private WebClient webClient;
+    private UUID testUserId;
+    private String token;
 
     @BeforeEach
     void setUp(Vertx vertx) {
@@ -33,11 +55,21 @@ class ItemControllerTest {
                         .put("expiration", 3600));
 
         JWTAuth jwtAuth = JWTConfig.create(vertx, config);
-        ItemRepository itemRepository = new ItemRepository(null);
-        ItemService itemService = new ItemService(itemRepository);
+        itemRepository = new InMemoryItemRepository();
+        ItemChangeFeed itemChangeFeed = new ItemChangeFeed(vertx,
+                new ItemChangeHistory(100, 100, Duration.ofMinutes(1)), 100, 60_000);
+        itemService = ItemService.builder(itemRepository)
+                .itemVersionRepository(new InMemoryItemVersionRepository())
+                .itemChangeFeed(itemChangeFeed)
+                .build();
         ItemHandler itemHandler = new ItemHandler(itemService);
+        ItemStreamHandler itemStreamHandler = new ItemStreamHandler(itemService, itemChangeFeed, 64 * 1024);
 
-        itemController = new ItemController(router, itemHandler, jwtAuth);
+        itemController = new ItemController(router, itemHandler, jwtAuth, new RequestBodyHandler(64 * 1024), null,
+                itemStreamHandler);
+        webClient = WebClient.create(vertx);
+        testUserId = UUID.randomUUID();
+        token = jwtAuth.generateToken(new JsonObject().put("userId", testUserId.toString()));
     }
 
     @Test
@@ -47,8 +79,147 @@ class ItemControllerTest {
         testContext.verify(() -> {
             assertNotNull(router.get("/items"));
             assertNotNull(router.post("/items"));
+            assertNotNull(router.post("/items/batch"));
         });
 
         testContext.completeNow();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldServeStreamRatherThanItemNamedStream(VertxTestContext testContext) {
+        HttpClient httpClient = vertx.createHttpClient();
+
+        serve().compose(port -> httpClient.request(HttpMethod.GET, port, "localhost", "/items/stream"))
+                .compose(request -> request
+                        .putHeader("Authorization", "Bearer " + token)
+                        .send())
+                .onComplete(testContext.succeeding(response -> {
+                    testContext.verify(() -> {
+                        assertEquals(200, response.statusCode());
+                        assertEquals("text/event-stream", response.getHeader("Content-Type"));
+                    });
+                    httpClient.close();
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldAnswerNotFoundForMalformedItemId(VertxTestContext testContext) {
+        serve().compose(port -> send(port, HttpMethod.GET, "/items/not-a-uuid", null, null)
+                        .compose(get -> {
+                            testContext.verify(() -> assertEquals(404, get.statusCode()));
+                            return send(port, HttpMethod.PATCH, "/items/not-a-uuid", null,
+                                    new JsonObject().put("title", "Title"));
+                        })
+                        .compose(patch -> {
+                            testContext.verify(() -> assertEquals(404, patch.statusCode()));
+                            return send(port, HttpMethod.DELETE, "/items/not-a-uuid", null, null);
+                        }))
+                .onComplete(testContext.succeeding(delete -> {
+                    testContext.verify(() -> assertEquals(404, delete.statusCode()));
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForCurrentItemTag(VertxTestContext testContext) {
+        serve().compose(port -> createItem("Title")
+                        .compose(itemId -> send(port, HttpMethod.GET, "/items/" + itemId, null, null)
+                                .compose(first -> {
+                                    String etag = first.getHeader("ETag");
+                                    testContext.verify(() -> {
+                                        assertEquals(200, first.statusCode());
+                                        assertEquals("\"" + itemId + "-1\"", etag);
+                                    });
+                                    return send(port, HttpMethod.GET, "/items/" + itemId, "W/" + etag, null);
+                                })))
+                .onComplete(testContext.succeeding(second -> {
+                    testContext.verify(() -> {
+                        assertEquals(304, second.statusCode());
+                        assertNull(second.body());
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldOnlyWriteAtVersionNamedByIfMatch(VertxTestContext testContext) {
+        JsonObject body = new JsonObject().put("title", "Renamed");
+
+        serve().compose(port -> createItem("Title").compose(itemId -> {
+                    String path = "/items/" + itemId;
+                    return sendIfMatch(port, HttpMethod.PATCH, path, "W/\"" + itemId + "-1\"", body)
+                            .compose(weak -> {
+                                testContext.verify(() -> assertEquals(409, weak.statusCode()));
+                                return sendIfMatch(port, HttpMethod.PATCH, path, "\"" + UUID.randomUUID() + "-1\"",
+                                        body);
+                            })
+                            .compose(foreign -> {
+                                testContext.verify(() -> assertEquals(409, foreign.statusCode()));
+                                return sendIfMatch(port, HttpMethod.PATCH, path,
+                                        "\"other\", \"" + itemId + "-1\"", body);
+                            })
+                            .compose(listed -> {
+                                testContext.verify(() -> {
+                                    assertEquals(200, listed.statusCode());
+                                    assertEquals("\"" + itemId + "-2\"", listed.getHeader("ETag"));
+                                });
+                                return sendIfMatch(port, HttpMethod.PATCH, path, "*", body);
+                            })
+                            .compose(any -> {
+                                testContext.verify(() -> assertEquals(200, any.statusCode()));
+                                return sendIfMatch(port, HttpMethod.DELETE, path, "\"" + itemId + "-2\"", null);
+                            })
+                            .compose(stale -> {
+                                testContext.verify(() -> assertEquals(409, stale.statusCode()));
+                                return sendIfMatch(port, HttpMethod.DELETE, path, "\"" + itemId + "-3\"", null);
+                            })
+                            .compose(deleted -> {
+                                testContext.verify(() -> assertEquals(204, deleted.statusCode()));
+                                return sendIfMatch(port, HttpMethod.DELETE, path, "\"" + itemId + "-4\"", null);
+                            });
+                }))
+                .onComplete(testContext.succeeding(missing -> {
+                    testContext.verify(() -> assertEquals(404, missing.statusCode()));
+                    testContext.completeNow();
+                }));
+    }
+
+    private Future<Integer> serve() {
+        itemController.setupRoutes();
+        return vertx.createHttpServer()
+                .requestHandler(router)
+                .listen(0)
+                .map(HttpServer::actualPort);
+    }
+
+    private Future<UUID> createItem(String title) {
+        return itemService.createItem(testUserId, title)
+                .compose(v -> itemRepository.findByOwner(testUserId))
+                .map(items -> items.stream()
+                        .filter(item -> title.equals(item.getTitle()))
+                        .map(Item::getId)
+                        .findFirst()
+                        .orElseThrow());
+    }
+
+    private Future<HttpResponse<Buffer>> send(int port, HttpMethod method, String path, String ifNoneMatch,
+                                              JsonObject body) {
+        return send(port, method, path, "If-None-Match", ifNoneMatch, body);
+    }
+
+    private Future<HttpResponse<Buffer>> sendIfMatch(int port, HttpMethod method, String path, String ifMatch,
+                                                     JsonObject body) {
+        return send(port, method, path, "If-Match", ifMatch, body);
+    }
+
+    private Future<HttpResponse<Buffer>> send(int port, HttpMethod method, String path, String header, String value,
+                                              JsonObject body) {
+        HttpRequest<Buffer> request = webClient.request(method, port, "localhost", path)
+                .putHeader("Authorization", "Bearer " + token);
+        if (value != null) {
+            request.putHeader(header, value);
+        }
+        return body != null ? request.sendJsonObject(body) : request.send();
+    }
+}
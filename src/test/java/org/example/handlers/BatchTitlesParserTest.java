@@ -0,0 +1,64 @@
+package org.example.handlers;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchTitlesParserTest {
+    private static final long MAX_BYTES = 1024;
+    private static final int MAX_ITEMS = 10;
+
+    @Test
+    void shouldReadJsonArraySplitAcrossChunks() {
+        Future<List<String>> titles = parseInChunks(false, "[\"first\", {\"title\": \"second\"}, 3, [\"nested\"], \"\"]", 3);
+
+        assertEquals(Arrays.asList("first", "second", null, null, ""), titles.result());
+    }
+
+    @Test
+    void shouldReadNdjsonLinesSplitAcrossChunks() {
+        Future<List<String>> titles = parseInChunks(true, "\"first\"\r\n{\"title\": \"second\"}\n\n[1]\n\"last\"", 4);
+
+        assertEquals(Arrays.asList("first", "second", null, "last"), titles.result());
+    }
+
+    @Test
+    void shouldRejectBodiesThatAreNotOneArray() {
+        assertFailure(ErrorReason.INVALID_REQUEST, parseInChunks(false, "{\"title\": \"first\"}", 5));
+        assertFailure(ErrorReason.INVALID_REQUEST, parseInChunks(false, "[\"first\"] [\"second\"]", 5));
+        assertFailure(ErrorReason.INVALID_REQUEST, parseInChunks(false, "[\"first\",", 5));
+        assertFailure(ErrorReason.INVALID_REQUEST, parseInChunks(false, "", 5));
+        assertFailure(ErrorReason.INVALID_REQUEST, parseInChunks(true, "\"first\"\n{broken", 5));
+    }
+
+    @Test
+    void shouldStopAtSizeAndItemLimits() {
+        BatchTitlesParser parser = new BatchTitlesParser(false, MAX_BYTES, MAX_ITEMS);
+        parser.handle(Buffer.buffer("[" + "\"title\",".repeat(200)));
+
+        assertFailure(ErrorReason.PAYLOAD_TOO_LARGE, parser.result());
+        assertFailure(ErrorReason.INVALID_REQUEST, parseInChunks(false, "[" + "\"t\",".repeat(MAX_ITEMS) + "\"t\"]", 7));
+    }
+
+    private static Future<List<String>> parseInChunks(boolean ndjson, String body, int chunkSize) {
+        BatchTitlesParser parser = new BatchTitlesParser(ndjson, MAX_BYTES, MAX_ITEMS);
+        Buffer buffer = Buffer.buffer(body);
+        for (int i = 0; i < buffer.length(); i += chunkSize) {
+            parser.handle(buffer.slice(i, Math.min(i + chunkSize, buffer.length())));
+        }
+        parser.end();
+        return parser.result();
+    }
+
+    private static void assertFailure(ErrorReason expected, Future<?> result) {
+        assertTrue(result.failed());
+        assertEquals(expected, ((ApiException) result.cause()).getErrorReason());
+    }
+}
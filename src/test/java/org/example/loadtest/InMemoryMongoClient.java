@@ -0,0 +1,720 @@
+package org.example.loadtest;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteError;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.mongo.BulkOperation;
+import io.vertx.ext.mongo.BulkOperationType;
+import io.vertx.ext.mongo.BulkWriteOptions;
+import io.vertx.ext.mongo.FindOptions;
+import io.vertx.ext.mongo.IndexOptions;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.ext.mongo.MongoClientBulkWriteResult;
+import io.vertx.ext.mongo.MongoClientDeleteResult;
+import io.vertx.ext.mongo.MongoClientUpdateResult;
+import io.vertx.ext.mongo.UpdateOptions;
+import org.bson.BsonDocument;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * In-process stand-in for the subset of {@link MongoClient} the service uses:
+ * inserts, bulk inserts, finds with projection/sort/limit, batch cursors,
+ * counts, {@code $set}/{@code $unset}/{@code $inc} updates (also of dotted
+ * paths), deletes and index management. Queries support equality,
+ * {@code $in}, {@code $gt}/{@code $gte}/{@code $lt}/{@code $lte} (dates
+ * compare by instant), {@code $type} and {@code $or}; unique indexes are
+ * enforced with the same duplicate key errors (code 11000) as a real server.
+ * The first field of every index is indexed in memory so owner lookups do
+ * not scan the whole collection. Results are delivered asynchronously on the caller's context.
+ * Any other operation fails with {@link UnsupportedOperationException}.
+ */
+public class InMemoryMongoClient implements InvocationHandler {
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int CURSOR_YIELD_SIZE = 500;
+
+    private final Vertx vertx;
+    private final Map<String, StoredCollection> collections = new ConcurrentHashMap<>();
+
+    private InMemoryMongoClient(Vertx vertx) {
+        this.vertx = vertx;
+    }
+
+    public static MongoClient create(Vertx vertx) {
+        return (MongoClient) Proxy.newProxyInstance(MongoClient.class.getClassLoader(),
+                new Class<?>[]{MongoClient.class}, new InMemoryMongoClient(vertx));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> "InMemoryMongoClient";
+            };
+        }
+
+        Object[] arguments = args != null ? args : new Object[0];
+        if (method.getName().equals("findBatchWithOptions")) {
+            return cursor((String) arguments[0], (JsonObject) arguments[1], (FindOptions) arguments[2]);
+        }
+
+        Class<?>[] types = method.getParameterTypes();
+        boolean callback = types.length > 0 && types[types.length - 1] == Handler.class;
+        Future<Object> result = execute(method.getName(), arguments);
+        if (callback) {
+            result.onComplete((Handler<AsyncResult<Object>>) arguments[arguments.length - 1]);
+            return method.getReturnType() == void.class ? null : proxy;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Future<Object> execute(String operation, Object[] args) {
+        return switch (operation) {
+            case "insert" -> complete(() -> collection(args[0]).insert((JsonObject) args[1]));
+            case "bulkWriteWithOptions" -> complete(() -> collection(args[0])
+                    .bulkInsert((List<BulkOperation>) args[1], (BulkWriteOptions) args[2]));
+            case "find" -> complete(() -> collection(args[0]).find((JsonObject) args[1], new FindOptions()));
+            case "findWithOptions" -> complete(() -> collection(args[0])
+                    .find((JsonObject) args[1], (FindOptions) args[2]));
+            case "findOne" -> complete(() -> {
+                FindOptions options = new FindOptions().setLimit(1);
+                if (args[2] != null) {
+                    options.setFields((JsonObject) args[2]);
+                }
+                List<JsonObject> found = collection(args[0]).find((JsonObject) args[1], options);
+                return found.isEmpty() ? null : found.get(0);
+            });
+            case "count" -> complete(() -> (long) collection(args[0])
+                    .find((JsonObject) args[1], new FindOptions()).size());
+            case "updateCollection" -> complete(() -> collection(args[0])
+                    .update((JsonObject) args[1], (JsonObject) args[2], new UpdateOptions()));
+            case "updateCollectionWithOptions" -> complete(() -> collection(args[0])
+                    .update((JsonObject) args[1], (JsonObject) args[2], (UpdateOptions) args[3]));
+            case "findOneAndUpdateWithOptions" -> complete(() -> collection(args[0])
+                    .findOneAndUpdate((JsonObject) args[1], (JsonObject) args[2], (FindOptions) args[3],
+                            (UpdateOptions) args[4]));
+            case "removeDocuments" -> complete(() -> collection(args[0]).remove((JsonObject) args[1]));
+            case "listIndexes" -> complete(() -> collection(args[0]).listIndexes());
+            case "createIndexWithOptions" -> complete(() -> {
+                collection(args[0]).createIndex((JsonObject) args[1], (IndexOptions) args[2]);
+                return null;
+            });
+            case "close" -> Future.succeededFuture();
+            default -> Future.failedFuture(new UnsupportedOperationException(operation));
+        };
+    }
+
+    private StoredCollection collection(Object name) {
+        return collections.computeIfAbsent((String) name, n -> new StoredCollection());
+    }
+
+    private Future<Object> complete(Supplier<Object> operation) {
+        Context context = vertx.getOrCreateContext();
+        Promise<Object> promise = Promise.promise();
+        Object result;
+        try {
+            result = operation.get();
+        } catch (Exception e) {
+            context.runOnContext(v -> promise.fail(e));
+            return promise.future();
+        }
+        context.runOnContext(v -> promise.complete(result));
+        return promise.future();
+    }
+
+    private ReadStream<JsonObject> cursor(String collection, JsonObject query, FindOptions options) {
+        Context context = vertx.getOrCreateContext();
+        return new Cursor(context, () -> collection(collection).find(query, options));
+    }
+
+    /**
+     * Documents of one collection ordered by {@code _id}, with an in-memory
+     * index on the first field of every created index.
+     */
+    private static class StoredCollection {
+        private final NavigableMap<String, JsonObject> documents = new TreeMap<>();
+        private final Map<String, FieldIndex> fieldIndexes = new TreeMap<>();
+        private final JsonArray indexes = new JsonArray()
+                .add(new JsonObject().put("v", 2).put("key", new JsonObject().put("_id", 1)).put("name", "_id_"));
+
+        synchronized String insert(JsonObject document) {
+            JsonObject copy = document.copy();
+            boolean generated = !copy.containsKey("_id");
+            if (generated) {
+                copy.put("_id", UUID.randomUUID().toString().replace("-", ""));
+            }
+            add(copy);
+            return generated ? copy.getString("_id") : null;
+        }
+
+        synchronized MongoClientBulkWriteResult bulkInsert(List<BulkOperation> operations, BulkWriteOptions options) {
+            List<BulkWriteError> errors = new ArrayList<>();
+            int inserted = 0;
+            for (int i = 0; i < operations.size(); i++) {
+                BulkOperation operation = operations.get(i);
+                if (operation.getType() != BulkOperationType.INSERT) {
+                    throw new UnsupportedOperationException("bulk " + operation.getType());
+                }
+                try {
+                    add(operation.getDocument().copy());
+                    inserted++;
+                } catch (MongoWriteException e) {
+                    errors.add(new BulkWriteError(e.getCode(), e.getMessage(), new BsonDocument(), i));
+                    if (options.isOrdered()) {
+                        break;
+                    }
+                }
+            }
+            if (!errors.isEmpty()) {
+                throw new MongoBulkWriteException(BulkWriteResult.acknowledged(inserted, 0, 0, 0, List.of(), List.of()),
+                        errors, null, new ServerAddress());
+            }
+            return new MongoClientBulkWriteResult(inserted, 0, 0, 0, List.of(), List.of());
+        }
+
+        synchronized List<JsonObject> find(JsonObject query, FindOptions options) {
+            List<JsonObject> matches = new ArrayList<>();
+            for (JsonObject document : candidates(query)) {
+                if (Matcher.matches(document, query)) {
+                    matches.add(document);
+                }
+            }
+
+            JsonObject sort = options.getSort();
+            if (sort != null && !sort.isEmpty() && !sort.equals(new JsonObject().put("_id", 1))) {
+                matches.sort(Matcher.comparator(sort));
+            }
+
+            int from = Math.min(options.getSkip(), matches.size());
+            int to = options.getLimit() > 0 ? Math.min(from + options.getLimit(), matches.size()) : matches.size();
+            List<JsonObject> results = new ArrayList<>(to - from);
+            for (JsonObject document : matches.subList(from, to)) {
+                results.add(project(document, options.getFields()));
+            }
+            return results;
+        }
+
+        /**
+         * Applies {@code $set}, {@code $unset} and {@code $inc} to the first matching
+         * document, or to all of them with {@code multi}. An upsert without a
+         * match inserts the plain field values of the query with the update
+         * applied.
+         */
+        synchronized MongoClientUpdateResult update(JsonObject query, JsonObject update, UpdateOptions options) {
+            List<JsonObject> matches = new ArrayList<>();
+            for (JsonObject document : candidates(query)) {
+                if (Matcher.matches(document, query)) {
+                    matches.add(document);
+                    if (!options.isMulti()) {
+                        break;
+                    }
+                }
+            }
+            long modified = 0;
+            for (JsonObject document : matches) {
+                JsonObject updated = apply(document, update);
+                if (updated.equals(document)) {
+                    continue;
+                }
+                String id = Matcher.key(document.getValue("_id"));
+                documents.remove(id);
+                fieldIndexes.values().forEach(index -> index.remove(document, id));
+                try {
+                    add(updated);
+                } catch (MongoWriteException e) {
+                    add(document);
+                    throw e;
+                }
+                modified++;
+            }
+            if (matches.isEmpty() && options.isUpsert()) {
+                JsonObject seed = new JsonObject();
+                query.forEach(field -> {
+                    if (!field.getKey().startsWith("$") && !(field.getValue() instanceof JsonObject operators
+                            && operators.fieldNames().stream().anyMatch(name -> name.startsWith("$")))) {
+                        seed.put(field.getKey(), field.getValue());
+                    }
+                });
+                insert(apply(seed, update));
+            }
+            return new MongoClientUpdateResult(matches.size(), null, modified);
+        }
+
+        /**
+         * Updates the first matching document like {@link #update} and
+         * returns it before or after the update, as the options ask.
+         */
+        synchronized JsonObject findOneAndUpdate(JsonObject query, JsonObject update, FindOptions findOptions,
+                                                 UpdateOptions updateOptions) {
+            List<JsonObject> before = find(query, new FindOptions().setLimit(1));
+            update(query, update, updateOptions.setMulti(false));
+            if (!updateOptions.isReturningNewDocument()) {
+                return before.isEmpty() ? null : project(before.get(0), findOptions.getFields());
+            }
+            JsonObject target = before.isEmpty() ? query : new JsonObject().put("_id", before.get(0).getValue("_id"));
+            List<JsonObject> after = find(target, findOptions.setLimit(1));
+            return after.isEmpty() ? null : after.get(0);
+        }
+
+        private static JsonObject apply(JsonObject document, JsonObject update) {
+            JsonObject updated = document.copy();
+            for (String operator : update.fieldNames()) {
+                JsonObject fields = update.getJsonObject(operator);
+                switch (operator) {
+                    case "$set" -> fields.forEach(field -> parent(updated, field.getKey(), true)
+                            .put(leaf(field.getKey()), field.getValue()));
+                    case "$unset" -> fields.fieldNames().forEach(field -> {
+                        JsonObject parent = parent(updated, field, false);
+                        if (parent != null) {
+                            parent.remove(leaf(field));
+                        }
+                    });
+                    case "$inc" -> fields.forEach(field -> {
+                        JsonObject parent = parent(updated, field.getKey(), true);
+                        String leaf = leaf(field.getKey());
+                        Number current = parent.getNumber(leaf, 0);
+                        Number delta = (Number) field.getValue();
+                        parent.put(leaf, current instanceof Double || delta instanceof Double
+                                ? (Object) (current.doubleValue() + delta.doubleValue())
+                                : (Object) (current.longValue() + delta.longValue()));
+                    });
+                    default -> throw new UnsupportedOperationException(operator);
+                }
+            }
+            return updated;
+        }
+
+        /**
+         * The object holding the last field of a dotted {@code path}, created
+         * along the way if asked to, or {@code null} when it does not exist.
+         */
+        private static JsonObject parent(JsonObject document, String path, boolean create) {
+            JsonObject current = document;
+            int start = 0;
+            for (int dot = path.indexOf('.'); dot >= 0; dot = path.indexOf('.', start)) {
+                String field = path.substring(start, dot);
+                JsonObject next = current.getJsonObject(field);
+                if (next == null) {
+                    if (!create) {
+                        return null;
+                    }
+                    next = new JsonObject();
+                    current.put(field, next);
+                }
+                current = next;
+                start = dot + 1;
+            }
+            return current;
+        }
+
+        private static String leaf(String path) {
+            return path.substring(path.lastIndexOf('.') + 1);
+        }
+
+        synchronized MongoClientDeleteResult remove(JsonObject query) {
+            List<JsonObject> matches = new ArrayList<>();
+            for (JsonObject document : candidates(query)) {
+                if (Matcher.matches(document, query)) {
+                    matches.add(document);
+                }
+            }
+            for (JsonObject document : matches) {
+                String id = Matcher.key(document.getValue("_id"));
+                documents.remove(id);
+                fieldIndexes.values().forEach(index -> index.remove(document, id));
+            }
+            return new MongoClientDeleteResult(matches.size());
+        }
+
+        synchronized JsonArray listIndexes() {
+            return indexes.copy();
+        }
+
+        synchronized void createIndex(JsonObject key, IndexOptions options) {
+            JsonObject description = new JsonObject()
+                    .put("v", 2)
+                    .put("key", key.copy())
+                    .put("name", options.getName());
+            if (options.isUnique()) {
+                description.put("unique", true);
+            }
+            if (options.isSparse()) {
+                description.put("sparse", true);
+            }
+            if (options.getExpireAfter(TimeUnit.SECONDS) != null) {
+                description.put("expireAfterSeconds", options.getExpireAfter(TimeUnit.SECONDS));
+            }
+            indexes.add(description);
+
+            String field = key.fieldNames().iterator().next();
+            FieldIndex index = fieldIndexes.computeIfAbsent(field, FieldIndex::new);
+            boolean unique = options.isUnique() && key.size() == 1;
+            if (index.entries.isEmpty()) {
+                documents.forEach((id, document) -> index.add(document, id));
+            }
+            if (unique) {
+                index.unique = true;
+                index.uniqueName = options.getName();
+            }
+        }
+
+        private void add(JsonObject document) {
+            String id = Matcher.key(document.getValue("_id"));
+            if (documents.containsKey(id)) {
+                throw duplicateKey("_id_", "_id", id);
+            }
+            for (FieldIndex index : fieldIndexes.values()) {
+                if (index.unique && index.contains(document)) {
+                    throw duplicateKey(index.uniqueName, index.field, document.getValue(index.field));
+                }
+            }
+            documents.put(id, document);
+            fieldIndexes.values().forEach(index -> index.add(document, id));
+        }
+
+        /**
+         * Narrows the scan to an index bucket when the query fixes an indexed
+         * field by equality or {@code $in}; candidates stay in {@code _id}
+         * order either way.
+         */
+        private Collection<JsonObject> candidates(JsonObject query) {
+            for (String field : query.fieldNames()) {
+                FieldIndex index = fieldIndexes.get(field);
+                if (index == null) {
+                    continue;
+                }
+                Object condition = query.getValue(field);
+                if (!Matcher.isOperator(condition)) {
+                    NavigableMap<String, JsonObject> bucket = index.entries.get(Matcher.key(condition));
+                    return bucket != null ? bucket.values() : List.of();
+                }
+                JsonObject operators = (JsonObject) condition;
+                if (operators.size() == 1 && operators.getValue("$in") instanceof JsonArray values) {
+                    NavigableMap<String, JsonObject> union = new TreeMap<>();
+                    for (Object value : values) {
+                        NavigableMap<String, JsonObject> bucket = index.entries.get(Matcher.key(value));
+                        if (bucket != null) {
+                            union.putAll(bucket);
+                        }
+                    }
+                    return union.values();
+                }
+            }
+            return documents.values();
+        }
+
+        private static JsonObject project(JsonObject document, JsonObject fields) {
+            if (fields == null || fields.isEmpty()) {
+                return document.copy();
+            }
+            JsonObject projected = new JsonObject();
+            if (!Integer.valueOf(0).equals(fields.getValue("_id"))) {
+                projected.put("_id", document.getValue("_id"));
+            }
+            for (String field : fields.fieldNames()) {
+                if (!field.equals("_id") && document.containsKey(field)) {
+                    projected.put(field, document.getValue(field));
+                }
+            }
+            return projected.copy();
+        }
+
+        private static MongoWriteException duplicateKey(String index, String field, Object value) {
+            return new MongoWriteException(new WriteError(DUPLICATE_KEY,
+                    "E11000 duplicate key error index: " + index + " dup key: { " + field + ": " + value + " }",
+                    new BsonDocument()), new ServerAddress());
+        }
+    }
+
+    private static class FieldIndex {
+        private final String field;
+        private final Map<String, NavigableMap<String, JsonObject>> entries = new ConcurrentHashMap<>();
+        private boolean unique;
+        private String uniqueName;
+
+        FieldIndex(String field) {
+            this.field = field;
+        }
+
+        boolean contains(JsonObject document) {
+            NavigableMap<String, JsonObject> bucket = entries.get(Matcher.key(document.getValue(field)));
+            return bucket != null && !bucket.isEmpty();
+        }
+
+        void add(JsonObject document, String id) {
+            entries.computeIfAbsent(Matcher.key(document.getValue(field)), k -> new TreeMap<>())
+                    .put(id, document);
+        }
+
+        void remove(JsonObject document, String id) {
+            NavigableMap<String, JsonObject> bucket = entries.get(Matcher.key(document.getValue(field)));
+            if (bucket != null) {
+                bucket.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Query evaluation following MongoDB's rules for the operators in use:
+     * comparisons only match values of the same BSON type, and text sorts
+     * before binary data.
+     */
+    private static final class Matcher {
+        private static final String BINARY_PREFIX = "\uFFFF";
+
+        static boolean matches(JsonObject document, JsonObject query) {
+            for (String field : query.fieldNames()) {
+                Object condition = query.getValue(field);
+                if (field.equals("$or")) {
+                    boolean any = false;
+                    for (Object branch : (JsonArray) condition) {
+                        any |= matches(document, (JsonObject) branch);
+                    }
+                    if (!any) {
+                        return false;
+                    }
+                } else if (!matchesCondition(document.getValue(field), condition)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static boolean isOperator(Object condition) {
+            return condition instanceof JsonObject object
+                    && !object.isEmpty()
+                    && object.fieldNames().iterator().next().startsWith("$")
+                    && !object.containsKey("$binary");
+        }
+
+        private static boolean matchesCondition(Object value, Object condition) {
+            if (!isOperator(condition)) {
+                return equal(value, condition);
+            }
+            JsonObject operators = (JsonObject) condition;
+            for (String operator : operators.fieldNames()) {
+                Object operand = operators.getValue(operator);
+                boolean matched = switch (operator) {
+                    case "$eq" -> equal(value, operand);
+                    case "$ne" -> !equal(value, operand);
+                    case "$in" -> ((JsonArray) operand).stream().anyMatch(candidate -> equal(value, candidate));
+                    case "$gt" -> comparable(value, operand) && compare(value, operand) > 0;
+                    case "$gte" -> comparable(value, operand) && compare(value, operand) >= 0;
+                    case "$lt" -> comparable(value, operand) && compare(value, operand) < 0;
+                    case "$lte" -> comparable(value, operand) && compare(value, operand) <= 0;
+                    case "$exists" -> (value != null) == (Boolean) operand;
+                    case "$type" -> switch ((String) operand) {
+                        case "string" -> value instanceof String;
+                        case "binData" -> isBinary(value);
+                        default -> throw new UnsupportedOperationException("$type " + operand);
+                    };
+                    default -> throw new UnsupportedOperationException(operator);
+                };
+                if (!matched) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static Comparator<JsonObject> comparator(JsonObject sort) {
+            Comparator<JsonObject> comparator = (a, b) -> 0;
+            for (String field : sort.fieldNames()) {
+                int direction = sort.getInteger(field);
+                comparator = comparator.thenComparing((a, b) ->
+                        direction * Matcher.key(a.getValue(field)).compareTo(Matcher.key(b.getValue(field))));
+            }
+            return comparator;
+        }
+
+        /**
+         * Sortable key of a value: text as is, binary data as hex after every
+         * text value, numbers zero-padded so they sort numerically.
+         */
+        static String key(Object value) {
+            if (isBinary(value)) {
+                return BINARY_PREFIX + HexFormat.of().formatHex(((JsonObject) value).getBinary("$binary"));
+            }
+            if (value instanceof Number number) {
+                String unsigned = Long.toUnsignedString(number.longValue() ^ Long.MIN_VALUE);
+                return "0".repeat(20 - unsigned.length()) + unsigned;
+            }
+            return String.valueOf(value);
+        }
+
+        private static boolean equal(Object value, Object expected) {
+            if (isBinary(value) && isBinary(expected)) {
+                return Arrays.equals(((JsonObject) value).getBinary("$binary"),
+                        ((JsonObject) expected).getBinary("$binary"));
+            }
+            if (value instanceof Number a && expected instanceof Number b) {
+                return a.doubleValue() == b.doubleValue();
+            }
+            return Objects.equals(value, expected);
+        }
+
+        private static boolean comparable(Object value, Object operand) {
+            return (value instanceof String && operand instanceof String)
+                    || (value instanceof Number && operand instanceof Number)
+                    || (isBinary(value) && isBinary(operand))
+                    || (isDate(value) && isDate(operand));
+        }
+
+        private static int compare(Object value, Object operand) {
+            if (value instanceof Number a && operand instanceof Number b) {
+                return Double.compare(a.doubleValue(), b.doubleValue());
+            }
+            if (isDate(value) && isDate(operand)) {
+                return Long.compare(epochMillis(value), epochMillis(operand));
+            }
+            return key(value).compareTo(key(operand));
+        }
+
+        private static boolean isBinary(Object value) {
+            return value instanceof JsonObject object && object.containsKey("$binary");
+        }
+
+        private static boolean isDate(Object value) {
+            return value instanceof JsonObject object && object.containsKey("$date");
+        }
+
+        private static long epochMillis(Object date) {
+            return Instant.parse(((JsonObject) date).getString("$date")).toEpochMilli();
+        }
+    }
+
+    /**
+     * Batch cursor over a snapshot of the query results, honouring the
+     * stream's demand and yielding the event loop every few hundred documents.
+     */
+    private static class Cursor implements ReadStream<JsonObject> {
+        private final Context context;
+        private final Supplier<List<JsonObject>> query;
+        private List<JsonObject> results;
+        private int position;
+        private long demand = Long.MAX_VALUE;
+        private boolean scheduled;
+        private boolean ended;
+        private Handler<JsonObject> handler;
+        private Handler<Void> endHandler;
+        private Handler<Throwable> exceptionHandler;
+
+        Cursor(Context context, Supplier<List<JsonObject>> query) {
+            this.context = context;
+            this.query = query;
+        }
+
+        @Override
+        public ReadStream<JsonObject> exceptionHandler(Handler<Throwable> handler) {
+            this.exceptionHandler = handler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<JsonObject> handler(Handler<JsonObject> handler) {
+            this.handler = handler;
+            schedule();
+            return this;
+        }
+
+        @Override
+        public ReadStream<JsonObject> pause() {
+            demand = 0;
+            return this;
+        }
+
+        @Override
+        public ReadStream<JsonObject> resume() {
+            return fetch(Long.MAX_VALUE);
+        }
+
+        @Override
+        public ReadStream<JsonObject> fetch(long amount) {
+            demand = Long.MAX_VALUE - demand < amount ? Long.MAX_VALUE : demand + amount;
+            schedule();
+            return this;
+        }
+
+        @Override
+        public ReadStream<JsonObject> endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+
+        private void schedule() {
+            if (!scheduled && !ended && handler != null && demand > 0) {
+                scheduled = true;
+                context.runOnContext(v -> drain());
+            }
+        }
+
+        private void drain() {
+            scheduled = false;
+            if (ended || handler == null) {
+                return;
+            }
+            if (results == null) {
+                try {
+                    results = query.get();
+                } catch (Exception e) {
+                    ended = true;
+                    if (exceptionHandler != null) {
+                        exceptionHandler.handle(e);
+                    }
+                    return;
+                }
+            }
+
+            int emitted = 0;
+            while (demand > 0 && position < results.size() && emitted < CURSOR_YIELD_SIZE && handler != null) {
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+                emitted++;
+                handler.handle(results.get(position++));
+            }
+
+            if (position == results.size()) {
+                ended = true;
+                if (endHandler != null) {
+                    endHandler.handle(null);
+                }
+            } else {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.loadtest;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.ext.web.client.WebClient;
+import org.example.MainVerticle;
+import org.example.loadtest.LoadDriver.Account;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the full HTTP stack ({@link MainVerticle} backed by
+ * {@link InMemoryMongoClient}) with the route mix of the configured
+ * {@link Workload}, once per configured instance count, and prints
+ * per-route throughput and latency percentiles. Fails when a route's error
+ * rate or p99 latency exceeds the workload's limits. Tagged {@code load};
+ * run with {@code mvn -Pload-test test}.
+ */
+@Tag("load")
+class ItemsServiceLoadTest {
+    private static final long TIMEOUT_SECONDS = 120;
+
+    @Test
+    void shouldSustainWorkload() throws Exception {
+        Workload workload = Workload.load();
+
+        List<LoadReport> reports = new ArrayList<>();
+        for (int instances : workload.instances()) {
+            LoadReport report = run(workload, instances);
+            System.out.println(report.format());
+            reports.add(report);
+        }
+
+        for (LoadReport report : reports) {
+            for (Map.Entry<String, Integer> route : workload.mix().entrySet()) {
+                if (route.getValue() == 0) {
+                    continue;
+                }
+                long count = report.getCount(route.getKey());
+                long errors = report.getErrors(route.getKey());
+                assertTrue(count > 0, "No successful requests for " + route.getKey());
+                assertTrue(errors <= workload.maxErrorRate() * (count + errors),
+                        "Too many errors for " + route.getKey() + ": " + errors + " of " + (count + errors));
+
+                Double maxP99 = workload.maxP99Millis().get(route.getKey());
+                if (maxP99 != null) {
+                    assertTrue(report.getP99Millis(route.getKey()) <= maxP99,
+                            "p99 of " + route.getKey() + " above " + maxP99 + " ms");
+                }
+            }
+        }
+    }
+
+    private LoadReport run(Workload workload, int instances) throws Exception {
+        Vertx server = Vertx.vertx();
+        Vertx client = Vertx.vertx();
+        try {
+            MongoClient mongoClient = InMemoryMongoClient.create(server);
+            await(server.deployVerticle(() -> new MainVerticle() {
+                @Override
+                protected MongoClient createMongoClient() {
+                    return mongoClient;
+                }
+            }, new DeploymentOptions().setConfig(serviceConfig(workload)).setInstances(instances)));
+
+            List<Account> accounts = seed(client, workload);
+
+            AtomicReference<LoadReport> current = new AtomicReference<>();
+            AtomicBoolean stopped = new AtomicBoolean();
+            CountDownLatch finished = new CountDownLatch(workload.connections());
+            AtomicInteger driverIndex = new AtomicInteger();
+            int drivers = Math.min(workload.driverInstances(), workload.connections());
+            await(client.deployVerticle(() -> {
+                int index = driverIndex.getAndIncrement();
+                int connections = workload.connections() / drivers
+                        + (index < workload.connections() % drivers ? 1 : 0);
+                return new LoadDriver(workload, connections, accounts, current, stopped, finished);
+            }, new DeploymentOptions().setInstances(drivers)));
+
+            Thread.sleep(TimeUnit.SECONDS.toMillis(workload.warmupSeconds()));
+            LoadReport report = new LoadReport(instances, workload.mix().keySet());
+            long start = System.nanoTime();
+            current.set(report);
+            Thread.sleep(TimeUnit.SECONDS.toMillis(workload.durationSeconds()));
+            current.set(null);
+            report.setDurationNanos(System.nanoTime() - start);
+
+            stopped.set(true);
+            assertTrue(finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Load drivers did not stop");
+            return report;
+        } finally {
+            await(client.close());
+            await(server.close());
+        }
+    }
+
+    private List<Account> seed(Vertx client, Workload workload) throws Exception {
+        WebClient webClient = LoadDriver.createClient(client, workload, workload.users());
+        List<Future<Account>> accounts = new ArrayList<>();
+        for (int i = 0; i < workload.users(); i++) {
+            String login = "seed-" + i + "@example.com";
+            accounts.add(LoadDriver.register(webClient, login, Account.PASSWORD)
+                    .compose(registered -> LoadDriver.login(webClient, login))
+                    .compose(token -> webClient.post("/items/batch")
+                            .bearerTokenAuthentication(token)
+                            .sendJson(LoadDriver.titles(workload.itemsPerUser()))
+                            .map(response -> new Account(login, token))));
+        }
+        await(Future.all(accounts));
+        List<Account> seeded = accounts.stream().map(Future::result).toList();
+        webClient.close();
+        return seeded;
+    }
+
+    private JsonObject serviceConfig(Workload workload) {
+        return new JsonObject()
+                .put("http.port", workload.port())
+                .put("mongodb", new JsonObject()
+                        .put("connection_string", "mongodb://in-memory")
+                        .put("db_name", "load-test"))
+                .put("jwt", new JsonObject()
+                        .put("secret", "load-test-secret-key-that-is-at-least-32-chars")
+                        .put("expiration", 3600))
+                // Every simulated client shares one address; the workload may enable the limiter again.
+                .put("login_rate_limit", new JsonObject().put("enabled", false))
+                .mergeIn(workload.service(), true);
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
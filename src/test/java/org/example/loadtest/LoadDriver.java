@@ -0,0 +1,154 @@
+package org.example.loadtest;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a number of closed-loop connections against the service: every
+ * connection sends its next request as soon as the previous one completes,
+ * picking the route by the workload's weights. Latencies are only recorded
+ * while a report is installed, so the same loops serve warm-up and
+ * measurement.
+ */
+public class LoadDriver extends AbstractVerticle {
+    private static final AtomicLong registrations = new AtomicLong();
+
+    private final Workload workload;
+    private final int connections;
+    private final List<Account> accounts;
+    private final AtomicReference<LoadReport> report;
+    private final AtomicBoolean stopped;
+    private final CountDownLatch finished;
+    private final String[] routes;
+    private final int[] cumulativeWeights;
+    private WebClient webClient;
+
+    public LoadDriver(Workload workload, int connections, List<Account> accounts,
+                      AtomicReference<LoadReport> report, AtomicBoolean stopped, CountDownLatch finished) {
+        this.workload = workload;
+        this.connections = connections;
+        this.accounts = accounts;
+        this.report = report;
+        this.stopped = stopped;
+        this.finished = finished;
+        this.routes = workload.mix().keySet().toArray(String[]::new);
+        this.cumulativeWeights = new int[routes.length];
+        int total = 0;
+        for (int i = 0; i < routes.length; i++) {
+            total += workload.mix().get(routes[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static WebClient createClient(Vertx vertx, Workload workload, int poolSize) {
+        return WebClient.create(vertx, new WebClientOptions()
+                .setDefaultHost("localhost")
+                .setDefaultPort(workload.port())
+                .setKeepAlive(true)
+                .setMaxPoolSize(Math.max(1, poolSize)));
+    }
+
+    @Override
+    public void start() {
+        webClient = createClient(vertx, workload, connections);
+        for (int i = 0; i < connections; i++) {
+            next();
+        }
+    }
+
+    private void next() {
+        if (stopped.get()) {
+            finished.countDown();
+            return;
+        }
+
+        String route = pickRoute();
+        long start = System.nanoTime();
+        send(route).onComplete(ar -> {
+            LoadReport current = report.get();
+            if (current != null) {
+                if (ar.succeeded() && ar.result()) {
+                    current.recordSuccess(route, System.nanoTime() - start);
+                } else {
+                    current.recordError(route);
+                }
+            }
+            next();
+        });
+    }
+
+    private String pickRoute() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return routes[i];
+            }
+        }
+        return routes[routes.length - 1];
+    }
+
+    private Future<Boolean> send(String route) {
+        Account account = accounts.get(ThreadLocalRandom.current().nextInt(accounts.size()));
+        return switch (route) {
+            case "register" -> register(webClient, "load-" + registrations.incrementAndGet() + "-"
+                    + ThreadLocalRandom.current().nextInt(1_000_000) + "@example.com", Account.PASSWORD);
+            case "login" -> login(webClient, account.login()).map(token -> true);
+            case "create_item" -> webClient.post("/items")
+                    .bearerTokenAuthentication(account.token())
+                    .sendJsonObject(new JsonObject().put("title", "Load item " + System.nanoTime()))
+                    .map(response -> response.statusCode() == 204);
+            case "create_batch" -> webClient.post("/items/batch")
+                    .bearerTokenAuthentication(account.token())
+                    .sendJson(titles(10))
+                    .map(response -> response.statusCode() == 200);
+            case "list_items" -> webClient.get("/items")
+                    .bearerTokenAuthentication(account.token())
+                    .send()
+                    .map(response -> response.statusCode() == 200);
+            case "list_page" -> webClient.get("/items")
+                    .addQueryParam("limit", "100")
+                    .bearerTokenAuthentication(account.token())
+                    .send()
+                    .map(response -> response.statusCode() == 200);
+            default -> Future.failedFuture(new IllegalArgumentException("Unknown route: " + route));
+        };
+    }
+
+    static Future<Boolean> register(WebClient webClient, String login, String password) {
+        return webClient.post("/register")
+                .sendJsonObject(new JsonObject().put("login", login).put("password", password))
+                .map(response -> response.statusCode() == 204);
+    }
+
+    static Future<String> login(WebClient webClient, String login) {
+        return webClient.post("/login")
+                .sendJsonObject(new JsonObject().put("login", login).put("password", Account.PASSWORD))
+                .compose(response -> response.statusCode() == 200
+                        ? Future.succeededFuture(response.bodyAsJsonObject().getString("token"))
+                        : Future.failedFuture("Login failed with status " + response.statusCode()));
+    }
+
+    static JsonArray titles(int count) {
+        JsonArray titles = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            titles.add("Seed item " + i);
+        }
+        return titles;
+    }
+
+    public record Account(String login, String token) {
+        static final String PASSWORD = "load-test-password";
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route latency histograms (in microseconds) and error counts of one
+ * measured run.
+ */
+public class LoadReport {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, RouteStats> routes = new LinkedHashMap<>();
+    private final int instances;
+    private long durationNanos;
+
+    public LoadReport(int instances, Iterable<String> routeNames) {
+        this.instances = instances;
+        for (String route : routeNames) {
+            routes.put(route, new RouteStats());
+        }
+    }
+
+    public void recordSuccess(String route, long latencyNanos) {
+        routes.get(route).latencies.recordValue(Math.min(MAX_LATENCY_MICROS, latencyNanos / 1000));
+    }
+
+    public void recordError(String route) {
+        routes.get(route).errors.increment();
+    }
+
+    public void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    public long getCount(String route) {
+        return routes.get(route).latencies.getTotalCount();
+    }
+
+    public long getErrors(String route) {
+        return routes.get(route).errors.sum();
+    }
+
+    public double getP99Millis(String route) {
+        return routes.get(route).latencies.getValueAtPercentile(99) / 1000.0;
+    }
+
+    public String format() {
+        double seconds = durationNanos / 1e9;
+        StringBuilder out = new StringBuilder()
+                .append(String.format("instances=%d duration=%.1fs%n", instances, seconds))
+                .append(String.format("%-12s %9s %10s %9s %9s %9s %9s %7s%n",
+                        "route", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors"));
+
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<String, RouteStats> entry : routes.entrySet()) {
+            Histogram latencies = entry.getValue().latencies;
+            long errors = entry.getValue().errors.sum();
+            total.add(latencies);
+            totalErrors += errors;
+            out.append(row(entry.getKey(), latencies, errors, seconds));
+        }
+        return out.append(row("total", total, totalErrors, seconds)).toString();
+    }
+
+    private static String row(String route, Histogram latencies, long errors, double seconds) {
+        return String.format("%-12s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                route,
+                latencies.getTotalCount(),
+                latencies.getTotalCount() / seconds,
+                latencies.getValueAtPercentile(50) / 1000.0,
+                latencies.getValueAtPercentile(99) / 1000.0,
+                latencies.getValueAtPercentile(99.9) / 1000.0,
+                latencies.getMaxValue() / 1000.0,
+                errors);
+    }
+
+    private static class RouteStats {
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
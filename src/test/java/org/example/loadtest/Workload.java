@@ -0,0 +1,76 @@
+package org.example.loadtest;
+
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test workload, read from the file named by the {@code workload}
+ * system property or from {@code loadtest/workload.json} on the classpath.
+ * An instance count of {@code 0} stands for the number of available
+ * processors; {@code mix} holds relative weights per route.
+ */
+public record Workload(int port,
+                       List<Integer> instances,
+                       int driverInstances,
+                       int connections,
+                       int users,
+                       int itemsPerUser,
+                       int warmupSeconds,
+                       int durationSeconds,
+                       Map<String, Integer> mix,
+                       double maxErrorRate,
+                       Map<String, Double> maxP99Millis,
+                       JsonObject service) {
+
+    private static final String DEFAULT_RESOURCE = "loadtest/workload.json";
+
+    public static Workload load() throws IOException {
+        String path = System.getProperty("workload");
+        if (path != null) {
+            return fromJson(new JsonObject(Files.readString(Path.of(path))));
+        }
+        try (InputStream in = Workload.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Workload resource not found: " + DEFAULT_RESOURCE);
+            }
+            return fromJson(new JsonObject(new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+    }
+
+    static Workload fromJson(JsonObject json) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        json.getJsonObject("mix").forEach(entry -> mix.put(entry.getKey(), ((Number) entry.getValue()).intValue()));
+
+        Map<String, Double> maxP99Millis = new LinkedHashMap<>();
+        json.getJsonObject("max_p99_millis", new JsonObject())
+                .forEach(entry -> maxP99Millis.put(entry.getKey(), ((Number) entry.getValue()).doubleValue()));
+
+        List<Integer> instances = json.getJsonArray("instances").stream()
+                .map(value -> ((Number) value).intValue())
+                .map(count -> count > 0 ? count : Runtime.getRuntime().availableProcessors())
+                .distinct()
+                .toList();
+
+        return new Workload(
+                json.getInteger("port", 18080),
+                instances,
+                json.getInteger("driver_instances", 2),
+                json.getInteger("connections", 64),
+                json.getInteger("users", 32),
+                json.getInteger("items_per_user", 100),
+                json.getInteger("warmup_seconds", 5),
+                json.getInteger("duration_seconds", 20),
+                mix,
+                json.getDouble("max_error_rate", 0.01),
+                maxP99Millis,
+                json.getJsonObject("service", new JsonObject()));
+    }
+}
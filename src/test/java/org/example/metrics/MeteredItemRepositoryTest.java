@@ -0,0 +1,60 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.buffer.Buffer;
+import org.example.models.Item;
+import org.example.repositories.InMemoryItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredItemRepositoryTest {
+    private SimpleMeterRegistry registry;
+    private MeteredItemRepository itemRepository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        itemRepository = new MeteredItemRepository(new InMemoryItemRepository(), registry);
+    }
+
+    @Test
+    void shouldRecordOperationsByOutcome() {
+        UUID owner = UUID.randomUUID();
+        Item item = new Item();
+        item.setId(UUID.randomUUID());
+        item.setOwner(owner);
+        item.setTitle("Test Item");
+
+        assertTrue(itemRepository.save(item).succeeded());
+        assertTrue(itemRepository.save(null).failed());
+        assertEquals(1, itemRepository.findByOwner(owner).result().size());
+
+        assertEquals(1, timer("save", "success").count());
+        assertEquals(1, timer("save", "failure").count());
+        assertEquals(1, timer("find_by_owner", "success").count());
+        assertEquals(0, timer("find_by_owner", "failure").count());
+    }
+
+    @Test
+    void shouldRecordStreamWhenItEnds() {
+        Buffer body = Buffer.buffer();
+        itemRepository.streamListingJson(UUID.randomUUID())
+                .handler(body::appendBuffer)
+                .endHandler(v -> assertEquals("[]", body.toString()));
+
+        assertEquals(1, timer("stream_listing", "success").count());
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return registry.get("repository.operation")
+                .tag("component", "items")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
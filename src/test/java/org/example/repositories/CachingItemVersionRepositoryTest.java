@@ -0,0 +1,106 @@
+package org.example.repositories;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import org.example.config.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingItemVersionRepositoryTest {
+    private InMemoryItemVersionRepository store;
+    private AtomicInteger storeReads;
+    private Cache<UUID, Long> cache;
+    private UUID testUserId;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryItemVersionRepository();
+        storeReads = new AtomicInteger();
+        cache = CacheConfig.createItemVersionCache(new JsonObject());
+        testUserId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldReadStoreOnlyOnMiss() {
+        CachingItemVersionRepository repository = new CachingItemVersionRepository(countingStore(), cache);
+
+        assertEquals(0L, repository.findVersion(testUserId).result());
+        assertEquals(0L, repository.findVersion(testUserId).result());
+        assertEquals(1, storeReads.get());
+
+        assertEquals(1L, repository.reserveSequence(testUserId, 1).result().version());
+        assertEquals(1L, repository.findVersion(testUserId).result());
+        assertEquals(1, storeReads.get());
+    }
+
+    @Test
+    void shouldSeeReservationsOfOtherInstancesOnlyAfterMiss() {
+        CachingItemVersionRepository first = new CachingItemVersionRepository(countingStore(), cache);
+        CachingItemVersionRepository other = new CachingItemVersionRepository(countingStore(),
+                CacheConfig.createItemVersionCache(new JsonObject()));
+
+        assertEquals(0L, first.findVersion(testUserId).result());
+        assertEquals(1L, other.reserveSequence(testUserId, 1).result().version());
+        assertEquals(0L, first.findVersion(testUserId).result());
+
+        cache.invalidate(testUserId);
+        assertEquals(1L, first.findVersion(testUserId).result());
+    }
+
+    @Test
+    void shouldNotLetSlowReadOverwriteNewerReservation() {
+        Promise<Long> slowRead = Promise.promise();
+        ItemVersionRepository slowStore = new ItemVersionRepository() {
+            @Override
+            public Future<Long> findVersion(UUID owner) {
+                return slowRead.future();
+            }
+
+            @Override
+            public Future<Reservation> reserveSequence(UUID owner, int count) {
+                return store.reserveSequence(owner, count);
+            }
+
+            @Override
+            public Future<SequenceHorizon> findSequenceHorizon(UUID owner, Instant before) {
+                return store.findSequenceHorizon(owner, before);
+            }
+        };
+        CachingItemVersionRepository repository = new CachingItemVersionRepository(slowStore, cache);
+
+        Future<Long> read = repository.findVersion(testUserId);
+        assertEquals(1L, repository.reserveSequence(testUserId, 1).result().version());
+        slowRead.complete(0L);
+
+        assertEquals(1L, read.result());
+        assertEquals(1L, repository.findVersion(testUserId).result());
+    }
+
+    private ItemVersionRepository countingStore() {
+        return new ItemVersionRepository() {
+            @Override
+            public Future<Long> findVersion(UUID owner) {
+                storeReads.incrementAndGet();
+                return store.findVersion(owner);
+            }
+
+            @Override
+            public Future<Reservation> reserveSequence(UUID owner, int count) {
+                return store.reserveSequence(owner, count);
+            }
+
+            @Override
+            public Future<SequenceHorizon> findSequenceHorizon(UUID owner, Instant before) {
+                return store.findSequenceHorizon(owner, before);
+            }
+        };
+    }
+}
@@ -0,0 +1,203 @@
+package org.example.repositories;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import org.example.models.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryItemRepositoryTest {
+    private InMemoryItemRepository itemRepository;
+    private UUID testUserId;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = new InMemoryItemRepository();
+        testUserId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldFindItemsOrderedById() {
+        List<Item> items = createItems(testUserId, 50);
+        itemRepository.saveAll(items.subList(0, 20), 100);
+        items.subList(20, 50).forEach(itemRepository::save);
+
+        List<Item> found = itemRepository.findByOwner(testUserId).result();
+
+        assertEquals(sortedIds(items), found.stream().map(Item::getId).toList());
+        assertTrue(found.stream().allMatch(item -> item.getOwner().equals(testUserId)));
+        assertTrue(itemRepository.findByOwner(UUID.randomUUID()).result().isEmpty());
+    }
+
+    @Test
+    void shouldFindPageAfterCursor() {
+        List<Item> items = createItems(testUserId, 10);
+        itemRepository.saveAll(items, 100);
+        List<UUID> ids = sortedIds(items);
+
+        List<Item> page = itemRepository.findPageByOwner(testUserId, ids.get(3), 4).result();
+
+        assertEquals(ids.subList(4, 8), page.stream().map(Item::getId).toList());
+        assertTrue(itemRepository.findPageByOwner(testUserId, ids.get(9), 4).result().isEmpty());
+    }
+
+    @Test
+    void shouldStreamListingJson() {
+        List<Item> items = createItems(testUserId, 5);
+        items.get(0).setTitle("Quote \" and newline \n");
+        itemRepository.saveAll(items, 100);
+
+        JsonArray expected = new JsonArray();
+        itemRepository.findByOwner(testUserId).result().forEach(item -> expected.add(new JsonObject()
+                .put("id", item.getId().toString())
+                .put("title", item.getTitle())));
+
+        assertEquals(expected.encode(), drain(itemRepository.streamListingJson(testUserId)));
+        assertEquals("[]", drain(itemRepository.streamListingJson(UUID.randomUUID())));
+    }
+
+    @Test
+    void shouldRefreshListingAfterWrite() {
+        itemRepository.save(new Item(testUserId, "First"));
+        assertEquals(1, new JsonArray(drain(itemRepository.streamListingJson(testUserId))).size());
+
+        itemRepository.save(new Item(testUserId, "Second"));
+
+        assertEquals(2, new JsonArray(drain(itemRepository.streamListingJson(testUserId))).size());
+    }
+
+    @Test
+    void shouldKeepOwnersApartAcrossManyOwners() {
+        List<UUID> owners = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID owner = UUID.randomUUID();
+            owners.add(owner);
+            itemRepository.save(new Item(owner, "Item " + i));
+        }
+
+        for (int i = 0; i < owners.size(); i++) {
+            List<Item> found = itemRepository.findByOwner(owners.get(i)).result();
+            assertEquals(1, found.size());
+            assertEquals("Item " + i, found.get(0).getTitle());
+        }
+    }
+
+    @Test
+    void shouldServeItemsWrittenOneByOneAcrossMerges() {
+        List<Item> items = createItems(testUserId, 1000);
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setSeq(i + 1L);
+            itemRepository.save(items.get(i));
+        }
+        Item renamed = items.get(10);
+        itemRepository.update(testUserId, renamed.getId(), "Renamed", 1001L, 1L);
+        List<UUID> ids = sortedIds(items);
+
+        List<Item> found = itemRepository.findByOwner(testUserId).result();
+        assertEquals(ids, found.stream().map(Item::getId).toList());
+        assertEquals(ids.subList(501, 511),
+                itemRepository.findPageByOwner(testUserId, ids.get(500), 10).result().stream().map(Item::getId).toList());
+        assertEquals("Renamed", itemRepository.findById(testUserId, renamed.getId()).result().getTitle());
+
+        List<Item> changed = itemRepository.findChangedSince(testUserId, 998, 10).result();
+        assertEquals(List.of(999L, 1000L, 1001L), changed.stream().map(Item::getSeq).toList());
+        assertEquals(renamed.getId(), changed.get(2).getId());
+    }
+
+    @Test
+    void shouldListChangesInSequenceOrderAcrossSegments() {
+        List<Item> items = createItems(testUserId, 300);
+        for (int i = 0; i < items.size(); i++) {
+            // Sequences in reverse of write order, as concurrent writes may store them
+            items.get(i).setSeq(300L - i);
+        }
+        itemRepository.saveAll(items.subList(0, 200), 100);
+        items.subList(200, 300).forEach(itemRepository::save);
+        itemRepository.update(testUserId, items.get(299).getId(), "Moved", 301L, null);
+
+        List<Item> first = itemRepository.findChangedSince(testUserId, 0, 3).result();
+        assertEquals(List.of(2L, 3L, 4L), first.stream().map(Item::getSeq).toList());
+        List<Item> last = itemRepository.findChangedSince(testUserId, 298, 10).result();
+        assertEquals(List.of(299L, 300L, 301L), last.stream().map(Item::getSeq).toList());
+        assertEquals("Moved", last.get(2).getTitle());
+        assertTrue(itemRepository.findChangedSince(testUserId, 301, 10).result().isEmpty());
+    }
+
+    @Test
+    void shouldSkipTombstonesOutsideChanges() {
+        List<Item> items = createItems(testUserId, 10);
+        itemRepository.saveAll(items, 100);
+        List<UUID> ids = sortedIds(items);
+        assertEquals(10, new JsonArray(drain(itemRepository.streamListingJson(testUserId))).size());
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+
+        itemRepository.delete(testUserId, ids.get(0), 11L, null, expiresAt);
+        itemRepository.delete(testUserId, ids.get(5), 12L, null, expiresAt);
+
+        List<UUID> live = new ArrayList<>(ids);
+        live.removeAll(List.of(ids.get(0), ids.get(5)));
+        assertEquals(live, itemRepository.findPageByOwner(testUserId, null, 20).result().stream()
+                .map(Item::getId).toList());
+        assertEquals(live.subList(4, 8), itemRepository.findPageByOwner(testUserId, ids.get(4), 4).result().stream()
+                .map(Item::getId).toList());
+        assertEquals(live, itemRepository.findByOwner(testUserId).result().stream().map(Item::getId).toList());
+        assertEquals(8, new JsonArray(drain(itemRepository.streamListingJson(testUserId))).size());
+        assertNull(itemRepository.findById(testUserId, ids.get(5)).result());
+        assertNull(itemRepository.update(testUserId, ids.get(5), "Back", 13L, null).result());
+
+        List<Item> changed = itemRepository.findChangedSince(testUserId, 10, 10).result();
+        assertEquals(List.of(ids.get(0), ids.get(5)), changed.stream().map(Item::getId).toList());
+        assertTrue(changed.stream().allMatch(Item::isDeleted));
+    }
+
+    @Test
+    void shouldDropExpiredTombstones() {
+        List<Item> items = createItems(testUserId, 3);
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setSeq(i + 1L);
+        }
+        itemRepository.saveAll(items, 100);
+
+        itemRepository.delete(testUserId, items.get(0).getId(), 4L, null, Instant.now().minusMillis(1));
+        itemRepository.delete(testUserId, items.get(1).getId(), 5L, null, Instant.now().plusSeconds(3600));
+
+        List<Item> changed = itemRepository.findChangedSince(testUserId, 0, 10).result();
+        assertEquals(List.of(3L, 5L), changed.stream().map(Item::getSeq).toList());
+        assertEquals(List.of(items.get(2).getId()), itemRepository.findByOwner(testUserId).result().stream()
+                .map(Item::getId).toList());
+    }
+
+    private List<Item> createItems(UUID owner, int count) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(owner, "Item " + i));
+        }
+        return items;
+    }
+
+    private List<UUID> sortedIds(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .sorted(Comparator.comparing(UUID::toString))
+                .toList();
+    }
+
+    private String drain(ReadStream<Buffer> stream) {
+        Buffer body = Buffer.buffer();
+        boolean[] ended = new boolean[1];
+        stream.handler(body::appendBuffer);
+        stream.endHandler(v -> ended[0] = true);
+        assertTrue(ended[0]);
+        return body.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.repositories;
+
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryUserRepositoryTest {
+    private InMemoryUserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new InMemoryUserRepository();
+    }
+
+    @Test
+    void shouldSaveAndFindUser() {
+        User user = new User("test@example.com", "hash");
+
+        assertEquals(user.getId().toString(), userRepository.save(user).result());
+
+        User found = userRepository.findByLogin("test@example.com").result();
+        assertEquals(user.getId(), found.getId());
+        assertEquals("hash", found.getPassword());
+        assertTrue(userRepository.existsByLogin("test@example.com").result());
+        assertNull(userRepository.findByLogin("other@example.com").result());
+    }
+
+    @Test
+    void shouldRejectDuplicateLogin() {
+        userRepository.save(new User("test@example.com", "hash"));
+
+        Throwable error = userRepository.save(new User("test@example.com", "other")).cause();
+
+        assertInstanceOf(ApiException.class, error);
+        assertEquals(ErrorReason.USER_ALREADY_EXISTS.getMessage(), error.getMessage());
+        assertEquals("hash", userRepository.findByLogin("test@example.com").result().getPassword());
+    }
+}
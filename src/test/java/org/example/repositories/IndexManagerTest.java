@@ -0,0 +1,68 @@
+package org.example.repositories;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.IndexOptions;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+class IndexManagerTest {
+    private MongoClient mongoClient;
+
+    @BeforeEach
+    void setUp(Vertx vertx, VertxTestContext testContext) {
+        JsonObject config = new JsonObject()
+                .put("connection_string", "mongodb://localhost:27017")
+                .put("db_name", "test_db");
+
+        mongoClient = MongoClient.create(vertx, config);
+
+        mongoClient.dropCollection("users")
+                .compose(v -> mongoClient.dropCollection("items"))
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void shouldCreateMissingIndexes(VertxTestContext testContext) {
+        new IndexManager(mongoClient, true).ensureIndexes()
+                .compose(v -> mongoClient.listIndexes("users"))
+                .onComplete(testContext.succeeding(indexes -> {
+                    testContext.verify(() -> {
+                        JsonObject loginIndex = findByName(indexes, "login_1");
+                        assertNotNull(loginIndex);
+                        assertTrue(loginIndex.getBoolean("unique"));
+                        testContext.completeNow();
+                    });
+                }));
+    }
+
+    @Test
+    void shouldFailOnDriftWhenConfigured(VertxTestContext testContext) {
+        mongoClient.createIndexWithOptions("users", new JsonObject().put("login", 1),
+                        new IndexOptions().name("login_1"))
+                .compose(v -> new IndexManager(mongoClient, true).ensureIndexes())
+                .onComplete(testContext.failing(err -> {
+                    testContext.verify(() -> {
+                        assertTrue(err instanceof IllegalStateException);
+                        assertTrue(err.getMessage().contains("login_1"));
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    private JsonObject findByName(JsonArray indexes, String name) {
+        return indexes.stream()
+                .map(JsonObject.class::cast)
+                .filter(index -> name.equals(index.getString("name")))
+                .findFirst()
+                .orElse(null);
+    }
+}
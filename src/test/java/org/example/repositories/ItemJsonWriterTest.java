@@ -0,0 +1,48 @@
+package org.example.repositories;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemJsonWriterTest {
+
+    @Test
+    void shouldMatchJsonObjectEncodingForStringIds() {
+        UUID id = UUID.randomUUID();
+        String title = "Quote \" backslash \\ tab \t newline \n bell \u0007 unicode é中😀 /";
+
+        String written = write(new JsonObject().put("_id", id.toString()).put("title", title));
+
+        assertEquals(new JsonObject().put("id", id.toString()).put("title", title).encode(), written);
+    }
+
+    @Test
+    void shouldWriteBinaryIdsInTextForm() {
+        UUID id = UUID.randomUUID();
+
+        String written = write(new JsonObject().put("_id", UuidRepresentation.toBinary(id)).put("title", "Item"));
+
+        assertEquals(new JsonObject().put("id", id.toString()).put("title", "Item").encode(), written);
+    }
+
+    @Test
+    void shouldWriteMissingTitleAsNull() {
+        UUID id = UUID.randomUUID();
+
+        String written = write(new JsonObject().put("_id", id.toString()));
+
+        assertEquals("{\"id\":\"" + id + "\",\"title\":null}", written);
+    }
+
+    private String write(JsonObject document) {
+        ByteBuf out = Unpooled.buffer();
+        ItemJsonWriter.writeListingDocument(document, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.repositories;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.metrics.ItemWriteCoalescerMetrics;
+import org.example.models.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+class ItemWriteCoalescerTest {
+    private Context context;
+    private List<List<Item>> batches;
+    private UUID testUserId;
+
+    @BeforeEach
+    void setUp(Vertx vertx) {
+        context = vertx.getOrCreateContext();
+        batches = new ArrayList<>();
+        testUserId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldFlushConcurrentWritesAsOneBatch(VertxTestContext testContext) {
+        ItemWriteCoalescer coalescer = new ItemWriteCoalescer(context, 64, 500, items -> {
+            batches.add(items);
+            return Future.succeededFuture(Arrays.asList(new ErrorReason[items.size()]));
+        });
+
+        context.runOnContext(v -> Future.all(
+                        coalescer.submit(new Item(testUserId, "Item 1")),
+                        coalescer.submit(new Item(testUserId, "Item 2")),
+                        coalescer.submit(new Item(testUserId, "Item 3")))
+                .onComplete(testContext.succeeding(ids -> {
+                    testContext.verify(() -> {
+                        assertEquals(1, batches.size());
+                        assertEquals(3, batches.get(0).size());
+                        assertEquals(1, coalescer.getFlushCount());
+                        assertEquals(3, coalescer.getWriteCount());
+                    });
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    void shouldRecordBatchSizes(VertxTestContext testContext) {
+        ItemWriteCoalescer coalescer = new ItemWriteCoalescer(context, 2, 500, items ->
+                Future.succeededFuture(Arrays.asList(new ErrorReason[items.size()])));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new ItemWriteCoalescerMetrics(coalescer).bindTo(registry);
+
+        context.runOnContext(v -> Future.all(
+                        coalescer.submit(new Item(testUserId, "Item 1")),
+                        coalescer.submit(new Item(testUserId, "Item 2")),
+                        coalescer.submit(new Item(testUserId, "Item 3")))
+                .onComplete(testContext.succeeding(ids -> {
+                    testContext.verify(() -> {
+                        DistributionSummary batchSize = registry.get("item_write_coalescer.batch_size").summary();
+                        assertEquals(2, batchSize.count());
+                        assertEquals(3, batchSize.totalAmount());
+                        assertEquals(2, batchSize.max());
+                    });
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    void shouldFlushWhenBatchIsFull(VertxTestContext testContext) {
+        ItemWriteCoalescer coalescer = new ItemWriteCoalescer(context, 2, 60_000_000, items -> {
+            batches.add(items);
+            return Future.succeededFuture(Arrays.asList(new ErrorReason[items.size()]));
+        });
+
+        context.runOnContext(v -> Future.all(
+                        coalescer.submit(new Item(testUserId, "Item 1")),
+                        coalescer.submit(new Item(testUserId, "Item 2")))
+                .onComplete(testContext.succeeding(ids -> {
+                    testContext.verify(() -> assertEquals(1, batches.size()));
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    void shouldFailOnlyTheRejectedWrite(VertxTestContext testContext) {
+        ItemWriteCoalescer coalescer = new ItemWriteCoalescer(context, 64, 500, items ->
+                Future.succeededFuture(Arrays.asList(null, ErrorReason.INTERNAL_SERVER_ERROR)));
+
+        context.runOnContext(v -> {
+            Future<String> stored = coalescer.submit(new Item(testUserId, "Item 1"));
+            Future<String> rejected = coalescer.submit(new Item(testUserId, "Item 2"));
+
+            Future.join(stored, rejected).onComplete(ar -> {
+                testContext.verify(() -> {
+                    assertTrue(stored.succeeded());
+                    assertTrue(rejected.failed());
+                    assertTrue(rejected.cause() instanceof ApiException);
+                });
+                testContext.completeNow();
+            });
+        });
+    }
+}
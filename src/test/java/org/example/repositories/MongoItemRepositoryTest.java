@@ -10,12 +10,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(VertxExtension.class)
-class ItemRepositoryTest {
+class MongoItemRepositoryTest {
     private ItemRepository itemRepository;
     private MongoClient mongoClient;
     private UUID testUserId;
@@ -27,7 +29,7 @@ class ItemRepositoryTest {
                 .put("db_name", "test_db");
 
         mongoClient = MongoClient.create(vertx, config);
-        itemRepository = new ItemRepository(mongoClient);
+        itemRepository = new MongoItemRepository(mongoClient);
         testUserId = UUID.randomUUID();
 
         mongoClient.dropCollection("items")
@@ -87,4 +89,70 @@ class ItemRepositoryTest {
                     });
                 }));
     }
+
+    @Test
+    void shouldFindItemsPageAfterCursor(VertxTestContext testContext) {
+        Item item1 = new Item(testUserId, "Test Item 1");
+        Item item2 = new Item(testUserId, "Test Item 2");
+        Item item3 = new Item(testUserId, "Test Item 3");
+
+        itemRepository.save(item1)
+                .compose(id -> itemRepository.save(item2))
+                .compose(id -> itemRepository.save(item3))
+                .compose(id -> itemRepository.findPageByOwner(testUserId, null, 2))
+                .compose(firstPage -> {
+                    testContext.verify(() -> assertEquals(2, firstPage.size()));
+                    return itemRepository.findPageByOwner(testUserId, firstPage.get(1).getId(), 2);
+                })
+                .onComplete(testContext.succeeding(secondPage -> {
+                    testContext.verify(() -> {
+                        assertEquals(1, secondPage.size());
+                        testContext.completeNow();
+                    });
+                }));
+    }
+
+    @Test
+    void shouldSaveItemsInChunks(VertxTestContext testContext) {
+        List<Item> items = List.of(
+                new Item(testUserId, "Test Item 1"),
+                new Item(testUserId, "Test Item 2"),
+                new Item(testUserId, "Test Item 3"));
+
+        itemRepository.saveAll(items, 2)
+                .compose(errors -> {
+                    testContext.verify(() -> assertTrue(errors.stream().allMatch(Objects::isNull)));
+                    return itemRepository.findByOwner(testUserId);
+                })
+                .onComplete(testContext.succeeding(found -> {
+                    testContext.verify(() -> {
+                        assertEquals(3, found.size());
+                        testContext.completeNow();
+                    });
+                }));
+    }
+
+    @Test
+    void shouldStoreBinaryUuidsInBinaryMode(VertxTestContext testContext) {
+        ItemRepository binaryRepository = new MongoItemRepository(mongoClient, UuidRepresentation.BINARY);
+        Item item = new Item(testUserId, "Test Item");
+
+        binaryRepository.save(item)
+                .compose(id -> mongoClient.findOne("items",
+                        new JsonObject().put("_id", UuidRepresentation.toBinary(item.getId())), null))
+                .compose(document -> {
+                    testContext.verify(() -> {
+                        assertNotNull(document);
+                        assertEquals(testUserId, UuidRepresentation.decode(document.getValue("owner")));
+                    });
+                    return binaryRepository.findByOwner(testUserId);
+                })
+                .onComplete(testContext.succeeding(items -> {
+                    testContext.verify(() -> {
+                        assertEquals(1, items.size());
+                        assertEquals(item.getId(), items.get(0).getId());
+                        testContext.completeNow();
+                    });
+                }));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package org.example.repositories;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.loadtest.InMemoryMongoClient;
+import org.example.models.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inserts, updates and deletes of {@link MongoItemRepository} against the
+ * in-memory stand-in, which needs no running server unlike
+ * {@link MongoItemRepositoryTest}.
+ */
+@ExtendWith(VertxExtension.class)
+class MongoItemRepositoryWriteTest {
+    private MongoClient mongoClient;
+    private ItemRepository itemRepository;
+    private UUID testUserId;
+
+    @BeforeEach
+    void setUp(Vertx vertx) {
+        mongoClient = InMemoryMongoClient.create(vertx);
+        itemRepository = new MongoItemRepository(mongoClient);
+        testUserId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldUpdateTitleAtExpectedVersion(VertxTestContext testContext) {
+        Item item = new Item(testUserId, "Old Title");
+
+        itemRepository.save(item)
+                .compose(id -> itemRepository.update(testUserId, item.getId(), "New Title", 7L, 1L))
+                .onComplete(testContext.succeeding(updated -> {
+                    testContext.verify(() -> {
+                        assertEquals("New Title", updated.getTitle());
+                        assertEquals(7L, updated.getSeq());
+                        assertEquals(2L, updated.getVersion());
+                        assertFalse(updated.isDeleted());
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldMatchItemWithoutVersionAtVersionZero(VertxTestContext testContext) {
+        UUID itemId = UUID.randomUUID();
+        JsonObject legacy = new JsonObject()
+                .put("_id", itemId.toString())
+                .put("owner", testUserId.toString())
+                .put("title", "Legacy");
+
+        mongoClient.insert("items", legacy)
+                .compose(id -> itemRepository.update(testUserId, itemId, "Updated", null, 0L))
+                .compose(updated -> {
+                    testContext.verify(() -> assertEquals(1L, updated.getVersion()));
+                    return itemRepository.update(testUserId, itemId, "Again", null, 0L);
+                })
+                .onComplete(testContext.failing(err -> {
+                    testContext.verify(() -> assertEquals(ErrorReason.VERSION_CONFLICT,
+                            ((ApiException) err).getErrorReason()));
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldTellConflictFromMissingItem(VertxTestContext testContext) {
+        Item item = new Item(testUserId, "Title");
+
+        itemRepository.save(item)
+                .compose(id -> itemRepository.update(testUserId, UUID.randomUUID(), "Other", null, 1L))
+                .compose(missing -> {
+                    testContext.verify(() -> assertNull(missing));
+                    return itemRepository.update(testUserId, item.getId(), "Other", null, 5L);
+                })
+                .onComplete(testContext.failing(err -> {
+                    testContext.verify(() -> assertEquals(ErrorReason.VERSION_CONFLICT,
+                            ((ApiException) err).getErrorReason()));
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldTurnDeletedItemIntoTombstone(VertxTestContext testContext) {
+        Item item = new Item(testUserId, "Title");
+        Instant expiresAt = Instant.parse("2030-01-01T00:00:00Z");
+
+        itemRepository.save(item)
+                .compose(id -> itemRepository.delete(testUserId, item.getId(), 3L, 1L, expiresAt))
+                .compose(tombstone -> {
+                    testContext.verify(() -> {
+                        assertTrue(tombstone.isDeleted());
+                        assertNull(tombstone.getTitle());
+                        assertEquals(3L, tombstone.getSeq());
+                        assertEquals(2L, tombstone.getVersion());
+                    });
+                    return mongoClient.findOne("items", new JsonObject().put("_id", item.getId().toString()), null);
+                })
+                .compose(document -> {
+                    testContext.verify(() -> {
+                        assertFalse(document.containsKey("title"));
+                        assertEquals(expiresAt.toString(), document.getJsonObject("expires_at").getString("$date"));
+                    });
+                    return itemRepository.delete(testUserId, item.getId(), 4L, 2L, expiresAt);
+                })
+                .compose(again -> {
+                    testContext.verify(() -> assertNull(again));
+                    return itemRepository.update(testUserId, item.getId(), "Back", null, null);
+                })
+                .onComplete(testContext.succeeding(revived -> {
+                    testContext.verify(() -> assertNull(revived));
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldReportTakenIdsAsConflicts(VertxTestContext testContext) {
+        Item stored = new Item(testUserId, "Stored");
+        Item duplicate = new Item(testUserId, "Duplicate");
+        duplicate.setId(stored.getId());
+        Item fresh = new Item(testUserId, "Fresh");
+
+        itemRepository.save(stored)
+                .compose(id -> itemRepository.saveAll(List.of(duplicate, fresh), 10))
+                .compose(errors -> {
+                    testContext.verify(() -> assertEquals(Arrays.asList(ErrorReason.ITEM_ALREADY_EXISTS, null), errors));
+                    return itemRepository.save(duplicate);
+                })
+                .onComplete(testContext.failing(err -> {
+                    testContext.verify(() -> assertEquals(ErrorReason.ITEM_ALREADY_EXISTS,
+                            ((ApiException) err).getErrorReason()));
+                    testContext.completeNow();
+                }));
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.repositories;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.example.loadtest.InMemoryMongoClient;
+import org.example.models.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+class MongoItemVersionRepositoryTest {
+    private MongoClient mongoClient;
+    private ItemVersionRepository versionRepository;
+    private UUID testUserId;
+
+    @BeforeEach
+    void setUp(Vertx vertx) {
+        mongoClient = InMemoryMongoClient.create(vertx);
+        versionRepository = new MongoItemVersionRepository(mongoClient);
+        testUserId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldReserveSequencesAndBumpVersionTogether(VertxTestContext testContext) {
+        versionRepository.reserveSequence(testUserId, 3)
+                .compose(first -> {
+                    testContext.verify(() -> assertEquals(new ItemVersionRepository.Reservation(3, 1), first));
+                    return versionRepository.reserveSequence(testUserId, 2);
+                })
+                .compose(second -> {
+                    testContext.verify(() -> assertEquals(new ItemVersionRepository.Reservation(5, 2), second));
+                    return versionRepository.findVersion(testUserId);
+                })
+                .onComplete(testContext.succeeding(version -> {
+                    testContext.verify(() -> assertEquals(2L, version));
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldCountSequencesReservedBeforeHorizon(VertxTestContext testContext) {
+        long today = LocalDate.now(ZoneOffset.UTC).toEpochDay();
+        JsonObject stored = new JsonObject()
+                .put("_id", testUserId.toString())
+                .put("version", 4L)
+                .put("seq", 10L)
+                .put("days", new JsonObject()
+                        .put(String.valueOf(today - 50), 4L)
+                        .put(String.valueOf(today - 3), 6L));
+
+        mongoClient.insert("item_versions", stored)
+                .compose(id -> versionRepository.reserveSequence(testUserId, 2))
+                .compose(reservation -> versionRepository.findSequenceHorizon(testUserId,
+                        Instant.now().minus(Duration.ofDays(5))))
+                .compose(horizon -> {
+                    testContext.verify(() -> assertEquals(
+                            new ItemVersionRepository.SequenceHorizon(4, 12), horizon));
+                    return mongoClient.findOne("item_versions", new JsonObject().put("_id", testUserId.toString()), null);
+                })
+                .onComplete(testContext.succeeding(document -> {
+                    testContext.verify(() -> {
+                        JsonObject days = document.getJsonObject("days");
+                        assertFalse(days.containsKey(String.valueOf(today - 50)));
+                        assertEquals(6L, days.getLong(String.valueOf(today - 3)));
+                        assertEquals(2L, days.getLong(String.valueOf(today)));
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldKeepCountingInTextKeyedDocumentAfterSwitchToMixed(VertxTestContext testContext) {
+        JsonObject stored = new JsonObject()
+                .put("_id", testUserId.toString())
+                .put("version", 7L)
+                .put("seq", 20L);
+        // Items are written with binary ids from now on; the counters must not start over.
+        ItemRepository itemRepository = new MongoItemRepository(mongoClient, UuidRepresentation.MIXED);
+
+        mongoClient.insert("item_versions", stored)
+                .compose(id -> versionRepository.findVersion(testUserId))
+                .compose(version -> {
+                    testContext.verify(() -> assertEquals(7L, version));
+                    return versionRepository.reserveSequence(testUserId, 1);
+                })
+                .compose(reservation -> {
+                    testContext.verify(() -> assertEquals(new ItemVersionRepository.Reservation(21, 8), reservation));
+                    Item item = new Item(testUserId, "Title");
+                    item.setSeq(reservation.lastSequence());
+                    return itemRepository.save(item);
+                })
+                .compose(id -> mongoClient.find("item_versions", new JsonObject()))
+                .onComplete(testContext.succeeding(documents -> {
+                    testContext.verify(() -> {
+                        assertEquals(1, documents.size());
+                        assertEquals(testUserId.toString(), documents.get(0).getString("_id"));
+                        assertEquals(21L, documents.get(0).getLong("seq"));
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldReportEmptyHorizonForUnknownOwner(VertxTestContext testContext) {
+        versionRepository.findSequenceHorizon(testUserId, Instant.now())
+                .onComplete(testContext.succeeding(horizon -> {
+                    testContext.verify(() -> assertEquals(new ItemVersionRepository.SequenceHorizon(0, 0), horizon));
+                    testContext.completeNow();
+                }));
+    }
+}
@@ -5,6 +5,8 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.mongo.MongoClient;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
 import org.example.models.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,7 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(VertxExtension.class)
-class UserRepositoryTest {
+class MongoUserRepositoryTest {
     private UserRepository userRepository;
     private MongoClient mongoClient;
 
@@ -24,7 +26,7 @@ class UserRepositoryTest {
                 .put("db_name", "test_db");
 
         mongoClient = MongoClient.create(vertx, config);
-        userRepository = new UserRepository(mongoClient);
+        userRepository = new MongoUserRepository(mongoClient);
 
         mongoClient.dropCollection("users")
                 .onComplete(testContext.succeedingThenComplete());
@@ -88,4 +90,21 @@ class UserRepositoryTest {
                     });
                 }));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRejectDuplicateLogin(VertxTestContext testContext) {
+        User user = new User("test@example.com", "password123");
+        User duplicate = new User("test@example.com", "other-password");
+
+        new IndexManager(mongoClient, false).ensureIndexes()
+                .compose(v -> userRepository.save(user))
+                .compose(id -> userRepository.save(duplicate))
+                .onComplete(testContext.failing(err -> {
+                    testContext.verify(() -> {
+                        assertInstanceOf(ApiException.class, err);
+                        assertEquals(ErrorReason.USER_ALREADY_EXISTS.getMessage(), err.getMessage());
+                        testContext.completeNow();
+                    });
+                }));
+    }
+}
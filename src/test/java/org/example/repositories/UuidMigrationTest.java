@@ -0,0 +1,90 @@
+package org.example.repositories;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.mongo.IndexOptions;
+import io.vertx.ext.mongo.MongoClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.example.loadtest.InMemoryMongoClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+class UuidMigrationTest {
+    private MongoClient mongoClient;
+
+    @BeforeEach
+    void setUp(Vertx vertx, VertxTestContext testContext) {
+        mongoClient = InMemoryMongoClient.create(vertx);
+        mongoClient.createIndexWithOptions("users", new JsonObject().put("login", 1),
+                        new IndexOptions().name("login_1").unique(true))
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void shouldMigrateUsersDespiteUniqueLoginIndex(VertxTestContext testContext) {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        insertUsers(ids, 0)
+                .compose(v -> new UuidMigration(mongoClient, 2).migrate("users", List.of()))
+                .compose(migrated -> {
+                    testContext.verify(() -> assertEquals(3L, migrated));
+                    return mongoClient.find("users", new JsonObject());
+                })
+                .onComplete(testContext.succeeding(users -> {
+                    testContext.verify(() -> {
+                        assertEquals(3, users.size());
+                        for (int i = 0; i < ids.size(); i++) {
+                            UUID id = ids.get(i);
+                            JsonObject user = users.stream()
+                                    .filter(candidate -> id.equals(UuidRepresentation.decode(candidate.getValue("_id"))))
+                                    .findFirst()
+                                    .orElseThrow();
+                            assertInstanceOf(JsonObject.class, user.getValue("_id"));
+                            assertEquals("user" + i + "@example.com", user.getString("login"));
+                        }
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldRemoveTextDocumentsAlreadyCopiedByEarlierRun(VertxTestContext testContext) {
+        UUID id = UUID.randomUUID();
+        UUID owner = UUID.randomUUID();
+        JsonObject text = new JsonObject().put("_id", id.toString()).put("owner", owner.toString()).put("title", "a");
+        JsonObject binary = text.copy()
+                .put("_id", UuidRepresentation.toBinary(id))
+                .put("owner", UuidRepresentation.toBinary(owner));
+
+        mongoClient.insert("items", text)
+                .compose(v -> mongoClient.insert("items", binary))
+                .compose(v -> new UuidMigration(mongoClient, 10).migrate("items", List.of("owner")))
+                .compose(migrated -> mongoClient.find("items", new JsonObject()))
+                .onComplete(testContext.succeeding(items -> {
+                    testContext.verify(() -> {
+                        assertEquals(1, items.size());
+                        assertEquals(binary.getValue("_id"), items.get(0).getValue("_id"));
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    private Future<Void> insertUsers(List<UUID> ids, int from) {
+        if (from == ids.size()) {
+            return Future.succeededFuture();
+        }
+        JsonObject user = new JsonObject()
+                .put("_id", ids.get(from).toString())
+                .put("login", "user" + from + "@example.com");
+        return mongoClient.insert("users", user).compose(v -> insertUsers(ids, from + 1));
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.repositories;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidRepresentationTest {
+    private final UUID uuid = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+    @Test
+    void shouldEncodeAsStringInStringMode() {
+        assertEquals(uuid.toString(), UuidRepresentation.STRING.encode(uuid));
+    }
+
+    @Test
+    void shouldEncodeAsBinarySubtype4() {
+        JsonObject binary = (JsonObject) UuidRepresentation.BINARY.encode(uuid);
+
+        assertEquals(4, binary.getInteger("$type"));
+        assertEquals(16, binary.getBinary("$binary").length);
+        assertEquals(0x12, binary.getBinary("$binary")[0]);
+    }
+
+    @Test
+    void shouldDecodeBothRepresentations() {
+        assertEquals(uuid, UuidRepresentation.decode(uuid.toString()));
+        assertEquals(uuid, UuidRepresentation.decode(UuidRepresentation.toBinary(uuid)));
+    }
+
+    @Test
+    void shouldMatchBothRepresentationsInMixedMode() {
+        JsonObject match = (JsonObject) UuidRepresentation.MIXED.match(uuid);
+        JsonArray candidates = match.getJsonArray("$in");
+
+        assertEquals(2, candidates.size());
+        assertEquals(UuidRepresentation.toBinary(uuid), candidates.getJsonObject(0));
+        assertEquals(uuid.toString(), candidates.getString(1));
+    }
+
+    @Test
+    void shouldReadRepresentationFromConfig() {
+        JsonObject config = new JsonObject()
+                .put("mongodb", new JsonObject().put("uuid_representation", "binary"));
+
+        assertEquals(UuidRepresentation.BINARY, UuidRepresentation.fromConfig(config));
+        assertEquals(UuidRepresentation.STRING, UuidRepresentation.fromConfig(new JsonObject()));
+    }
+}
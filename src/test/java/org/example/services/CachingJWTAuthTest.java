@@ -0,0 +1,86 @@
+package org.example.services;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.jwt.JWTAuth;
+import io.vertx.junit5.VertxExtension;
+import org.example.config.JWTConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+class CachingJWTAuthTest {
+    private JWTAuth jwtAuth;
+    private CachingJWTAuth cachingJwtAuth;
+
+    @BeforeEach
+    void setUp(Vertx vertx) {
+        JsonObject config = new JsonObject()
+                .put("jwt", new JsonObject()
+                        .put("secret", "test-secret-that-is-at-least-32-characters")
+                        .put("expiration", 3600));
+
+        jwtAuth = JWTConfig.create(vertx, config);
+        cachingJwtAuth = new CachingJWTAuth(jwtAuth, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldServeRepeatedTokenFromCache() {
+        UUID userId = UUID.randomUUID();
+        String token = jwtAuth.generateToken(new JsonObject().put("userId", userId.toString()));
+
+        User first = cachingJwtAuth.authenticate(new TokenCredentials(token)).result();
+        User second = cachingJwtAuth.authenticate(new TokenCredentials(token)).result();
+
+        AuthenticatedUser authenticated = assertInstanceOf(AuthenticatedUser.class, first);
+        assertEquals(userId, authenticated.getUserId());
+        assertEquals(userId, assertInstanceOf(AuthenticatedUser.class, second).getUserId());
+        assertEquals(first.principal(), second.principal());
+        assertEquals(1, cachingJwtAuth.getStats().hitCount());
+        assertEquals(1, cachingJwtAuth.getStats().missCount());
+    }
+
+    @Test
+    void shouldNotShareUsersBetweenCallers() {
+        String token = jwtAuth.generateToken(new JsonObject().put("userId", UUID.randomUUID().toString()));
+        cachingJwtAuth.authenticate(new TokenCredentials(token)).result()
+                .principal().put("login", "first@example.com");
+
+        User first = cachingJwtAuth.authenticate(new TokenCredentials(token)).result();
+        first.principal().put("login", "changed@example.com");
+        first.attributes().put("extra", true);
+        User second = cachingJwtAuth.authenticate(new TokenCredentials(token)).result();
+
+        assertNotSame(first, second);
+        assertFalse(second.principal().containsKey("login"));
+        assertFalse(second.attributes().containsKey("extra"));
+    }
+
+    @Test
+    void shouldNotCacheRejectedTokens() {
+        String token = jwtAuth.generateToken(new JsonObject().put("userId", UUID.randomUUID().toString()));
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertTrue(cachingJwtAuth.authenticate(new TokenCredentials(tampered)).failed());
+        assertTrue(cachingJwtAuth.authenticate(new TokenCredentials(tampered)).failed());
+        assertEquals(0, cachingJwtAuth.getEstimatedSize());
+    }
+
+    @Test
+    void shouldNotCacheTokensWithoutUserId() {
+        String token = jwtAuth.generateToken(new JsonObject().put("userId", "not-a-uuid"));
+
+        User user = cachingJwtAuth.authenticate(new TokenCredentials(token)).result();
+
+        assertFalse(user instanceof AuthenticatedUser);
+        assertEquals(0, cachingJwtAuth.getEstimatedSize());
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.services;
+
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemChangeHistoryTest {
+    private ItemChangeHistory history;
+    private UUID testUserId;
+
+    @BeforeEach
+    void setUp() {
+        history = new ItemChangeHistory(100, 3, Duration.ofMinutes(1));
+        testUserId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldReplayEventsAfterVersion() {
+        history.append(testUserId, event(1));
+        history.append(testUserId, event(2));
+        history.append(testUserId, event(2));
+        history.append(testUserId, event(3));
+
+        List<JsonObject> missed = history.since(testUserId, 1);
+
+        assertEquals(List.of(2L, 3L), missed.stream().map(e -> e.getLong("version")).toList());
+        assertTrue(history.since(testUserId, 3).isEmpty());
+        assertNull(history.since(UUID.randomUUID(), 0));
+    }
+
+    @Test
+    void shouldNotReplayPastEvictedEvents() {
+        for (long version = 1; version <= 5; version++) {
+            history.append(testUserId, event(version));
+        }
+
+        assertNull(history.since(testUserId, 1));
+        assertEquals(3, history.since(testUserId, 2).size());
+    }
+
+    @Test
+    void shouldNotReplayAcrossGaps() {
+        history.append(testUserId, event(1));
+        history.append(testUserId, event(3));
+
+        assertNull(history.since(testUserId, 1));
+        assertEquals(1, history.since(testUserId, 2).size());
+    }
+
+    private JsonObject event(long version) {
+        return new JsonObject()
+                .put("owner", testUserId.toString())
+                .put("version", version)
+                .put("items", List.of());
+    }
+}
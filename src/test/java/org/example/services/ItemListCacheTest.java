@@ -0,0 +1,112 @@
+package org.example.services;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemListCacheTest {
+    private ItemListCache itemListCache;
+    private UUID testUserId;
+
+    @BeforeEach
+    void setUp() {
+        itemListCache = new ItemListCache(1024, 16, Duration.ofMinutes(1));
+        testUserId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldCacheBodyWhenStreamEnds() {
+        TestStream source = new TestStream();
+        drain(itemListCache.capture(testUserId, source));
+
+        source.emit("[{\"id\":1}");
+        source.emit("]");
+        assertNull(itemListCache.get(testUserId));
+
+        source.end();
+        assertEquals("[{\"id\":1}]", itemListCache.get(testUserId).toString());
+        assertEquals(1, itemListCache.getStats().hitCount());
+    }
+
+    @Test
+    void shouldNotCacheBodyInvalidatedWhileStreaming() {
+        TestStream source = new TestStream();
+        drain(itemListCache.capture(testUserId, source));
+
+        source.emit("[]");
+        itemListCache.invalidate(testUserId);
+        source.end();
+
+        assertNull(itemListCache.get(testUserId));
+    }
+
+    @Test
+    void shouldNotCacheBodyLargerThanEntryLimit() {
+        TestStream source = new TestStream();
+        drain(itemListCache.capture(testUserId, source));
+
+        source.emit("[{\"title\":\"longer than sixteen bytes\"}]");
+        source.end();
+
+        assertNull(itemListCache.get(testUserId));
+    }
+
+    private void drain(ReadStream<Buffer> stream) {
+        stream.handler(chunk -> {
+        });
+        stream.endHandler(v -> {
+        });
+    }
+
+    private static class TestStream implements ReadStream<Buffer> {
+        private Handler<Buffer> handler;
+        private Handler<Void> endHandler;
+
+        void emit(String chunk) {
+            handler.handle(Buffer.buffer(chunk));
+        }
+
+        void end() {
+            endHandler.handle(null);
+        }
+
+        @Override
+        public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+            this.handler = handler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> pause() {
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> resume() {
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> fetch(long amount) {
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.services;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemReadCoalescerTest {
+    private ItemReadCoalescer coalescer;
+    private List<ManualStream> listings;
+    private UUID testUserId;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new ItemReadCoalescer(16);
+        listings = new ArrayList<>();
+        testUserId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() {
+        Future<Buffer> leader = coalescer.load(testUserId, this::listing);
+        Future<Buffer> follower = coalescer.load(testUserId, this::listing);
+        Future<Buffer> otherOwner = coalescer.load(UUID.randomUUID(), this::listing);
+
+        listings.get(0).emit("[{\"a\":1}").emit("]").end();
+
+        assertEquals(2, listings.size());
+        assertEquals("[{\"a\":1}]", leader.result().toString());
+        assertSame(leader.result(), follower.result());
+        assertFalse(otherOwner.isComplete());
+        assertEquals(2, coalescer.getLeaderCount());
+        assertEquals(1, coalescer.getCoalescedCount());
+        assertEquals(1, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void shouldStartNewLoadAfterCompletionOrForget() {
+        coalescer.load(testUserId, this::listing);
+        coalescer.forget(testUserId);
+        Future<Buffer> afterWrite = coalescer.load(testUserId, this::listing);
+        listings.get(1).emit("[]").end();
+        listings.get(0).emit("[]").end();
+        coalescer.load(testUserId, this::listing);
+
+        assertEquals(3, listings.size());
+        assertEquals("[]", afterWrite.result().toString());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    void shouldGiveUpOnListsLargerThanLimit() {
+        Future<Buffer> leader = coalescer.load(testUserId, this::listing);
+        Future<Buffer> follower = coalescer.load(testUserId, this::listing);
+
+        listings.get(0).emit("[{\"title\":").emit("\"long enough\"}]");
+
+        assertTrue(leader.succeeded());
+        assertNull(leader.result());
+        assertNull(follower.result());
+        assertNull(listings.get(0).handler);
+        assertEquals(1, coalescer.getOversizedCount());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void shouldPassFailuresToAllCallers() {
+        Future<Buffer> leader = coalescer.load(testUserId, this::listing);
+        Future<Buffer> follower = coalescer.load(testUserId, this::listing);
+
+        listings.get(0).fail(new IllegalStateException("cursor lost"));
+
+        assertEquals("cursor lost", leader.cause().getMessage());
+        assertEquals("cursor lost", follower.cause().getMessage());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    private ReadStream<Buffer> listing() {
+        ManualStream stream = new ManualStream();
+        listings.add(stream);
+        return stream;
+    }
+
+    private static class ManualStream implements ReadStream<Buffer> {
+        private Handler<Buffer> handler;
+        private Handler<Void> endHandler;
+        private Handler<Throwable> exceptionHandler;
+
+        ManualStream emit(String chunk) {
+            if (handler != null) {
+                handler.handle(Buffer.buffer(chunk));
+            }
+            return this;
+        }
+
+        void end() {
+            endHandler.handle(null);
+        }
+
+        void fail(Throwable err) {
+            exceptionHandler.handle(err);
+        }
+
+        @Override
+        public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+            this.exceptionHandler = handler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+            this.handler = handler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> pause() {
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> resume() {
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> fetch(long amount) {
+            return this;
+        }
+
+        @Override
+        public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSequenceTrackerTest {
+    private ItemSequenceTracker tracker;
+    private UUID testUserId;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ItemSequenceTracker();
+        testUserId = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldHoldWatermarkBelowWritesInFlight() {
+        ItemSequenceTracker.Write first = tracker.begin(testUserId);
+        ItemSequenceTracker.Write second = tracker.begin(testUserId);
+        assertEquals(Long.MIN_VALUE, tracker.stableUpTo(testUserId));
+
+        first.assign(5, 1);
+        second.assign(6, 2);
+        assertEquals(4, tracker.stableUpTo(testUserId));
+
+        second.end();
+        assertEquals(4, tracker.stableUpTo(testUserId));
+        first.end();
+        assertEquals(Long.MAX_VALUE, tracker.stableUpTo(testUserId));
+        assertEquals(Long.MAX_VALUE, tracker.stableUpTo(UUID.randomUUID()));
+    }
+
+    @Test
+    void shouldReleaseWritesThatNeverGotSequences() {
+        ItemSequenceTracker.Write failed = tracker.begin(testUserId);
+        failed.end();
+        failed.end();
+
+        assertEquals(Long.MAX_VALUE, tracker.stableUpTo(testUserId));
+    }
+
+    @Test
+    void shouldSettleVersionBelowWritesInFlight() {
+        ItemSequenceTracker.Write first = tracker.begin(testUserId);
+        ItemSequenceTracker.Write second = tracker.begin(testUserId);
+        assertNull(tracker.settledVersion(testUserId, 7));
+
+        first.assign(5, 6);
+        second.assign(6, 7);
+        assertEquals(5L, tracker.settledVersion(testUserId, 7));
+
+        first.end();
+        assertEquals(6L, tracker.settledVersion(testUserId, 7));
+        second.end();
+        assertEquals(7L, tracker.settledVersion(testUserId, 7));
+    }
+}
@@ -1,14 +1,26 @@
 package org.example.services;
 
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.models.Item;
+import org.example.repositories.InMemoryItemRepository;
+import org.example.repositories.InMemoryItemVersionRepository;
 import org.example.repositories.ItemRepository;
+import org.example.repositories.ItemVersionRepository;
+import org.example.repositories.MongoItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,7 +32,7 @@ class ItemServiceTest {
 
     @BeforeEach
     void setUp() {
-        ItemRepository itemRepository = new ItemRepository(null);
+        ItemRepository itemRepository = new MongoItemRepository(null);
         itemService = new ItemService(itemRepository);
         testUserId = UUID.randomUUID();
     }
@@ -51,15 +63,252 @@ class ItemServiceTest {
 
     @Test
     void shouldReturnEmptyListForNewUser(VertxTestContext testContext) {
+        ItemService service = ItemService.builder(new InMemoryItemRepository())
+                .itemReadCoalescer(new ItemReadCoalescer(1024))
+                .build();
+
         UUID newUserId = UUID.randomUUID();
-        itemService.getUserItems(newUserId)
-                .onComplete(testContext.succeeding(items -> {
+        service.loadUserItems(newUserId)
+                .onComplete(testContext.succeeding(body -> {
+                    testContext.verify(() -> {
+                        assertNotNull(body);
+                        assertEquals(0, new JsonArray(body).size());
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldRejectPageLimitOutOfRange(VertxTestContext testContext) {
+        itemService.getUserItemsPage(testUserId, null, 0)
+                .onComplete(testContext.failing(err -> {
+                    testContext.verify(() -> {
+                        assertTrue(err instanceof ApiException);
+                        assertEquals("Invalid request", err.getMessage());
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldRejectEmptyBatch(VertxTestContext testContext) {
+        itemService.createItems(testUserId, List.of())
+                .onComplete(testContext.failing(err -> {
+                    testContext.verify(() -> {
+                        assertTrue(err instanceof ApiException);
+                        assertEquals("Invalid request", err.getMessage());
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldReportInvalidTitlesInBatch(VertxTestContext testContext) {
+        itemService.createItems(testUserId, Arrays.asList("", null, "  "))
+                .onComplete(testContext.succeeding(results -> {
+                    testContext.verify(() -> {
+                        assertEquals(3, results.size());
+                        for (int i = 0; i < results.size(); i++) {
+                            assertEquals("Invalid request", results.getJsonObject(i).getString("error"));
+                        }
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldBumpVersionOnEveryWrite(VertxTestContext testContext) {
+        ItemService service = ItemService.builder(new InMemoryItemRepository())
+                .itemVersionRepository(new InMemoryItemVersionRepository())
+                .maxBatchSize(100)
+                .batchChunkSize(10)
+                .build();
+
+        service.getItemsVersion(testUserId)
+                .compose(initial -> service.createItem(testUserId, "first")
+                        .compose(v -> service.createItems(testUserId, List.of("second", "third")))
+                        .compose(v -> service.createItems(testUserId, List.of("")))
+                        .compose(v -> service.getItemsVersion(testUserId))
+                        .map(current -> current - initial))
+                .onComplete(testContext.succeeding(bumps -> {
+                    testContext.verify(() -> assertEquals(2L, bumps));
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldNotWriteWithoutReservation(VertxTestContext testContext) {
+        InMemoryItemRepository itemRepository = new InMemoryItemRepository();
+        ItemService service = ItemService.builder(itemRepository)
+                .itemVersionRepository(new InMemoryItemVersionRepository() {
+                    @Override
+                    public Future<Reservation> reserveSequence(UUID owner, int count) {
+                        return Future.failedFuture(new ApiException(ErrorReason.INTERNAL_SERVER_ERROR));
+                    }
+                })
+                .build();
+
+        service.createItem(testUserId, "first")
+                .onComplete(testContext.failing(err -> {
+                    testContext.verify(() -> assertTrue(itemRepository.findByOwner(testUserId).result().isEmpty()));
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldNotHandOutVersionOfWriteInFlight(VertxTestContext testContext) {
+        Promise<ItemVersionRepository.Reservation> reserved = Promise.promise();
+        Promise<Void> saved = Promise.promise();
+        InMemoryItemVersionRepository versionRepository = new InMemoryItemVersionRepository();
+        ItemService service = ItemService.builder(new InMemoryItemRepository() {
+                    @Override
+                    public Future<String> save(Item item) {
+                        return saved.future().compose(v -> super.save(item));
+                    }
+                })
+                .itemVersionRepository(new InMemoryItemVersionRepository() {
+                    @Override
+                    public Future<Long> findVersion(UUID owner) {
+                        return versionRepository.findVersion(owner);
+                    }
+
+                    @Override
+                    public Future<Reservation> reserveSequence(UUID owner, int count) {
+                        return versionRepository.reserveSequence(owner, count)
+                                .compose(reservation -> reserved.future());
+                    }
+                })
+                .build();
+
+        Future<Void> created = service.createItem(testUserId, "first");
+        testContext.verify(() -> assertNull(service.getItemsVersion(testUserId).result()));
+        reserved.complete(new ItemVersionRepository.Reservation(1, 1));
+        testContext.verify(() -> assertEquals(0L, service.getItemsVersion(testUserId).result()));
+        saved.complete();
+        created.onComplete(testContext.succeeding(v -> {
+            testContext.verify(() -> assertEquals(1L, service.getItemsVersion(testUserId).result()));
+            testContext.completeNow();
+        }));
+    }
+
+    @Test
+    void shouldListItemsChangedSinceWatermark(VertxTestContext testContext) {
+        ItemService service = ItemService.builder(new InMemoryItemRepository())
+                .itemVersionRepository(new InMemoryItemVersionRepository())
+                .maxBatchSize(100)
+                .batchChunkSize(10)
+                .build();
+
+        service.createItems(testUserId, List.of("first", "second", "third"))
+                .compose(v -> service.getUserItemsSince(testUserId, 0, 2))
+                .compose(firstSync -> {
+                    testContext.verify(() -> {
+                        assertEquals(2, firstSync.getJsonArray("items").size());
+                        assertEquals(2L, firstSync.getLong("watermark"));
+                        assertTrue(firstSync.getBoolean("more"));
+                    });
+                    return service.createItem(testUserId, "fourth")
+                            .compose(v -> service.getUserItemsSince(testUserId, firstSync.getLong("watermark"), 10));
+                })
+                .compose(secondSync -> {
                     testContext.verify(() -> {
-                        assertNotNull(items);
-                        assertTrue(items instanceof JsonArray);
-                        assertEquals(0, items.size());
+                        JsonArray items = secondSync.getJsonArray("items");
+                        assertEquals(List.of("third", "fourth"), items.stream()
+                                .map(item -> ((JsonObject) item).getString("title"))
+                                .toList());
+                        assertEquals(4L, secondSync.getLong("watermark"));
+                        assertFalse(secondSync.getBoolean("more"));
                     });
+                    return service.getUserItemsSince(testUserId, 4, 10);
+                })
+                .onComplete(testContext.succeeding(unchanged -> {
+                    testContext.verify(() -> {
+                        assertTrue(unchanged.getJsonArray("items").isEmpty());
+                        assertEquals(4L, unchanged.getLong("watermark"));
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldResetSyncOlderThanTombstones(VertxTestContext testContext) {
+        ItemService service = ItemService.builder(new InMemoryItemRepository())
+                .itemVersionRepository(new InMemoryItemVersionRepository() {
+                    @Override
+                    public Future<SequenceHorizon> findSequenceHorizon(UUID owner, Instant before) {
+                        return super.findSequenceHorizon(owner, before)
+                                .map(horizon -> new SequenceHorizon(3, horizon.lastSequence()));
+                    }
+                })
+                .maxBatchSize(100)
+                .batchChunkSize(10)
+                .build();
+
+        service.createItems(testUserId, List.of("first", "second", "third", "fourth", "fifth"))
+                .compose(v -> service.getUserItemsSince(testUserId, 2, 10))
+                .compose(stale -> {
+                    testContext.verify(() -> {
+                        assertTrue(stale.getBoolean("reset"));
+                        assertTrue(stale.getJsonArray("items").isEmpty());
+                        assertEquals(5L, stale.getLong("watermark"));
+                    });
+                    return service.getUserItemsSince(testUserId, 3, 10);
+                })
+                .onComplete(testContext.succeeding(recent -> {
+                    testContext.verify(() -> {
+                        assertNull(recent.getValue("reset"));
+                        assertEquals(2, recent.getJsonArray("items").size());
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldUpdateAndDeleteItemsUnderVersionCheck(VertxTestContext testContext) {
+        ItemService service = ItemService.builder(new InMemoryItemRepository())
+                .itemVersionRepository(new InMemoryItemVersionRepository())
+                .itemReadCoalescer(new ItemReadCoalescer(1024))
+                .maxBatchSize(100)
+                .batchChunkSize(10)
+                .build();
+
+        service.createItems(testUserId, List.of("first", "second"))
+                .compose(results -> {
+                    UUID first = UUID.fromString(results.getJsonObject(0).getString("id"));
+                    UUID second = UUID.fromString(results.getJsonObject(1).getString("id"));
+                    return service.updateItem(testUserId, first, "renamed", 1L)
+                            .compose(updated -> {
+                                testContext.verify(() -> {
+                                    assertEquals("renamed", updated.getString("title"));
+                                    assertEquals(2L, updated.getLong("version"));
+                                });
+                                return service.updateItem(testUserId, first, "stale", 1L);
+                            })
+                            .recover(err -> {
+                                testContext.verify(() -> assertEquals(ErrorReason.VERSION_CONFLICT,
+                                        ((ApiException) err).getErrorReason()));
+                                return service.deleteItem(testUserId, second, null).map((JsonObject) null);
+                            })
+                            .compose(v -> service.getItem(testUserId, second))
+                            .recover(err -> {
+                                testContext.verify(() -> assertEquals(ErrorReason.NOT_FOUND,
+                                        ((ApiException) err).getErrorReason()));
+                                return service.getUserItemsSince(testUserId, 2, 10);
+                            })
+                            .compose(changes -> {
+                                testContext.verify(() -> {
+                                    JsonArray items = changes.getJsonArray("items");
+                                    assertEquals(2, items.size());
+                                    assertEquals("renamed", items.getJsonObject(0).getString("title"));
+                                    assertEquals(second.toString(), items.getJsonObject(1).getString("id"));
+                                    assertTrue(items.getJsonObject(1).getBoolean("deleted"));
+                                });
+                                return service.loadUserItems(testUserId);
+                            });
+                })
+                .onComplete(testContext.succeeding(body -> {
+                    testContext.verify(() -> assertEquals(1, new JsonArray(body).size()));
                     testContext.completeNow();
                 }));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package org.example.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+    private static final long WINDOW = 60_000;
+
+    @Test
+    void shouldRefuseAttemptsBeyondLimitWithinWindow() {
+        LoginRateLimiter.Window window = new LoginRateLimiter.Window(1024, 3, WINDOW);
+        long now = 10 * WINDOW;
+
+        assertTrue(window.tryAcquire("user@example.com", now));
+        assertTrue(window.tryAcquire("user@example.com", now + 1));
+        assertTrue(window.tryAcquire("user@example.com", now + 2));
+        assertFalse(window.tryAcquire("user@example.com", now + 3));
+        assertTrue(window.tryAcquire("other@example.com", now + 3));
+    }
+
+    @Test
+    void shouldWeighPreviousWindowBySlidingOverlap() {
+        LoginRateLimiter.Window window = new LoginRateLimiter.Window(1024, 4, WINDOW);
+        long start = 10 * WINDOW;
+        for (int i = 0; i < 4; i++) {
+            assertTrue(window.tryAcquire("user@example.com", start + i));
+        }
+
+        // A quarter into the next window, three of the four attempts still count.
+        assertTrue(window.tryAcquire("user@example.com", start + WINDOW + WINDOW / 4));
+        assertFalse(window.tryAcquire("user@example.com", start + WINDOW + WINDOW / 4));
+
+        // Two windows later nothing is carried over.
+        for (int i = 0; i < 4; i++) {
+            assertTrue(window.tryAcquire("user@example.com", start + 3 * WINDOW + i));
+        }
+    }
+
+    @Test
+    void shouldLimitByAddressAcrossLogins() {
+        LoginRateLimiter limiter = new LoginRateLimiter(1024, 10, 2, WINDOW);
+
+        assertTrue(limiter.tryAcquire("a@example.com", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("b@example.com", "10.0.0.1"));
+        assertFalse(limiter.tryAcquire("c@example.com", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("c@example.com", "10.0.0.2"));
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    void shouldNotSpendAddressBudgetOnLockedLogin() {
+        LoginRateLimiter limiter = new LoginRateLimiter(1024, 1, 2, WINDOW);
+
+        assertTrue(limiter.tryAcquire("a@example.com", "10.0.0.1"));
+        assertFalse(limiter.tryAcquire("a@example.com", "10.0.0.1"));
+        assertFalse(limiter.tryAcquire("a@example.com", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("b@example.com", "10.0.0.1"));
+        assertEquals(2, limiter.getRejectedCount());
+    }
+
+    @Test
+    void shouldReleaseAcquiredAttempt() {
+        LoginRateLimiter.Window window = new LoginRateLimiter.Window(1024, 1, WINDOW);
+        long now = 10 * WINDOW;
+
+        assertTrue(window.tryAcquire("10.0.0.1", now));
+        assertFalse(window.hasCapacity("10.0.0.1", now));
+        window.release("10.0.0.1", now);
+
+        assertTrue(window.hasCapacity("10.0.0.1", now));
+        assertTrue(window.tryAcquire("10.0.0.1", now));
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.services;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.example.config.PasswordHashingConfig;
+import org.example.exceptions.ApiException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(VertxExtension.class)
+class PasswordHasherTest {
+
+    @Test
+    void shouldHashAndVerifyPassword(Vertx vertx, VertxTestContext testContext) {
+        PasswordHasher passwordHasher = PasswordHashingConfig.create(vertx, new JsonObject());
+
+        passwordHasher.hash("Password123!")
+                .compose(hash -> Future.all(
+                        passwordHasher.verify("Password123!", hash),
+                        passwordHasher.verify("WrongPassword", hash)))
+                .onComplete(testContext.succeeding(results -> {
+                    testContext.verify(() -> {
+                        assertTrue(results.<Boolean>resultAt(0));
+                        assertFalse(results.<Boolean>resultAt(1));
+                        assertEquals(0, passwordHasher.getQueueDepth());
+                        assertEquals(3, passwordHasher.getCompletedCount());
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull(Vertx vertx, VertxTestContext testContext) {
+        JsonObject config = new JsonObject()
+                .put("password_hashing", new JsonObject()
+                        .put("pool_size", 1)
+                        .put("max_queue", 1));
+        PasswordHasher passwordHasher = PasswordHashingConfig.create(vertx, config);
+
+        passwordHasher.hash("Password123!");
+        passwordHasher.hash("Password123!")
+                .onComplete(testContext.failing(err -> {
+                    testContext.verify(() -> {
+                        assertTrue(err instanceof ApiException);
+                        assertEquals(503, ((ApiException) err).getStatusCode());
+                        assertEquals(1, passwordHasher.getRejectedCount());
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldDetectHashesWithAnotherCost(Vertx vertx) {
+        JsonObject config = new JsonObject()
+                .put("password_hashing", new JsonObject().put("cost", 10));
+        PasswordHasher passwordHasher = PasswordHashingConfig.create(vertx, config);
+
+        assertEquals(10, PasswordHasher.costOf("$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"));
+        assertFalse(passwordHasher.needsRehash("$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"));
+        assertTrue(passwordHasher.needsRehash("$2a$12$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"));
+        assertTrue(passwordHasher.needsRehash("not-a-hash"));
+    }
+
+    @Test
+    void shouldRejectCostOutOfRange(Vertx vertx) {
+        JsonObject config = new JsonObject()
+                .put("password_hashing", new JsonObject().put("cost", 3));
+
+        assertThrows(IllegalStateException.class, () -> PasswordHashingConfig.create(vertx, config));
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.services;
+
+import io.vertx.core.Future;
+import org.example.models.RevokedToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationListTest {
+    private final long now = System.currentTimeMillis() / 1000;
+
+    @Test
+    void shouldReportRevokedTokensOnly() {
+        TokenRevocationList revocationList = new TokenRevocationList();
+
+        assertTrue(revocationList.revoke("revoked", now + 60));
+        assertFalse(revocationList.revoke("revoked", now + 60));
+
+        assertTrue(revocationList.isRevoked("revoked"));
+        assertFalse(revocationList.isRevoked("other"));
+        assertFalse(revocationList.isRevoked(null));
+    }
+
+    @Test
+    void shouldIgnoreAlreadyExpiredTokens() {
+        TokenRevocationList revocationList = new TokenRevocationList();
+
+        assertFalse(revocationList.revoke("expired", now - 1));
+
+        assertFalse(revocationList.isRevoked("expired"));
+    }
+
+    @Test
+    void shouldPurgeExpiredTokens() {
+        TokenRevocationList revocationList = new TokenRevocationList();
+        revocationList.revoke("short", now + 10);
+        revocationList.revoke("long", now + 3600);
+
+        revocationList.purgeExpired(now + 60);
+
+        assertFalse(revocationList.isRevoked("short"));
+        assertTrue(revocationList.isRevoked("long"));
+        assertEquals(1, revocationList.size());
+    }
+
+    @Test
+    void shouldKeepAllTokensWhenGrowingBeyondInitialCapacity() {
+        TokenRevocationList revocationList = new TokenRevocationList();
+        String[] ids = new String[5000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            revocationList.revoke(ids[i], now + 3600);
+        }
+
+        for (String id : ids) {
+            assertTrue(revocationList.isRevoked(id));
+        }
+        assertEquals(ids.length, revocationList.size());
+    }
+
+    @Test
+    void shouldRetryLoadAfterFailure() {
+        TokenRevocationList revocationList = new TokenRevocationList();
+
+        assertTrue(revocationList.loadOnce(() -> Future.failedFuture("unavailable")).failed());
+        RevokedToken token = new RevokedToken("loaded", now + 60);
+        assertTrue(revocationList.loadOnce(() -> Future.succeededFuture(List.of(token))).succeeded());
+
+        assertTrue(revocationList.isRevoked("loaded"));
+    }
+
+    @Test
+    void shouldDeriveStableTokenHashIds() {
+        String id = TokenRevocationList.tokenHashId("header.payload.signature");
+
+        assertEquals(id, TokenRevocationList.tokenHashId("header.payload.signature"));
+        assertNotEquals(id, TokenRevocationList.tokenHashId("header.payload.other"));
+        assertTrue(id.startsWith("sha256:"));
+    }
+}
@@ -1,22 +1,37 @@
 package org.example.services;
 
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.authentication.TokenCredentials;
 import io.vertx.ext.auth.jwt.JWTAuth;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.example.config.JWTConfig;
+import org.example.config.PasswordHashingConfig;
 import org.example.exceptions.ApiException;
+import org.example.exceptions.ErrorReason;
+import org.example.models.User;
+import org.example.repositories.InMemoryRevokedTokenRepository;
+import org.example.repositories.InMemoryUserRepository;
+import org.example.repositories.MongoUserRepository;
 import org.example.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(VertxExtension.class)
 class UserServiceTest {
     private UserService userService;
+    private JWTAuth jwtAuth;
+    private PasswordHasher passwordHasher;
+    private TokenRevocationService tokenRevocationService;
     private Vertx vertx;
 
     @BeforeEach
@@ -28,9 +43,13 @@ class UserServiceTest {
                         .put("secret", "test-secret-that-is-at-least-32-characters")
                         .put("expiration", 3600));
 
-        JWTAuth jwtAuth = JWTConfig.create(vertx, config);
-        UserRepository userRepository = new UserRepository(null);
-        userService = new UserService(userRepository, jwtAuth);
+        TokenRevocationList revocationList = new TokenRevocationList();
+        jwtAuth = new RevocationAwareJWTAuth(JWTConfig.create(vertx, config), revocationList);
+        UserRepository userRepository = new MongoUserRepository(null);
+        passwordHasher = PasswordHashingConfig.create(vertx, config);
+        tokenRevocationService = new TokenRevocationService(vertx,
+                new InMemoryRevokedTokenRepository(), revocationList);
+        userService = new UserService(userRepository, jwtAuth, passwordHasher, tokenRevocationService);
     }
 
     @Test
@@ -68,4 +87,111 @@ class UserServiceTest {
                     testContext.completeNow();
                 }));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRejectTokenAfterLogout(VertxTestContext testContext) {
+        String token = userService.generateToken(new User("test@example.com", "hash"));
+
+        jwtAuth.authenticate(new TokenCredentials(token))
+                .compose(user -> userService.logout(user.get("jti"), user.<Number>get("exp").longValue()))
+                .compose(v -> jwtAuth.authenticate(new TokenCredentials(token)))
+                .onComplete(testContext.failing(err -> {
+                    testContext.verify(() -> assertEquals("Unauthorized access", err.getMessage()));
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldRejectTokenWithoutJtiAfterLogout(VertxTestContext testContext) {
+        String token = jwtAuth.generateToken(new JsonObject().put("userId", UUID.randomUUID().toString()),
+                new JWTOptions().setExpiresInSeconds(3600).setIssuer("vertx-items-service"));
+
+        jwtAuth.authenticate(new TokenCredentials(token))
+                .compose(user -> userService.logout(user.get("jti"), token, user.<Number>get("exp").longValue()))
+                .compose(v -> jwtAuth.authenticate(new TokenCredentials(token)))
+                .onComplete(testContext.failing(err -> {
+                    testContext.verify(() -> assertEquals("Unauthorized access", err.getMessage()));
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldKeepOtherTokensValidAfterLogout(VertxTestContext testContext) {
+        User user = new User("test@example.com", "hash");
+        String revoked = userService.generateToken(user);
+        String other = userService.generateToken(user);
+
+        jwtAuth.authenticate(new TokenCredentials(revoked))
+                .compose(principal -> userService.logout(principal.get("jti"),
+                        principal.<Number>get("exp").longValue()))
+                .compose(v -> jwtAuth.authenticate(new TokenCredentials(other)))
+                .onComplete(testContext.succeeding(principal -> testContext.completeNow()));
+    }
+
+    @Test
+    void shouldRegisterConcurrentDuplicateLoginOnce(VertxTestContext testContext) {
+        UserService service = new UserService(new InMemoryUserRepository(), jwtAuth, passwordHasher,
+                tokenRevocationService);
+
+        Future<Void> first = service.register("test@example.com", "Password123!");
+        Future<Void> second = service.register("test@example.com", "Password456!");
+
+        Future.join(first, second).onComplete(ar -> {
+            testContext.verify(() -> {
+                assertTrue(first.succeeded() ^ second.succeeded());
+                Throwable err = first.failed() ? first.cause() : second.cause();
+                assertEquals(ErrorReason.USER_ALREADY_EXISTS.getMessage(), err.getMessage());
+            });
+            testContext.completeNow();
+        });
+    }
+
+    @Test
+    void shouldSpendHashingWorkOnUnknownLogin(VertxTestContext testContext) {
+        UserService service = new UserService(new InMemoryUserRepository(), jwtAuth, passwordHasher,
+                tokenRevocationService);
+
+        service.authenticate("unknown@example.com", "Password123!")
+                .onComplete(testContext.failing(err -> {
+                    testContext.verify(() -> {
+                        assertEquals(ErrorReason.INVALID_CREDENTIALS.getMessage(), err.getMessage());
+                        assertEquals(1, passwordHasher.getCompletedCount());
+                    });
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldRehashPasswordWithOtherCostOnLogin(VertxTestContext testContext) {
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        PasswordHasher oldHasher = PasswordHashingConfig.create(vertx, new JsonObject()
+                .put("password_hashing", new JsonObject().put("cost", 4)));
+        PasswordHasher newHasher = PasswordHashingConfig.create(vertx, new JsonObject()
+                .put("password_hashing", new JsonObject().put("cost", 5)));
+        UserService oldService = new UserService(userRepository, jwtAuth, oldHasher, tokenRevocationService);
+        UserService newService = new UserService(userRepository, jwtAuth, newHasher, tokenRevocationService);
+
+        oldService.register("test@example.com", "Password123!")
+                .compose(v -> newService.authenticate("test@example.com", "Password123!"))
+                .compose(token -> awaitPasswordCost(userRepository, "test@example.com", 5, 100))
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    /**
+     * The rehash is stored in the background after login succeeds; polls for
+     * it every 10 ms and fails after {@code attempts} polls.
+     */
+    private Future<Void> awaitPasswordCost(UserRepository userRepository, String login, int cost, int attempts) {
+        return userRepository.findByLogin(login).compose(user -> {
+            if (PasswordHasher.costOf(user.getPassword()) == cost) {
+                return Future.succeededFuture();
+            }
+            if (attempts <= 1) {
+                return Future.failedFuture("password was not rehashed with cost " + cost);
+            }
+            Promise<Void> retry = Promise.promise();
+            vertx.setTimer(10, timer -> awaitPasswordCost(userRepository, login, cost, attempts - 1).onComplete(retry));
+            return retry.future();
+        });
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.streams;
+
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonArrayReadStreamTest {
+
+    @Test
+    void shouldEncodeElementsAsArray() {
+        TestStream source = new TestStream();
+        JsonArrayReadStream<String> stream = new JsonArrayReadStream<>(source, JsonArrayReadStreamTest::write);
+        StringBuilder body = new StringBuilder();
+        boolean[] ended = new boolean[1];
+        stream.handler(chunk -> body.append(chunk));
+        stream.endHandler(v -> ended[0] = true);
+
+        source.emit("a");
+        source.emit("b");
+        source.end();
+
+        assertEquals("[\"a\",\"b\"]", body.toString());
+        assertTrue(ended[0]);
+    }
+
+    @Test
+    void shouldEmitIndependentChunksOnceFull() {
+        TestStream source = new TestStream();
+        JsonArrayReadStream<String> stream = new JsonArrayReadStream<>(source, JsonArrayReadStreamTest::write, 8);
+        List<Buffer> chunks = new ArrayList<>();
+        stream.handler(chunks::add);
+        stream.endHandler(v -> {
+        });
+
+        source.emit("first");
+        source.emit("second");
+        source.emit("x");
+        source.end();
+
+        assertEquals(List.of("[\"first\"", ",\"second\"", ",\"x\"]"), chunks.stream().map(Buffer::toString).toList());
+    }
+
+    @Test
+    void shouldReportWriterFailureAndStopSource() {
+        TestStream source = new TestStream();
+        JsonArrayReadStream<String> stream = new JsonArrayReadStream<>(source, JsonArrayReadStreamTest::write);
+        List<Throwable> errors = new ArrayList<>();
+        List<Buffer> chunks = new ArrayList<>();
+        boolean[] ended = new boolean[1];
+        stream.exceptionHandler(errors::add);
+        stream.handler(chunks::add);
+        stream.endHandler(v -> ended[0] = true);
+
+        source.emit("a");
+        source.emit(null);
+
+        assertEquals(1, errors.size());
+        assertTrue(source.paused);
+        assertNull(source.handler);
+
+        source.end();
+        assertTrue(chunks.isEmpty());
+        assertFalse(ended[0]);
+    }
+
+    private static void write(String element, ByteBuf out) {
+        if (element == null) {
+            throw new IllegalArgumentException("malformed element");
+        }
+        out.writeCharSequence("\"" + element + "\"", StandardCharsets.UTF_8);
+    }
+
+    private static class TestStream implements ReadStream<String> {
+        private Handler<String> handler;
+        private Handler<Void> endHandler;
+        private boolean paused;
+
+        void emit(String element) {
+            if (handler != null) {
+                handler.handle(element);
+            }
+        }
+
+        void end() {
+            endHandler.handle(null);
+        }
+
+        @Override
+        public ReadStream<String> exceptionHandler(Handler<Throwable> handler) {
+            return this;
+        }
+
+        @Override
+        public ReadStream<String> handler(Handler<String> handler) {
+            this.handler = handler;
+            return this;
+        }
+
+        @Override
+        public ReadStream<String> pause() {
+            paused = true;
+            return this;
+        }
+
+        @Override
+        public ReadStream<String> resume() {
+            paused = false;
+            return this;
+        }
+
+        @Override
+        public ReadStream<String> fetch(long amount) {
+            return this;
+        }
+
+        @Override
+        public ReadStream<String> endHandler(Handler<Void> endHandler) {
+            this.endHandler = endHandler;
+            return this;
+        }
+    }
+}